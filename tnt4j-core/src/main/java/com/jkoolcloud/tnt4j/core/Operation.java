@@ -18,10 +18,7 @@ package com.jkoolcloud.tnt4j.core;
 import java.lang.management.ManagementFactory;
 import java.lang.management.ThreadInfo;
 import java.lang.management.ThreadMXBean;
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.*;
 
 import com.jkoolcloud.tnt4j.source.DefaultSourceFactory;
 import com.jkoolcloud.tnt4j.source.Source;
@@ -82,9 +79,10 @@ public class Operation implements TTL, GlobalID {
 	private long endTimeUs;
 	private Throwable exHandle;
 
-	private HashSet<String> correlators = new HashSet<>(89);
-	private HashMap<String, Snapshot> snapshots = new HashMap<>(89);
-	private HashMap<String, Property> properties = new HashMap<>(89);
+	// created on demand: empty -> singleton -> hash based collection, upgraded to hash based one when handed out
+	private Set<String> correlators = Collections.emptySet();
+	private Map<String, Snapshot> snapshots = Collections.emptyMap();
+	private Map<String, Property> properties = Collections.emptyMap();
 
 	// timing attributes
 	private int startStopCount = 0;
@@ -573,7 +571,7 @@ public class Operation implements TTL, GlobalID {
 	 * @return user-defined set of correlators
 	 */
 	public Set<String> getCorrelator() {
-		return correlators;
+		return mutableCorrelators();
 	}
 
 	/**
@@ -586,7 +584,7 @@ public class Operation implements TTL, GlobalID {
 	public void setCorrelator(String... clist) {
 		for (int i = 0; (clist != null) && (i < clist.length); i++) {
 			if (clist[i] != null) {
-				this.correlators.add(clist[i]);
+				addCorrelator(clist[i]);
 			}
 		}
 	}
@@ -600,8 +598,43 @@ public class Operation implements TTL, GlobalID {
 	 */
 	public void setCorrelator(Collection<String> clist) {
 		if (clist != null) {
-			this.correlators.addAll(clist);
+			for (String cid : clist) {
+				addCorrelator(cid);
+			}
+		}
+	}
+
+	private void addCorrelator(String cid) {
+		if (correlators.isEmpty() && !(correlators instanceof HashSet)) {
+			correlators = Collections.singleton(cid);
+		} else if (!correlators.contains(cid)) {
+			if (!(correlators instanceof HashSet)) {
+				correlators = new HashSet<>(correlators);
+			}
+			correlators.add(cid);
+		}
+	}
+
+	private Set<String> mutableCorrelators() {
+		if (!(correlators instanceof HashSet)) {
+			correlators = new HashSet<>(correlators);
+		}
+		return correlators;
+	}
+
+	private static <V> Map<String, V> mutable(Map<String, V> map) {
+		return map instanceof HashMap ? map : new HashMap<>(map);
+	}
+
+	private static <V> Map<String, V> putEntry(Map<String, V> map, String key, V value) {
+		if (!(map instanceof HashMap) && (map.isEmpty() || (map.size() == 1 && map.containsKey(key)))) {
+			return Collections.singletonMap(key, value);
 		}
+		if (!(map instanceof HashMap)) {
+			map = new HashMap<>(map);
+		}
+		map.put(key, value);
+		return map;
 	}
 
 	/**
@@ -609,7 +642,11 @@ public class Operation implements TTL, GlobalID {
 	 *
 	 */
 	public void clearCorrelators() {
-		this.correlators.clear();
+		if (correlators instanceof HashSet) {
+			correlators.clear();
+		} else {
+			correlators = Collections.emptySet();
+		}
 	}
 
 	/**
@@ -617,7 +654,11 @@ public class Operation implements TTL, GlobalID {
 	 *
 	 */
 	public void clearProperties() {
-		this.properties.clear();
+		if (properties instanceof HashMap) {
+			properties.clear();
+		} else {
+			properties = Collections.emptyMap();
+		}
 	}
 
 	/**
@@ -967,7 +1008,7 @@ public class Operation implements TTL, GlobalID {
 	 * @return a set of all available property keys
 	 */
 	public Set<String> getPropertyKeys() {
-		return properties.keySet();
+		return (properties = mutable(properties)).keySet();
 	}
 
 	/**
@@ -978,7 +1019,7 @@ public class Operation implements TTL, GlobalID {
 	 * @see Property
 	 */
 	public void addProperty(Property prop) {
-		properties.put(prop.getKey(), prop);
+		properties = putEntry(properties, prop.getKey(), prop);
 	}
 
 	/**
@@ -1000,7 +1041,7 @@ public class Operation implements TTL, GlobalID {
 	 * @see Property
 	 */
 	public Collection<Property> getProperties() {
-		return properties.values();
+		return (properties = mutable(properties)).values();
 	}
 
 	/**
@@ -1009,7 +1050,7 @@ public class Operation implements TTL, GlobalID {
 	 * @return number of available properties
 	 */
 	public int getPropertyCount() {
-		return properties != null ? properties.size() : 0;
+		return properties.size();
 	}
 
 	/**
@@ -1018,7 +1059,7 @@ public class Operation implements TTL, GlobalID {
 	 * @return a set of all available snapshot keys
 	 */
 	public Set<String> getSnapshotKeys() {
-		return snapshots.keySet();
+		return (snapshots = mutable(snapshots)).keySet();
 	}
 
 	/**
@@ -1041,7 +1082,7 @@ public class Operation implements TTL, GlobalID {
 	 * @see Snapshot
 	 */
 	public void addSnapshot(Snapshot snapshot) {
-		snapshots.put(snapshot.getSnapKey(), snapshot);
+		snapshots = putEntry(snapshots, snapshot.getSnapKey(), snapshot);
 		snapshot.setTTL(getTTL());
 	}
 
@@ -1052,7 +1093,7 @@ public class Operation implements TTL, GlobalID {
 	 * @see Snapshot
 	 */
 	public Collection<Snapshot> getSnapshots() {
-		return snapshots.values();
+		return (snapshots = mutable(snapshots)).values();
 	}
 
 	/**
@@ -1061,7 +1102,7 @@ public class Operation implements TTL, GlobalID {
 	 * @return number of available snapshots
 	 */
 	public int getSnapshotCount() {
-		return snapshots != null ? snapshots.size() : 0;
+		return snapshots.size();
 	}
 
 	/**
@@ -1175,16 +1216,16 @@ public class Operation implements TTL, GlobalID {
 			return exHandle;
 		}
 		if ("Correlator".equalsIgnoreCase(fieldName)) {
-			return correlators;
+			return mutableCorrelators();
 		}
 		if ("Snapshots".equalsIgnoreCase(fieldName)) {
-			return snapshots;
+			return snapshots = mutable(snapshots);
 		}
 		if ("SnapshotsCount".equalsIgnoreCase(fieldName)) {
 			return getSnapshotCount();
 		}
 		if ("Properties".equalsIgnoreCase(fieldName)) {
-			return properties;
+			return properties = mutable(properties);
 		}
 		if ("PropertiesCount".equalsIgnoreCase(fieldName)) {
 			return getPropertyCount();
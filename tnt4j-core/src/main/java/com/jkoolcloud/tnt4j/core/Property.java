@@ -26,14 +26,28 @@ import org.apache.commons.lang3.StringUtils;
  * Implements a Property entity.
  * <p>
  * A {@code Property} object represents a name=value pair.
+ * <p>
+ * Properties created using {@link #ofLong(String, long)}, {@link #ofDouble(String, double)} and
+ * {@link #ofBoolean(String, boolean)} hold primitive values unboxed: formatters may write them using
+ * {@link #getLongValue()}, {@link #getDoubleValue()} or {@link #getBooleanValue()}, while boxed value is created only
+ * when {@link #getValue()} is called.
  *
  * @see ValueTypes
  *
  * @version $Revision: 7 $
  */
 public class Property {
+	/**
+	 * Primitive type of property value, which is held unboxed.
+	 */
+	public enum PrimitiveType {
+		NONE, LONG, DOUBLE, BOOLEAN
+	}
+
 	private String key;
 	private Object value;
+	private long primValue;
+	private PrimitiveType primType = PrimitiveType.NONE;
 	private String valueType = ValueTypes.VALUE_TYPE_NONE;
 	private boolean transient_;
 
@@ -95,6 +109,104 @@ public class Property {
 		this.transient_ = transient_;
 	}
 
+	/**
+	 * Creates a property holding unboxed {@code long} value.
+	 *
+	 * @param key
+	 *            key of property
+	 * @param value
+	 *            value for property
+	 * @return new property instance
+	 */
+	public static Property ofLong(String key, long value) {
+		return ofLong(key, value, ValueTypes.VALUE_TYPE_NONE);
+	}
+
+	/**
+	 * Creates a property holding unboxed {@code long} value.
+	 *
+	 * @param key
+	 *            key of property
+	 * @param value
+	 *            value for property
+	 * @param valType
+	 *            value type such as (currency, percent). See {@link ValueTypes}.
+	 * @return new property instance
+	 */
+	public static Property ofLong(String key, long value, String valType) {
+		Property prop = new Property(key, null, valType);
+		prop.setPrimitive(PrimitiveType.LONG, value);
+		return prop;
+	}
+
+	/**
+	 * Creates a property holding unboxed {@code double} value.
+	 *
+	 * @param key
+	 *            key of property
+	 * @param value
+	 *            value for property
+	 * @return new property instance
+	 */
+	public static Property ofDouble(String key, double value) {
+		return ofDouble(key, value, ValueTypes.VALUE_TYPE_NONE);
+	}
+
+	/**
+	 * Creates a property holding unboxed {@code double} value.
+	 *
+	 * @param key
+	 *            key of property
+	 * @param value
+	 *            value for property
+	 * @param valType
+	 *            value type such as (currency, percent). See {@link ValueTypes}.
+	 * @return new property instance
+	 */
+	public static Property ofDouble(String key, double value, String valType) {
+		Property prop = new Property(key, null, valType);
+		prop.setPrimitive(PrimitiveType.DOUBLE, Double.doubleToRawLongBits(value));
+		return prop;
+	}
+
+	/**
+	 * Creates a property holding unboxed {@code boolean} value. Value type is set to
+	 * {@link ValueTypes#VALUE_TYPE_FLAG}.
+	 *
+	 * @param key
+	 *            key of property
+	 * @param value
+	 *            value for property
+	 * @return new property instance
+	 */
+	public static Property ofBoolean(String key, boolean value) {
+		return ofBoolean(key, value, ValueTypes.VALUE_TYPE_FLAG);
+	}
+
+	/**
+	 * Creates a property holding unboxed {@code boolean} value.
+	 *
+	 * @param key
+	 *            key of property
+	 * @param value
+	 *            value for property
+	 * @param valType
+	 *            value type such as (currency, percent). See {@link ValueTypes}.
+	 * @return new property instance
+	 */
+	public static Property ofBoolean(String key, boolean value, String valType) {
+		Property prop = new Property(key, null, StringUtils.equalsAnyIgnoreCase(valType, null,
+				ValueTypes.VALUE_TYPE_NONE) ? ValueTypes.VALUE_TYPE_FLAG : valType);
+		prop.setPrimitive(PrimitiveType.BOOLEAN, value ? 1L : 0L);
+		return prop;
+	}
+
+	private void setPrimitive(PrimitiveType type, long bits) {
+		this.value = null;
+		this.primType = type;
+		this.primValue = bits;
+	}
+
 	/**
 	 * Sets the type of property.
 	 *
@@ -120,6 +232,7 @@ public class Property {
 	public void set(String key, Object val, String valType) {
 		this.key = key;
 		this.value = val;
+		this.primType = PrimitiveType.NONE;
 		this.valueType = ((StringUtils.equalsAnyIgnoreCase(valType, null, ValueTypes.VALUE_TYPE_NONE)
 				&& (val instanceof Boolean)) ? ValueTypes.VALUE_TYPE_FLAG : valType);
 	}
@@ -130,9 +243,93 @@ public class Property {
 	 * @return property value
 	 */
 	public Object getValue() {
+		if (value == null && primType != PrimitiveType.NONE) {
+			value = boxPrimitive();
+		}
 		return value;
 	}
 
+	private Object boxPrimitive() {
+		switch (primType) {
+		case LONG:
+			return primValue;
+		case DOUBLE:
+			return Double.longBitsToDouble(primValue);
+		case BOOLEAN:
+			return primValue != 0;
+		default:
+			return null;
+		}
+	}
+
+	/**
+	 * Checks whether property value is held unboxed.
+	 *
+	 * @return {@code true} if property value is primitive, {@code false} - otherwise
+	 *
+	 * @see #getPrimitiveType()
+	 */
+	public boolean isPrimitive() {
+		return primType != PrimitiveType.NONE;
+	}
+
+	/**
+	 * Gets primitive type of property value.
+	 *
+	 * @return primitive type of property value, {@link PrimitiveType#NONE} if value is not primitive
+	 */
+	public PrimitiveType getPrimitiveType() {
+		return primType;
+	}
+
+	/**
+	 * Gets property value as {@code long} without boxing.
+	 *
+	 * @return property value as {@code long}, {@code 0} if value is not a number
+	 */
+	public long getLongValue() {
+		switch (primType) {
+		case LONG:
+			return primValue;
+		case DOUBLE:
+			return (long) Double.longBitsToDouble(primValue);
+		case BOOLEAN:
+			return primValue;
+		default:
+			return value instanceof Number ? ((Number) value).longValue() : 0L;
+		}
+	}
+
+	/**
+	 * Gets property value as {@code double} without boxing.
+	 *
+	 * @return property value as {@code double}, {@code 0} if value is not a number
+	 */
+	public double getDoubleValue() {
+		switch (primType) {
+		case LONG:
+			return primValue;
+		case DOUBLE:
+			return Double.longBitsToDouble(primValue);
+		case BOOLEAN:
+			return primValue;
+		default:
+			return value instanceof Number ? ((Number) value).doubleValue() : 0.0d;
+		}
+	}
+
+	/**
+	 * Gets property value as {@code boolean} without boxing.
+	 *
+	 * @return property value as {@code boolean}, {@code false} if value is not a boolean
+	 */
+	public boolean getBooleanValue() {
+		if (primType != PrimitiveType.NONE) {
+			return primValue != 0;
+		}
+		return value instanceof Boolean && (Boolean) value;
+	}
+
 	/**
 	 * Gets current key for property.
 	 *
@@ -190,6 +387,16 @@ public class Property {
 	 * @return string representation of the value data type
 	 */
 	public String getDataType() {
+		switch (primType) {
+		case LONG:
+			return "long";
+		case DOUBLE:
+			return "double";
+		case BOOLEAN:
+			return "bool";
+		default:
+			break;
+		}
 		if (value instanceof String) {
 			return "string";
 		} else if (value instanceof Long) {
@@ -23,6 +23,10 @@ import com.jkoolcloud.tnt4j.source.Source;
 /**
  * This class defines a snapshot/collection of {@code Property} instances. A collection of name, value pairs with
  * associated user defined name and a time stamp when the snapshot was generated.
+ * <p>
+ * Properties are kept in insertion order within parallel key/property arrays, which are scanned linearly while
+ * snapshot is small. Hash index of keys is built only when number of properties exceeds
+ * {@value #INDEX_THRESHOLD}.
  *
  * @see Property
  * @see UsecTimestamp
@@ -31,6 +35,11 @@ import com.jkoolcloud.tnt4j.source.Source;
 public class PropertySnapshot implements Snapshot {
 	public static final String CATEGORY_DEFAULT = "Default";
 
+	private static final int INDEX_THRESHOLD = 16;
+	private static final int INITIAL_CAPACITY = 8;
+	private static final String[] EMPTY_KEYS = new String[0];
+	private static final Property[] EMPTY_PROPS = new Property[0];
+
 	private String guid;
 	private long ttl = TTL.TTL_DEFAULT;
 	private OpLevel level;
@@ -43,7 +52,11 @@ public class PropertySnapshot implements Snapshot {
 	private UsecTimestamp timeStamp;
 	private Source source;
 	private Set<String> correlators = new HashSet<>(89);
-	private Map<Object, Property> propSet = new LinkedHashMap<>();
+	private String[] propKeys = EMPTY_KEYS;
+	private Property[] props = EMPTY_PROPS;
+	private int propCount;
+	private Map<Object, Integer> propIndex;
+	private Collection<Property> propView;
 
 	/**
 	 * Constructs a Property snapshot with the specified name and current time stamp.
@@ -235,6 +248,54 @@ public class PropertySnapshot implements Snapshot {
 		return this;
 	}
 
+	/**
+	 * Add a property with a given key and unboxed {@code long} value.
+	 *
+	 * @param key
+	 *            property key name
+	 * @param value
+	 *            value associated with the key
+	 * @return reference to this snapshot
+	 *
+	 * @see Property#ofLong(String, long)
+	 */
+	public PropertySnapshot addLong(String key, long value) {
+		this.add(Property.ofLong(key, value));
+		return this;
+	}
+
+	/**
+	 * Add a property with a given key and unboxed {@code double} value.
+	 *
+	 * @param key
+	 *            property key name
+	 * @param value
+	 *            value associated with the key
+	 * @return reference to this snapshot
+	 *
+	 * @see Property#ofDouble(String, double)
+	 */
+	public PropertySnapshot addDouble(String key, double value) {
+		this.add(Property.ofDouble(key, value));
+		return this;
+	}
+
+	/**
+	 * Add a property with a given key and unboxed {@code boolean} value.
+	 *
+	 * @param key
+	 *            property key name
+	 * @param value
+	 *            value associated with the key
+	 * @return reference to this snapshot
+	 *
+	 * @see Property#ofBoolean(String, boolean)
+	 */
+	public PropertySnapshot addBoolean(String key, boolean value) {
+		this.add(Property.ofBoolean(key, value));
+		return this;
+	}
+
 	/**
 	 * Set current/active {@code Source} with the current activity.
 	 *
@@ -285,8 +346,8 @@ public class PropertySnapshot implements Snapshot {
 				.append(", TimeStamp: ").append(timeStamp) //
 				.append(", Count: ").append(this.size()) //
 				.append(", List: [");
-		for (Property item : propSet.values()) {
-			str.append(item);
+		for (int i = 0; i < propCount; i++) {
+			str.append(props[i]);
 		}
 		str.append("]}");
 		return str.toString();
@@ -294,7 +355,10 @@ public class PropertySnapshot implements Snapshot {
 
 	@Override
 	public Collection<Property> getProperties() {
-		return propSet.values();
+		if (propView == null) {
+			propView = new PropertyView();
+		}
+		return propView;
 	}
 
 	@Override
@@ -360,23 +424,126 @@ public class PropertySnapshot implements Snapshot {
 
 	@Override
 	public Snapshot add(Property property) {
-		propSet.put(property.getKey(), property);
+		String key = property.getKey();
+		int idx = indexOf(key);
+		if (idx >= 0) {
+			props[idx] = property;
+			return this;
+		}
+		if (propCount == props.length) {
+			int capacity = Math.max(INITIAL_CAPACITY, propCount << 1);
+			propKeys = Arrays.copyOf(propKeys, capacity);
+			props = Arrays.copyOf(props, capacity);
+		}
+		propKeys[propCount] = key;
+		props[propCount] = property;
+		if (propIndex != null) {
+			propIndex.put(key, propCount);
+		} else if (propCount >= INDEX_THRESHOLD) {
+			buildIndex(propCount + 1);
+		}
+		propCount++;
 		return this;
 	}
 
 	@Override
 	public int size() {
-		return propSet.size();
+		return propCount;
 	}
 
 	@Override
 	public Property get(Object key) {
-		return propSet.get(key);
+		int idx = indexOf(key);
+		return idx < 0 ? null : props[idx];
 	}
 
 	@Override
 	public Property remove(Object key) {
-		return propSet.remove(key);
+		int idx = indexOf(key);
+		return idx < 0 ? null : removeAt(idx);
+	}
+
+	private int indexOf(Object key) {
+		if (propIndex != null) {
+			Integer idx = propIndex.get(key);
+			return idx == null ? -1 : idx;
+		}
+		for (int i = 0; i < propCount; i++) {
+			if (Objects.equals(propKeys[i], key)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private Property removeAt(int idx) {
+		Property prop = props[idx];
+		int moved = propCount - idx - 1;
+		if (moved > 0) {
+			System.arraycopy(propKeys, idx + 1, propKeys, idx, moved);
+			System.arraycopy(props, idx + 1, props, idx, moved);
+		}
+		propCount--;
+		propKeys[propCount] = null;
+		props[propCount] = null;
+		if (propIndex != null) {
+			if (propCount > INDEX_THRESHOLD) {
+				buildIndex(propCount);
+			} else {
+				propIndex = null;
+			}
+		}
+		return prop;
+	}
+
+	private void buildIndex(int count) {
+		Map<Object, Integer> index = new HashMap<>(count << 1);
+		for (int i = 0; i < count; i++) {
+			index.put(propKeys[i], i);
+		}
+		propIndex = index;
+	}
+
+	/**
+	 * Read-only (except removal through iterator) insertion ordered view of snapshot properties.
+	 */
+	private class PropertyView extends AbstractCollection<Property> {
+		@Override
+		public Iterator<Property> iterator() {
+			return new Iterator<Property>() {
+				private int next;
+				private int last = -1;
+
+				@Override
+				public boolean hasNext() {
+					return next < propCount;
+				}
+
+				@Override
+				public Property next() {
+					if (next >= propCount) {
+						throw new NoSuchElementException();
+					}
+					last = next++;
+					return props[last];
+				}
+
+				@Override
+				public void remove() {
+					if (last < 0) {
+						throw new IllegalStateException();
+					}
+					removeAt(last);
+					next = last;
+					last = -1;
+				}
+			};
+		}
+
+		@Override
+		public int size() {
+			return propCount;
+		}
 	}
 
 	@Override
@@ -494,10 +661,14 @@ public class PropertySnapshot implements Snapshot {
 			return correlators;
 		}
 		if ("Properties".equalsIgnoreCase(fieldName)) {
-			return propSet;
+			Map<Object, Property> propMap = new LinkedHashMap<>(propCount << 1);
+			for (int i = 0; i < propCount; i++) {
+				propMap.put(propKeys[i], props[i]);
+			}
+			return propMap;
 		}
 		if ("PropertiesCount".equalsIgnoreCase(fieldName)) {
-			return propSet == null ? 0 : propSet.size();
+			return propCount;
 		}
 
 		if (source != null) {
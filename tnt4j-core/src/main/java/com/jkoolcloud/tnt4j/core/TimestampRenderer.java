@@ -0,0 +1,252 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jkoolcloud.tnt4j.core;
+
+import java.util.Date;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.TimeZone;
+
+import org.apache.commons.lang3.time.FastDateFormat;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * <p>
+ * Renders {@link UsecTimestamp} strings. Each (pattern, time zone, locale) combination is compiled once into a
+ * {@link Layout}: pattern parts before and after fractional seconds field are formatted once per second and cached per
+ * thread and layout, while milliseconds and microseconds digits are appended directly into caller buffer.
+ * </p>
+ * <p>
+ * Compiled layouts cache capacity is defined by {@code tnt4j.timestamp.layout.cache.size} system property (default
+ * {@code 256}). Each thread caches rendered parts of up to {@code tnt4j.timestamp.thread.cache.size} (default
+ * {@code 8}) most recently used layouts.
+ * </p>
+ *
+ * @version $Revision: 1 $
+ *
+ * @see UsecTimestamp#appendTimeStamp(StringBuilder, String, TimeZone, Locale, long, long)
+ */
+final class TimestampRenderer {
+	private static final int CACHE_CAPACITY = Integer.getInteger("tnt4j.timestamp.layout.cache.size", 256);
+	private static final int THREAD_CACHE_CAPACITY = Integer.getInteger("tnt4j.timestamp.thread.cache.size", 8);
+
+	private static final Cache<Layout, Layout> LAYOUTS = CacheBuilder.newBuilder()
+			.maximumSize(Math.max(1, CACHE_CAPACITY)).build();
+	private static final ThreadLocal<SecondStamp[]> STAMPS = ThreadLocal
+			.withInitial(() -> new SecondStamp[Math.max(1, THREAD_CACHE_CAPACITY)]);
+
+	private TimestampRenderer() {
+	}
+
+	/**
+	 * Appends timestamp string, formatted same way as
+	 * {@link UsecTimestamp#getTimeStamp(String, TimeZone, Locale, long, long)} does, into a given string builder.
+	 *
+	 * @param out
+	 *            string builder to append timestamp
+	 * @param defPattern
+	 *            pattern used when {@code pattern} is {@code null}
+	 * @param pattern
+	 *            format pattern
+	 * @param tz
+	 *            time zone
+	 * @param locale
+	 *            locale
+	 * @param msecs
+	 *            timestamp in milliseconds since epoch
+	 * @param usecs
+	 *            microseconds fraction of timestamp
+	 * @return string builder instance containing timestamp
+	 */
+	static StringBuilder append(StringBuilder out, String defPattern, String pattern, TimeZone tz, Locale locale,
+			long msecs, long usecs) {
+		String fPattern = pattern == null ? defPattern : pattern;
+		Locale fLocale = locale == null ? Locale.getDefault() : locale;
+
+		SecondStamp stamp = getStamp(fPattern, tz, fLocale);
+		Layout layout = stamp.layout;
+		if (!layout.split || usecs < 0 || usecs > UsecTimestamp.MAX_USEC) {
+			return out.append(formatPattern(fPattern, tz, fLocale, msecs, usecs));
+		}
+
+		long second = Math.floorDiv(msecs, 1000L);
+		if (stamp.prefix == null || stamp.second != second) {
+			stamp.second = second;
+			stamp.prefix = layout.format(layout.prefixFormat, second * 1000L);
+			stamp.suffix = layout.format(layout.suffixFormat, second * 1000L);
+		}
+		out.append(stamp.prefix);
+		if (layout.fraction) {
+			appendDigits(out, (int) (msecs - second * 1000L));
+			appendDigits(out, (int) usecs);
+		}
+		return out.append(stamp.suffix);
+	}
+
+	/**
+	 * Obtains calling thread stamp for a given layout. Stamps are kept in most recently used order, least recently used
+	 * stamp is replaced when thread cache is full.
+	 */
+	private static SecondStamp getStamp(String pattern, TimeZone tz, Locale locale) {
+		SecondStamp[] stamps = STAMPS.get();
+		SecondStamp stamp = null;
+		int i = 0;
+		for (; i < stamps.length && stamps[i] != null; i++) {
+			if (stamps[i].layout.matches(pattern, tz, locale)) {
+				stamp = stamps[i];
+				break;
+			}
+		}
+		if (i == 0 && stamp != null) {
+			return stamp;
+		}
+		if (stamp == null) {
+			stamp = new SecondStamp(getLayout(pattern, tz, locale));
+			i = Math.min(i, stamps.length - 1);
+		}
+		System.arraycopy(stamps, 0, stamps, 1, i);
+		stamps[0] = stamp;
+		return stamp;
+	}
+
+	private static Layout getLayout(String pattern, TimeZone tz, Locale locale) {
+		Layout key = new Layout(pattern, tz, locale);
+		Layout layout = LAYOUTS.getIfPresent(key);
+		if (layout == null) {
+			key.compile();
+			LAYOUTS.put(key, key);
+			layout = key;
+		}
+		return layout;
+	}
+
+	private static void appendDigits(StringBuilder out, int value) {
+		out.append((char) ('0' + value / 100)).append((char) ('0' + value / 10 % 10)).append((char) ('0' + value % 10));
+	}
+
+	/**
+	 * Formats timestamp by expanding fractional seconds field of the pattern with microseconds digits.
+	 */
+	private static String formatPattern(String pattern, TimeZone tz, Locale locale, long msecs, long usecs) {
+		int fracSecPos = pattern.indexOf('S');
+		if (fracSecPos >= 0) {
+			String usecStr = String.format("%03d", usecs);
+			pattern = pattern.replaceFirst("SS*", "SSS" + usecStr);
+		}
+
+		FastDateFormat df = FastDateFormat.getInstance(pattern, tz, locale);
+		return df.format(new Date(msecs)).replace("Z", "+00:00");
+	}
+
+	/**
+	 * Compiled timestamp pattern, split into date/time parts preceding and following fractional seconds field.
+	 */
+	private static final class Layout {
+		final String pattern;
+		final TimeZone timeZone;
+		final Locale locale;
+		final int hash;
+
+		boolean split;
+		boolean fraction;
+		FastDateFormat prefixFormat;
+		FastDateFormat suffixFormat;
+
+		Layout(String pattern, TimeZone tz, Locale locale) {
+			this.pattern = pattern;
+			this.timeZone = tz;
+			this.locale = locale;
+			this.hash = Objects.hash(pattern, tz, locale);
+		}
+
+		void compile() {
+			int start = pattern.indexOf('S');
+			if (start < 0) {
+				prefixFormat = getFormat(pattern);
+				split = true;
+				return;
+			}
+			int end = start;
+			while (end < pattern.length() && pattern.charAt(end) == 'S') {
+				end++;
+			}
+			// fraction must be outside quoted text and be the only sub-second field
+			if (isQuoted(start) || pattern.indexOf('S', end) >= 0) {
+				return;
+			}
+			prefixFormat = getFormat(pattern.substring(0, start));
+			suffixFormat = getFormat(pattern.substring(end));
+			fraction = true;
+			split = true;
+		}
+
+		private boolean isQuoted(int pos) {
+			boolean quoted = false;
+			for (int i = 0; i < pos; i++) {
+				if (pattern.charAt(i) == '\'') {
+					quoted = !quoted;
+				}
+			}
+			return quoted;
+		}
+
+		private FastDateFormat getFormat(String part) {
+			return part.isEmpty() ? null : FastDateFormat.getInstance(part, timeZone, locale);
+		}
+
+		String format(FastDateFormat df, long msecs) {
+			return df == null ? "" : df.format(msecs).replace("Z", "+00:00");
+		}
+
+		boolean matches(String pattern, TimeZone tz, Locale locale) {
+			return (this.pattern == pattern || this.pattern.equals(pattern))
+					&& (timeZone == tz || timeZone.equals(tz)) && this.locale.equals(locale);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Layout)) {
+				return false;
+			}
+			Layout other = (Layout) obj;
+			return matches(other.pattern, other.timeZone, other.locale);
+		}
+	}
+
+	/**
+	 * Per thread layout and its date/time parts rendered for a second.
+	 */
+	private static final class SecondStamp {
+		final Layout layout;
+		long second;
+		String prefix;
+		String suffix;
+
+		SecondStamp(Layout layout) {
+			this.layout = layout;
+		}
+	}
+}
@@ -51,6 +51,7 @@ public class UsecTimestamp extends Number implements Comparable<UsecTimestamp>,
 
 	private static final String DFLT_JAVA_FORMAT = "yyyy-MM-dd HH:mm:ss.SSS";
 	public static final String DEFAULT_FORMAT = DFLT_JAVA_FORMAT + "SSS Z";
+	private static final String DFLT_TIME_STAMP_PATTERN = DFLT_JAVA_FORMAT + " Z";
 	private static final TimeZone DEFAULT_TZ = TimeZone.getDefault();// TimeZone.getTimeZone("UTC");
 
 	protected static AtomicLong LamportCounter = new AtomicLong(System.currentTimeMillis());
@@ -950,22 +951,58 @@ public class UsecTimestamp extends Number implements Comparable<UsecTimestamp>,
 	 * @return formatted date/time string based on pattern
 	 */
 	public static String getTimeStamp(String pattern, TimeZone tz, Locale locale, long msecs, long usecs) {
-		String tsStr = null;
-
-		if (pattern == null) {
-			pattern = DFLT_JAVA_FORMAT + String.format("%03d", usecs) + " Z";
-		} else {
-			int fracSecPos = pattern.indexOf('S');
-			if (fracSecPos >= 0) {
-				String usecStr = String.format("%03d", usecs);
-				pattern = pattern.replaceFirst("SS*", "SSS" + usecStr);
-			}
-		}
+		return appendTimeStamp(new StringBuilder(32), pattern, tz, locale, msecs, usecs).toString();
+	}
 
-		FastDateFormat df = FastDateFormat.getInstance(pattern, tz == null ? DEFAULT_TZ : tz, locale);
-		tsStr = df.format(new Date(msecs));
+	/**
+	 * Appends the string representation of the timestamp based on the specified format pattern and microseconds to a
+	 * given string builder.
+	 *
+	 * @param out
+	 *            string builder to append timestamp
+	 * @param pattern
+	 *            format pattern
+	 * @param tz
+	 *            time zone
+	 * @param locale
+	 *            locale
+	 * @param usecs
+	 *            timestamp in microseconds
+	 * @return string builder instance containing formatted date/time string based on pattern
+	 *
+	 * @see #getTimeStamp(String, TimeZone, Locale, long)
+	 */
+	public static StringBuilder appendTimeStamp(StringBuilder out, String pattern, TimeZone tz, Locale locale,
+			long usecs) {
+		long msecs = upscale(usecs);
+		return appendTimeStamp(out, pattern, tz, locale, msecs, usecs - downscale(msecs));
+	}
 
-		return tsStr.replace("Z", "+00:00");
+	/**
+	 * Appends the string representation of the timestamp based on the specified format pattern, milliseconds and
+	 * microseconds to a given string builder. Compiled pattern and date/time part rendered for a second are cached, so
+	 * only milliseconds and microseconds digits are rendered for subsequent timestamps within same second.
+	 *
+	 * @param out
+	 *            string builder to append timestamp
+	 * @param pattern
+	 *            format pattern
+	 * @param tz
+	 *            time zone
+	 * @param locale
+	 *            locale
+	 * @param msecs
+	 *            timestamp in milliseconds since epoch
+	 * @param usecs
+	 *            microseconds fraction of timestamp
+	 * @return string builder instance containing formatted date/time string based on pattern
+	 *
+	 * @see #getTimeStamp(String, TimeZone, Locale, long, long)
+	 */
+	public static StringBuilder appendTimeStamp(StringBuilder out, String pattern, TimeZone tz, Locale locale,
+			long msecs, long usecs) {
+		return TimestampRenderer.append(out, DFLT_TIME_STAMP_PATTERN, pattern,
+				tz == null ? DEFAULT_TZ : tz, locale, msecs, usecs);
 	}
 
 	@Override
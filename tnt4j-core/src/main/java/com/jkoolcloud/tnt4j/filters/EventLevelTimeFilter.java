@@ -141,7 +141,7 @@ public class EventLevelTimeFilter implements SinkEventFilter, Configurable {
 			return false;
 		}
 		setTTL(event);
-		return filterMessage(event, event.getMessage());
+		return !isMessageFiltered() || filterMessage(event, event.getMessage());
 	}
 
 	@Override
@@ -167,10 +167,17 @@ public class EventLevelTimeFilter implements SinkEventFilter, Configurable {
 		if (!passLevel(level, sink)) {
 			return false;
 		}
+		if (!isMessageFiltered()) {
+			return true;
+		}
 		String formattedMsg = sink.getEventFormatter().format(ttl, source, level, msg, args);
 		return filterMessage(null, formattedMsg);
 	}
 
+	private boolean isMessageFiltered() {
+		return msgPattern != null || msgTracker != null;
+	}
+
 	private boolean filterOperation(Operation operation) {
 		if (elapsedUsec >= 0 && operation.getElapsedTimeUsec() < elapsedUsec) {
 			return false;
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jkoolcloud.tnt4j.format;
+
+import com.jkoolcloud.tnt4j.core.OpLevel;
+import com.jkoolcloud.tnt4j.core.Snapshot;
+import com.jkoolcloud.tnt4j.source.Source;
+import com.jkoolcloud.tnt4j.tracker.TrackingActivity;
+import com.jkoolcloud.tnt4j.tracker.TrackingEvent;
+
+/**
+ * <p>
+ * Classes that implement this interface encode tracking objects and log messages into binary form. Sinks able to
+ * transport binary payloads (e.g. Kafka, MQTT) use {@code encode} methods directly, while string based sinks use
+ * {@link EventFormatter} methods, which produce a textual (e.g. Base64) representation of the same encoding.
+ * </p>
+ *
+ * @version $Revision: 1 $
+ *
+ * @see EventFormatter
+ * @see CompactBinaryFormatter
+ */
+public interface BinaryEventFormatter extends EventFormatter {
+	/**
+	 * Encode a given object into binary form
+	 *
+	 * @param obj
+	 *            object to be encoded
+	 * @param args
+	 *            arguments associated with the object
+	 * @return encoded object bytes, empty array if object has nothing to encode (e.g. transient property)
+	 */
+	byte[] encode(Object obj, Object... args);
+
+	/**
+	 * Encode a given {@link TrackingEvent} into binary form
+	 *
+	 * @param event
+	 *            tracking event instance to be encoded
+	 * @return encoded tracking event bytes
+	 * @see TrackingEvent
+	 */
+	byte[] encode(TrackingEvent event);
+
+	/**
+	 * Encode a given {@link TrackingActivity} into binary form
+	 *
+	 * @param activity
+	 *            tracking activity instance to be encoded
+	 * @return encoded tracking activity bytes
+	 * @see TrackingActivity
+	 */
+	byte[] encode(TrackingActivity activity);
+
+	/**
+	 * Encode a given {@link Snapshot} into binary form
+	 *
+	 * @param snapshot
+	 *            snapshot object to be encoded
+	 * @return encoded snapshot bytes
+	 * @see Snapshot
+	 */
+	byte[] encode(Snapshot snapshot);
+
+	/**
+	 * Encode a given message and severity level combo into binary form
+	 *
+	 * @param ttl
+	 *            time to live in seconds
+	 * @param src
+	 *            event source
+	 * @param level
+	 *            severity level
+	 * @param msg
+	 *            message to be encoded
+	 * @param args
+	 *            arguments associated with the message
+	 * @return encoded message bytes
+	 * @see OpLevel
+	 */
+	byte[] encode(long ttl, Source src, OpLevel level, String msg, Object... args);
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jkoolcloud.tnt4j.format;
+
+import static com.jkoolcloud.tnt4j.format.CompactBinaryFormatter.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * Decoder of messages produced by {@link CompactBinaryFormatter}. Records are decoded into maps keyed by the same field
+ * labels as used by {@link JSONFormatter}, with record type name put under {@link #RECORD_TYPE_KEY} key. Nested records
+ * are decoded as maps, lists as {@link List} instances, numbers as {@link Long} or {@link Double}, byte arrays as
+ * {@code byte[]}. Fields with unknown identifiers are put using field identifier string as a key.
+ * </p>
+ *
+ * @version $Revision: 1 $
+ *
+ * @see CompactBinaryFormatter
+ */
+public final class CompactBinaryDecoder {
+	/**
+	 * Map key for decoded record type name.
+	 */
+	public static final String RECORD_TYPE_KEY = "record-type";
+
+	private final byte[] buf;
+	private final int limit;
+	private int pos;
+
+	private CompactBinaryDecoder(byte[] buf, int offset, int length) {
+		this.buf = buf;
+		this.pos = offset;
+		this.limit = offset + length;
+	}
+
+	/**
+	 * Decode a given binary message.
+	 *
+	 * @param bytes
+	 *            binary message bytes
+	 * @return decoded record map
+	 * @throws IllegalArgumentException
+	 *             if message is malformed or of unsupported format version
+	 */
+	public static Map<String, Object> decode(byte[] bytes) {
+		return decode(bytes, 0, bytes.length);
+	}
+
+	/**
+	 * Decode a given binary message.
+	 *
+	 * @param bytes
+	 *            byte array containing binary message
+	 * @param offset
+	 *            message offset within array
+	 * @param length
+	 *            message length
+	 * @return decoded record map
+	 * @throws IllegalArgumentException
+	 *             if message is malformed or of unsupported format version
+	 */
+	public static Map<String, Object> decode(byte[] bytes, int offset, int length) {
+		CompactBinaryDecoder decoder = new CompactBinaryDecoder(bytes, offset, length);
+		byte magic = decoder.readByte();
+		if (magic != MAGIC) {
+			throw new IllegalArgumentException("Invalid message magic: " + magic);
+		}
+		byte version = decoder.readByte();
+		if (version != VERSION) {
+			throw new IllegalArgumentException("Unsupported message version: " + version);
+		}
+		Map<String, Object> record = decoder.readRecord();
+		if (decoder.pos != decoder.limit) {
+			throw new IllegalArgumentException("Unexpected trailing bytes: " + (decoder.limit - decoder.pos));
+		}
+		return record;
+	}
+
+	private byte readByte() {
+		if (pos >= limit) {
+			throw new IllegalArgumentException("Truncated message at: " + pos);
+		}
+		return buf[pos++];
+	}
+
+	private long readVarLong() {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			byte b = readByte();
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IllegalArgumentException("Malformed varint at: " + pos);
+	}
+
+	private int readLength() {
+		long length = readVarLong();
+		if (length < 0 || length > limit - pos) {
+			throw new IllegalArgumentException("Invalid length " + length + " at: " + pos);
+		}
+		return (int) length;
+	}
+
+	private Map<String, Object> readRecord() {
+		int typeId = readByte();
+		RecordType type = RecordType.valueOf(typeId);
+		if (type == null) {
+			throw new IllegalArgumentException("Unknown record type: " + typeId);
+		}
+		Map<String, Object> record = new LinkedHashMap<>();
+		record.put(RECORD_TYPE_KEY, type.name());
+		for (int fieldId = (int) readVarLong(); fieldId != 0; fieldId = (int) readVarLong()) {
+			Field field = Field.valueOf(fieldId);
+			record.put(field == null ? String.valueOf(fieldId) : field.label(), readValue());
+		}
+		return record;
+	}
+
+	private Object readValue() {
+		byte tag = readByte();
+		switch (tag) {
+		case T_NULL:
+			return null;
+		case T_FALSE:
+			return Boolean.FALSE;
+		case T_TRUE:
+			return Boolean.TRUE;
+		case T_LONG:
+			long zz = readVarLong();
+			return (zz >>> 1) ^ -(zz & 1);
+		case T_DOUBLE:
+			long bits = 0;
+			for (int i = 0; i < 8; i++) {
+				bits = (bits << 8) | (readByte() & 0xFF);
+			}
+			return Double.longBitsToDouble(bits);
+		case T_STRING:
+			int strLen = readLength();
+			String str = new String(buf, pos, strLen, StandardCharsets.UTF_8);
+			pos += strLen;
+			return str;
+		case T_BYTES:
+			int bytesLen = readLength();
+			byte[] bytes = Arrays.copyOfRange(buf, pos, pos + bytesLen);
+			pos += bytesLen;
+			return bytes;
+		case T_LIST:
+			int count = readLength();
+			List<Object> items = new ArrayList<>(count);
+			for (int i = 0; i < count; i++) {
+				items.add(readValue());
+			}
+			return items;
+		case T_RECORD:
+			return readRecord();
+		default:
+			throw new IllegalArgumentException("Unknown value tag " + tag + " at: " + (pos - 1));
+		}
+	}
+}
@@ -0,0 +1,767 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jkoolcloud.tnt4j.format;
+
+import java.lang.reflect.Array;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.jkoolcloud.tnt4j.config.Configurable;
+import com.jkoolcloud.tnt4j.core.*;
+import com.jkoolcloud.tnt4j.source.DefaultSourceFactory;
+import com.jkoolcloud.tnt4j.source.Source;
+import com.jkoolcloud.tnt4j.source.SourceType;
+import com.jkoolcloud.tnt4j.tracker.TrackingActivity;
+import com.jkoolcloud.tnt4j.tracker.TrackingEvent;
+import com.jkoolcloud.tnt4j.utils.Useconds;
+import com.jkoolcloud.tnt4j.utils.Utils;
+
+/**
+ * <p>
+ * Compact binary implementation of {@link BinaryEventFormatter} interface, encoding {@link TrackingActivity},
+ * {@link TrackingEvent}, {@link Snapshot}, {@link Property} and log messages into schema tagged binary records.
+ * Compared to {@link JSONFormatter} output, field labels are replaced by numeric {@link Field} identifiers, numbers
+ * and timestamps are encoded as variable length integers and enumerations as ordinals.
+ * </p>
+ * <p>
+ * Encoded message layout is: magic byte {@value #MAGIC}, format version byte {@value #VERSION} and record. Record
+ * consists of {@link RecordType} identifier byte, list of fields and terminating {@code 0} byte. Each field consists
+ * of varint field identifier and tagged value: tag byte followed by value payload:
+ * </p>
+ * <ul>
+ * <li>{@link #T_NULL}, {@link #T_FALSE}, {@link #T_TRUE} - no payload</li>
+ * <li>{@link #T_LONG} - zig-zag encoded varint</li>
+ * <li>{@link #T_DOUBLE} - 8 bytes of IEEE 754 double, big-endian</li>
+ * <li>{@link #T_STRING} - varint byte length and UTF-8 bytes</li>
+ * <li>{@link #T_BYTES} - varint byte length and bytes</li>
+ * <li>{@link #T_LIST} - varint item count and tagged values</li>
+ * <li>{@link #T_RECORD} - nested record</li>
+ * </ul>
+ * <p>
+ * String methods of {@link EventFormatter} return Base64 representation of encoded bytes, so this formatter can be used
+ * with text based sinks as well. {@link CompactBinaryDecoder} decodes produced messages.
+ * </p>
+ *
+ * @version $Revision: 1 $
+ *
+ * @see CompactBinaryDecoder
+ * @see JSONFormatter
+ */
+public class CompactBinaryFormatter implements BinaryEventFormatter, Configurable {
+	public static final byte MAGIC = (byte) 0xB7;
+	public static final byte VERSION = 1;
+
+	public static final byte T_NULL = 0;
+	public static final byte T_FALSE = 1;
+	public static final byte T_TRUE = 2;
+	public static final byte T_LONG = 3;
+	public static final byte T_DOUBLE = 4;
+	public static final byte T_STRING = 5;
+	public static final byte T_BYTES = 6;
+	public static final byte T_LIST = 7;
+	public static final byte T_RECORD = 8;
+
+	private static final String DEF_OP_NAME = "log";
+	private static final int MAX_ENCODER_CAPACITY = 64 * 1024;
+	private static final byte[] NO_BYTES = new byte[0];
+	private static final ThreadLocal<Encoder> ENCODER = ThreadLocal.withInitial(() -> new Encoder(1024));
+
+	private Map<String, ?> config = null;
+	protected String defOpName = DEF_OP_NAME;
+
+	/**
+	 * Create compact binary formatter
+	 */
+	public CompactBinaryFormatter() {
+	}
+
+	@Override
+	public byte[] encode(Object obj, Object... args) {
+		if (obj instanceof TrackingActivity) {
+			return encode((TrackingActivity) obj);
+		} else if (obj instanceof TrackingEvent) {
+			return encode((TrackingEvent) obj);
+		} else if (obj instanceof Snapshot) {
+			return encode((Snapshot) obj);
+		} else if (obj instanceof Property) {
+			Encoder enc = startMessage();
+			return writeProperty(enc, (Property) obj) ? enc.toByteArray() : NO_BYTES;
+		} else {
+			Encoder enc = startMessage().recordStart(RecordType.MESSAGE);
+			enc.field(Field.TIME_USEC, Useconds.CURRENT.get());
+			enc.field(Field.MSG_TEXT, Utils.format(Utils.toString(obj), args));
+			return enc.recordEnd().toByteArray();
+		}
+	}
+
+	@Override
+	public byte[] encode(TrackingEvent event) {
+		Encoder enc = startMessage();
+		writeEvent(enc, event);
+		return enc.toByteArray();
+	}
+
+	@Override
+	public byte[] encode(TrackingActivity activity) {
+		Encoder enc = startMessage();
+		writeActivity(enc, activity);
+		return enc.toByteArray();
+	}
+
+	@Override
+	public byte[] encode(Snapshot snapshot) {
+		Encoder enc = startMessage();
+		writeSnapshot(enc, snapshot);
+		return enc.toByteArray();
+	}
+
+	@Override
+	public byte[] encode(long ttl, Source src, OpLevel level, String msg, Object... args) {
+		Encoder enc = startMessage().recordStart(RecordType.LOG);
+		enc.field(Field.SEVERITY_NO, level.ordinal());
+		enc.field(Field.TYPE_NO, OpType.LOG.ordinal());
+		enc.field(Field.PID, Utils.getVMPID());
+		enc.field(Field.TID, Thread.currentThread().getId());
+		enc.field(Field.USER,
+				src == null ? DefaultSourceFactory.getInstance().getRootSource().getUser() : src.getUser());
+		enc.field(Field.TTL_SEC, ttl);
+		enc.field(Field.TIME_USEC, Useconds.CURRENT.get());
+		enc.field(Field.OPERATION, defOpName);
+		if (src != null) {
+			writeSource(enc, src);
+			Source geoloc = src.getSource(SourceType.GEOADDR);
+			if (geoloc != null) {
+				enc.field(Field.LOCATION, geoloc.getName());
+			}
+		}
+		if (!Utils.isEmpty(msg)) {
+			enc.field(Field.MSG_TEXT, Utils.format(msg, args));
+		}
+		Throwable ex = Utils.getThrowable(args);
+		if (ex != null) {
+			enc.field(Field.EXCEPTION, ex.toString());
+		}
+		return enc.recordEnd().toByteArray();
+	}
+
+	@Override
+	public String format(Object obj, Object... args) {
+		return toBase64(encode(obj, args));
+	}
+
+	@Override
+	public String format(TrackingEvent event) {
+		return toBase64(encode(event));
+	}
+
+	@Override
+	public String format(TrackingActivity activity) {
+		return toBase64(encode(activity));
+	}
+
+	@Override
+	public String format(Snapshot snapshot) {
+		return toBase64(encode(snapshot));
+	}
+
+	@Override
+	public String format(long ttl, Source src, OpLevel level, String msg, Object... args) {
+		return toBase64(encode(ttl, src, level, msg, args));
+	}
+
+	private static String toBase64(byte[] bytes) {
+		return Base64.getEncoder().encodeToString(bytes);
+	}
+
+	private static Encoder startMessage() {
+		Encoder enc = ENCODER.get();
+		if (enc.capacity() > MAX_ENCODER_CAPACITY) {
+			enc = new Encoder(1024);
+			ENCODER.set(enc);
+		}
+		enc.reset();
+		enc.writeByte(MAGIC);
+		enc.writeByte(VERSION);
+		return enc;
+	}
+
+	/**
+	 * Writes {@link TrackingEvent} record.
+	 *
+	 * @param enc
+	 *            encoder to write to
+	 * @param event
+	 *            tracking event instance to be encoded
+	 */
+	protected void writeEvent(Encoder enc, TrackingEvent event) {
+		Operation op = event.getOperation();
+		enc.recordStart(RecordType.EVENT);
+		enc.field(Field.GUID, event.getGUID());
+		enc.field(Field.TRACK_ID, event.getTrackingId());
+		enc.field(Field.TRACK_SIGN, event.getSignature());
+		enc.field(Field.PARENT_TRACK_ID, event.getParentId());
+		writeSource(enc, event.getSource());
+		if (event.get2(TrackingEvent.OBJ_ONE) != null) {
+			enc.field(Field.RELATE_TYPE, event.get2Type().name());
+			enc.field(Field.RELATE_FQN_A, event.get2(TrackingEvent.OBJ_ONE).getFQName());
+			enc.field(Field.RELATE_FQN_B, event.get2(TrackingEvent.OBJ_TWO).getFQName());
+		}
+		enc.field(Field.SEVERITY_NO, event.getSeverity().ordinal());
+		enc.field(Field.TYPE_NO, op.getType().ordinal());
+		enc.field(Field.PID, op.getPID());
+		enc.field(Field.TID, op.getTID());
+		enc.field(Field.COMP_CODE_NO, op.getCompCode().ordinal());
+		enc.field(Field.REASON_CODE, op.getReasonCode());
+		enc.field(Field.TTL_SEC, event.getTTL());
+		enc.field(Field.LOCATION, event.getLocation());
+		enc.field(Field.OPERATION, op.getResolvedName());
+		enc.field(Field.RESOURCE, op.getResource());
+		enc.field(Field.USER, op.getUser());
+		enc.field(Field.TIME_USEC, Useconds.CURRENT.get());
+		if (op.getStartTime() != null) {
+			enc.field(Field.START_TIME_USEC, op.getStartTime().getTimeUsec());
+		}
+		if (op.getEndTime() != null) {
+			enc.field(Field.END_TIME_USEC, op.getEndTime().getTimeUsec());
+			enc.field(Field.ELAPSED_TIME_USEC, op.getElapsedTimeUsec());
+			if (op.getWaitTimeUsec() > 0) {
+				enc.field(Field.WAIT_TIME_USEC, op.getWaitTimeUsec());
+			}
+			if (event.getMessageAge() > 0) {
+				enc.field(Field.MSG_AGE_USEC, event.getMessageAge());
+			}
+		}
+		enc.field(Field.SNAPSHOT_COUNT, op.getSnapshotCount());
+		enc.field(Field.PROPERTY_COUNT, op.getPropertyCount());
+		enc.field(Field.MSG_SIZE, event.getSize());
+		enc.field(Field.MSG_MIME, event.getMimeType());
+		enc.field(Field.MSG_ENC, event.getEncoding());
+		enc.field(Field.MSG_CHARSET, event.getCharset());
+		enc.field(Field.MSG_TEXT, event.getMessage());
+		enc.field(Field.EXCEPTION, op.getExceptionString());
+		writeStrings(enc, Field.CORR_ID, event.getCorrelator());
+		writeStrings(enc, Field.MSG_TAG, event.getTag());
+		writeProperties(enc, op.getProperties());
+		writeSnapshots(enc, op.getSnapshots());
+		enc.recordEnd();
+	}
+
+	/**
+	 * Writes {@link TrackingActivity} record.
+	 *
+	 * @param enc
+	 *            encoder to write to
+	 * @param activity
+	 *            tracking activity instance to be encoded
+	 */
+	protected void writeActivity(Encoder enc, TrackingActivity activity) {
+		enc.recordStart(RecordType.ACTIVITY);
+		enc.field(Field.GUID, activity.getGUID());
+		enc.field(Field.TRACK_ID, activity.getTrackingId());
+		enc.field(Field.TRACK_SIGN, activity.getSignature());
+		enc.field(Field.PARENT_TRACK_ID, activity.getParentId());
+		writeSource(enc, activity.getSource());
+		enc.field(Field.STATUS, activity.getStatus().name());
+		enc.field(Field.SEVERITY_NO, activity.getSeverity().ordinal());
+		enc.field(Field.TYPE_NO, activity.getType().ordinal());
+		enc.field(Field.PID, activity.getPID());
+		enc.field(Field.TID, activity.getTID());
+		enc.field(Field.COMP_CODE_NO, activity.getCompCode().ordinal());
+		enc.field(Field.REASON_CODE, activity.getReasonCode());
+		enc.field(Field.TTL_SEC, activity.getTTL());
+		enc.field(Field.LOCATION, activity.getLocation());
+		enc.field(Field.OPERATION, activity.getResolvedName());
+		enc.field(Field.RESOURCE, activity.getResource());
+		enc.field(Field.USER, activity.getSource().getUser());
+		enc.field(Field.TIME_USEC, Useconds.CURRENT.get());
+		if (activity.getStartTime() != null) {
+			enc.field(Field.START_TIME_USEC, activity.getStartTime().getTimeUsec());
+		}
+		if (activity.getEndTime() != null) {
+			enc.field(Field.END_TIME_USEC, activity.getEndTime().getTimeUsec());
+			enc.field(Field.ELAPSED_TIME_USEC, activity.getElapsedTimeUsec());
+			if (activity.getWaitTimeUsec() > 0) {
+				enc.field(Field.WAIT_TIME_USEC, activity.getWaitTimeUsec());
+			}
+		}
+		enc.field(Field.ID_COUNT, activity.getIdCount());
+		enc.field(Field.SNAPSHOT_COUNT, activity.getSnapshotCount());
+		enc.field(Field.PROPERTY_COUNT, activity.getPropertyCount());
+		enc.field(Field.EXCEPTION, activity.getExceptionString());
+		writeStrings(enc, Field.CORR_ID, activity.getCorrelator());
+		writeStrings(enc, Field.ID_SET, activity.getIds());
+		writeProperties(enc, activity.getProperties());
+		writeSnapshots(enc, activity.getSnapshots());
+		enc.recordEnd();
+	}
+
+	/**
+	 * Writes {@link Snapshot} record.
+	 *
+	 * @param enc
+	 *            encoder to write to
+	 * @param snap
+	 *            snapshot to be encoded
+	 */
+	protected void writeSnapshot(Encoder enc, Snapshot snap) {
+		enc.recordStart(RecordType.SNAPSHOT);
+		enc.field(Field.GUID, snap.getGUID());
+		enc.field(Field.TRACK_ID, snap.getTrackingId());
+		enc.field(Field.TRACK_SIGN, snap.getSignature());
+		enc.field(Field.PARENT_TRACK_ID, snap.getParentId());
+		enc.field(Field.FQN, snap.getId());
+		enc.field(Field.CATEGORY, snap.getCategory());
+		enc.field(Field.NAME, snap.getName());
+		enc.field(Field.COUNT, snap.size());
+		enc.field(Field.TIME_USEC, snap.getTimeStamp().getTimeUsec());
+		enc.field(Field.TTL_SEC, snap.getTTL());
+		if (snap.getSource() != null) {
+			writeSource(enc, snap.getSource());
+		}
+		if (snap.getSeverity().ordinal() > OpLevel.NONE.ordinal()) {
+			enc.field(Field.SEVERITY_NO, snap.getSeverity().ordinal());
+		}
+		enc.field(Field.TYPE_NO, snap.getType().ordinal());
+		writeProperties(enc, snap.getProperties());
+		enc.recordEnd();
+	}
+
+	/**
+	 * Writes {@link Property} record. Transient properties are not written.
+	 *
+	 * @param enc
+	 *            encoder to write to
+	 * @param prop
+	 *            property to be encoded
+	 * @return {@code true} if property record has been written, {@code false} - otherwise
+	 */
+	protected boolean writeProperty(Encoder enc, Property prop) {
+		if (prop == null || prop.isTransient()) {
+			return false;
+		}
+		enc.recordStart(RecordType.PROPERTY);
+		enc.field(Field.NAME, prop.getKey());
+		enc.field(Field.TYPE, prop.getDataType());
+		if (prop.getValueType() != null && !prop.getValueType().equalsIgnoreCase(ValueTypes.VALUE_TYPE_NONE)) {
+			enc.field(Field.VALUE_TYPE, prop.getValueType());
+		}
+		enc.fieldId(Field.VALUE);
+		enc.value(prop.getValue());
+		enc.recordEnd();
+		return true;
+	}
+
+	private void writeSource(Encoder enc, Source source) {
+		enc.field(Field.SOURCE, source.getName());
+		enc.field(Field.SOURCE_SSN, JSONFormatter.getSSN(source));
+		enc.field(Field.SOURCE_FQN, source.getFQName());
+		enc.field(Field.SOURCE_URL, source.getUrl());
+	}
+
+	private static void writeStrings(Encoder enc, Field field, Collection<String> values) {
+		if (Utils.isEmpty(values)) {
+			return;
+		}
+		enc.fieldId(field);
+		enc.writeByte(T_LIST);
+		enc.writeVarLong(values.size());
+		for (String value : values) {
+			enc.value(value);
+		}
+	}
+
+	private void writeProperties(Encoder enc, Collection<Property> props) {
+		if (Utils.isEmpty(props)) {
+			return;
+		}
+		int count = 0;
+		for (Property prop : props) {
+			if (prop != null && !prop.isTransient()) {
+				count++;
+			}
+		}
+		enc.fieldId(Field.PROPERTIES);
+		enc.writeByte(T_LIST);
+		enc.writeVarLong(count);
+		for (Property prop : props) {
+			if (prop != null && !prop.isTransient()) {
+				enc.writeByte(T_RECORD);
+				writeProperty(enc, prop);
+			}
+		}
+	}
+
+	private void writeSnapshots(Encoder enc, Collection<Snapshot> snaps) {
+		if (Utils.isEmpty(snaps)) {
+			return;
+		}
+		enc.fieldId(Field.SNAPSHOTS);
+		enc.writeByte(T_LIST);
+		enc.writeVarLong(snaps.size());
+		for (Snapshot snap : snaps) {
+			enc.writeByte(T_RECORD);
+			writeSnapshot(enc, snap);
+		}
+	}
+
+	@Override
+	public Map<String, ?> getConfiguration() {
+		return config;
+	}
+
+	@Override
+	public void setConfiguration(Map<String, ?> settings) {
+		config = settings;
+		defOpName = Utils.getString("OpName", settings, defOpName);
+	}
+
+	/**
+	 * Enumerates binary record types.
+	 */
+	public enum RecordType {
+		/**
+		 * {@link TrackingEvent} record.
+		 */
+		EVENT,
+		/**
+		 * {@link TrackingActivity} record.
+		 */
+		ACTIVITY,
+		/**
+		 * {@link Snapshot} record.
+		 */
+		SNAPSHOT,
+		/**
+		 * {@link Property} record.
+		 */
+		PROPERTY,
+		/**
+		 * Log message record.
+		 */
+		LOG,
+		/**
+		 * Generic object message record.
+		 */
+		MESSAGE;
+
+		private static final RecordType[] TYPES = values();
+
+		/**
+		 * Obtain record type identifier.
+		 *
+		 * @return record type identifier
+		 */
+		public int id() {
+			return ordinal() + 1;
+		}
+
+		/**
+		 * Obtain record type by identifier.
+		 *
+		 * @param id
+		 *            record type identifier
+		 * @return record type, or {@code null} if identifier is unknown
+		 */
+		public static RecordType valueOf(int id) {
+			return id > 0 && id <= TYPES.length ? TYPES[id - 1] : null;
+		}
+	}
+
+	/**
+	 * Enumerates binary record fields. Field identifiers are part of binary format and must not be changed, new fields
+	 * shall be added with new identifiers.
+	 */
+	public enum Field {
+		NAME(1, JSONLabels.JSON_NAME_FIELD), //
+		GUID(2, JSONLabels.JSON_GUID_FIELD), //
+		CATEGORY(3, JSONLabels.JSON_CATEGORY_FIELD), //
+		STATUS(4, JSONLabels.JSON_STATUS_FIELD), //
+		COUNT(5, JSONLabels.JSON_COUNT_FIELD), //
+		TIME_USEC(6, JSONLabels.JSON_TIME_USEC_FIELD), //
+		PROPERTIES(7, JSONLabels.JSON_PROPERTIES_FIELD), //
+		TYPE(8, JSONLabels.JSON_TYPE_FIELD), //
+		TYPE_NO(9, JSONLabels.JSON_TYPE_NO_FIELD), //
+		VALUE(10, JSONLabels.JSON_VALUE_FIELD), //
+		VALUE_TYPE(11, JSONLabels.JSON_VALUE_TYPE_FIELD), //
+		CORR_ID(12, JSONLabels.JSON_CORR_ID_FIELD), //
+		TRACK_ID(13, JSONLabels.JSON_TRACK_ID_FIELD), //
+		TRACK_SIGN(14, JSONLabels.JSON_TRACK_SIGN_FIELD), //
+		PARENT_TRACK_ID(15, JSONLabels.JSON_PARENT_TRACK_ID_FIELD), //
+		SOURCE(16, JSONLabels.JSON_SOURCE_FIELD), //
+		SOURCE_URL(17, JSONLabels.JSON_SOURCE_URL_FIELD), //
+		SOURCE_FQN(18, JSONLabels.JSON_SOURCE_FQN_FIELD), //
+		SOURCE_SSN(19, JSONLabels.JSON_SOURCE_SSN_FIELD), //
+		RELATE_FQN_A(20, JSONLabels.JSON_RELATE_FQN_A_FIELD), //
+		RELATE_FQN_B(21, JSONLabels.JSON_RELATE_FQN_B_FIELD), //
+		RELATE_TYPE(22, JSONLabels.JSON_RELATE_TYPE_FIELD), //
+		RESOURCE(23, JSONLabels.JSON_RESOURCE_FIELD), //
+		OPERATION(24, JSONLabels.JSON_OPERATION_FIELD), //
+		LOCATION(25, JSONLabels.JSON_LOCATION_FIELD), //
+		REASON_CODE(26, JSONLabels.JSON_REASON_CODE_FIELD), //
+		COMP_CODE_NO(27, JSONLabels.JSON_COMP_CODE_NO_FIELD), //
+		SEVERITY_NO(28, JSONLabels.JSON_SEVERITY_NO_FIELD), //
+		FQN(29, JSONLabels.JSON_FQN_FIELD), //
+		PID(30, JSONLabels.JSON_PID_FIELD), //
+		TID(31, JSONLabels.JSON_TID_FIELD), //
+		USER(32, JSONLabels.JSON_USER_FIELD), //
+		START_TIME_USEC(33, JSONLabels.JSON_START_TIME_USEC_FIELD), //
+		END_TIME_USEC(34, JSONLabels.JSON_END_TIME_USEC_FIELD), //
+		ELAPSED_TIME_USEC(35, JSONLabels.JSON_ELAPSED_TIME_USEC_FIELD), //
+		WAIT_TIME_USEC(36, JSONLabels.JSON_WAIT_TIME_USEC_FIELD), //
+		MSG_AGE_USEC(37, JSONLabels.JSON_MSG_AGE_USEC_FIELD), //
+		MSG_ENC(38, JSONLabels.JSON_MSG_ENC_FIELD), //
+		MSG_CHARSET(39, JSONLabels.JSON_MSG_CHARSET_FIELD), //
+		MSG_MIME(40, JSONLabels.JSON_MSG_MIME_FIELD), //
+		MSG_SIZE(41, JSONLabels.JSON_MSG_SIZE_FIELD), //
+		MSG_TAG(42, JSONLabels.JSON_MSG_TAG_FIELD), //
+		MSG_TEXT(43, JSONLabels.JSON_MSG_TEXT_FIELD), //
+		ID_COUNT(44, JSONLabels.JSON_ID_COUNT_FIELD), //
+		SNAPSHOT_COUNT(45, JSONLabels.JSON_SNAPSHOT_COUNT_FIELD), //
+		PROPERTY_COUNT(46, JSONLabels.JSON_PROPERTY_COUNT_FIELD), //
+		EXCEPTION(47, JSONLabels.JSON_EXCEPTION_FIELD), //
+		SNAPSHOTS(48, JSONLabels.JSON_SNAPSHOTS_FIELD), //
+		ID_SET(49, JSONLabels.JSON_ID_SET_FIELD), //
+		TTL_SEC(50, JSONLabels.JSON_TTL_SEC_FIELD);
+
+		private static final Field[] FIELDS = new Field[64];
+		static {
+			for (Field field : values()) {
+				FIELDS[field.id] = field;
+			}
+		}
+
+		private final int id;
+		private final String label;
+
+		Field(int id, String label) {
+			this.id = id;
+			this.label = label;
+		}
+
+		/**
+		 * Obtain field identifier.
+		 *
+		 * @return field identifier
+		 */
+		public int id() {
+			return id;
+		}
+
+		/**
+		 * Obtain field label, same as used by {@link JSONFormatter}.
+		 *
+		 * @return field label
+		 */
+		public String label() {
+			return label;
+		}
+
+		/**
+		 * Obtain field by identifier.
+		 *
+		 * @param id
+		 *            field identifier
+		 * @return field, or {@code null} if identifier is unknown
+		 */
+		public static Field valueOf(int id) {
+			return id > 0 && id < FIELDS.length ? FIELDS[id] : null;
+		}
+	}
+
+	/**
+	 * Growable byte array encoder writing binary record primitives.
+	 */
+	protected static final class Encoder {
+		private byte[] buf;
+		private int pos;
+
+		Encoder(int capacity) {
+			buf = new byte[capacity];
+		}
+
+		public int capacity() {
+			return buf.length;
+		}
+
+		public void reset() {
+			pos = 0;
+		}
+
+		public byte[] toByteArray() {
+			return Arrays.copyOf(buf, pos);
+		}
+
+		private void ensureCapacity(int bytes) {
+			if (buf.length - pos < bytes) {
+				buf = Arrays.copyOf(buf, Math.max(buf.length * 2, pos + bytes));
+			}
+		}
+
+		public void writeByte(int b) {
+			ensureCapacity(1);
+			buf[pos++] = (byte) b;
+		}
+
+		public void writeVarLong(long value) {
+			ensureCapacity(10);
+			while ((value & ~0x7FL) != 0) {
+				buf[pos++] = (byte) ((value & 0x7F) | 0x80);
+				value >>>= 7;
+			}
+			buf[pos++] = (byte) value;
+		}
+
+		public void writeLong(long value) {
+			writeVarLong((value << 1) ^ (value >> 63));
+		}
+
+		public void writeDouble(double value) {
+			ensureCapacity(8);
+			long bits = Double.doubleToLongBits(value);
+			for (int shift = 56; shift >= 0; shift -= 8) {
+				buf[pos++] = (byte) (bits >>> shift);
+			}
+		}
+
+		public void writeBytes(byte[] bytes) {
+			writeVarLong(bytes.length);
+			ensureCapacity(bytes.length);
+			System.arraycopy(bytes, 0, buf, pos, bytes.length);
+			pos += bytes.length;
+		}
+
+		public void writeString(CharSequence str) {
+			int len = str.length();
+			int utfLen = 0;
+			for (int i = 0; i < len; i++) {
+				char c = str.charAt(i);
+				if (c < 0x80) {
+					utfLen++;
+				} else if (c < 0x800) {
+					utfLen += 2;
+				} else if (isSurrogatePair(str, i, len)) {
+					utfLen += 4;
+					i++;
+				} else if (Character.isSurrogate(c)) {
+					utfLen++;
+				} else {
+					utfLen += 3;
+				}
+			}
+			writeVarLong(utfLen);
+			ensureCapacity(utfLen);
+			for (int i = 0; i < len; i++) {
+				char c = str.charAt(i);
+				if (c < 0x80) {
+					buf[pos++] = (byte) c;
+				} else if (c < 0x800) {
+					buf[pos++] = (byte) (0xC0 | (c >> 6));
+					buf[pos++] = (byte) (0x80 | (c & 0x3F));
+				} else if (isSurrogatePair(str, i, len)) {
+					int cp = Character.toCodePoint(c, str.charAt(++i));
+					buf[pos++] = (byte) (0xF0 | (cp >> 18));
+					buf[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+					buf[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+					buf[pos++] = (byte) (0x80 | (cp & 0x3F));
+				} else if (Character.isSurrogate(c)) {
+					buf[pos++] = (byte) '?';
+				} else {
+					buf[pos++] = (byte) (0xE0 | (c >> 12));
+					buf[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+					buf[pos++] = (byte) (0x80 | (c & 0x3F));
+				}
+			}
+		}
+
+		private static boolean isSurrogatePair(CharSequence str, int i, int len) {
+			return Character.isHighSurrogate(str.charAt(i)) && i + 1 < len
+					&& Character.isLowSurrogate(str.charAt(i + 1));
+		}
+
+		public void fieldId(Field field) {
+			writeVarLong(field.id);
+		}
+
+		public Encoder recordStart(RecordType type) {
+			writeByte(type.id());
+			return this;
+		}
+
+		public Encoder recordEnd() {
+			writeByte(0);
+			return this;
+		}
+
+		public void field(Field field, String value) {
+			if (!Utils.isEmpty(value)) {
+				fieldId(field);
+				writeByte(T_STRING);
+				writeString(value);
+			}
+		}
+
+		public void field(Field field, long value) {
+			fieldId(field);
+			writeByte(T_LONG);
+			writeLong(value);
+		}
+
+		public void value(Object value) {
+			if (value == null) {
+				writeByte(T_NULL);
+			} else if (value instanceof Boolean) {
+				writeByte((Boolean) value ? T_TRUE : T_FALSE);
+			} else if (value instanceof Long || value instanceof Integer || value instanceof Short
+					|| value instanceof Byte || value instanceof AtomicLong || value instanceof AtomicInteger) {
+				writeByte(T_LONG);
+				writeLong(((Number) value).longValue());
+			} else if (value instanceof Double || value instanceof Float) {
+				writeByte(T_DOUBLE);
+				writeDouble(((Number) value).doubleValue());
+			} else if (value instanceof Date) {
+				writeByte(T_LONG);
+				writeLong(((Date) value).getTime());
+			} else if (value instanceof UsecTimestamp) {
+				writeByte(T_LONG);
+				writeLong(((UsecTimestamp) value).getTimeUsec());
+			} else if (value instanceof byte[]) {
+				writeByte(T_BYTES);
+				writeBytes((byte[]) value);
+			} else if (value instanceof Collection) {
+				Collection<?> items = (Collection<?>) value;
+				writeByte(T_LIST);
+				writeVarLong(items.size());
+				for (Object item : items) {
+					value(item);
+				}
+			} else if (value.getClass().isArray()) {
+				int length = Array.getLength(value);
+				writeByte(T_LIST);
+				writeVarLong(length);
+				for (int i = 0; i < length; i++) {
+					value(Array.get(value, i));
+				}
+			} else if (value instanceof Enum) {
+				writeByte(T_STRING);
+				writeString(((Enum<?>) value).name());
+			} else {
+				writeByte(T_STRING);
+				writeString(Utils.toString(value));
+			}
+		}
+	}
+}
@@ -15,6 +15,10 @@
  */
 package com.jkoolcloud.tnt4j.format;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.TimeZone;
 
@@ -26,6 +30,7 @@ import com.jkoolcloud.tnt4j.source.DefaultSourceFactory;
 import com.jkoolcloud.tnt4j.source.Source;
 import com.jkoolcloud.tnt4j.tracker.TrackingActivity;
 import com.jkoolcloud.tnt4j.tracker.TrackingEvent;
+import com.jkoolcloud.tnt4j.utils.Useconds;
 import com.jkoolcloud.tnt4j.utils.Utils;
 
 /**
@@ -33,6 +38,14 @@ import com.jkoolcloud.tnt4j.utils.Utils;
  * Default implementation of {@link Formatter} interface provides default formatting of {@link TrackingActivity} and
  * {@link TrackingEvent} as well as any object passed to {@code format()} method call.
  * </p>
+ * <p>
+ * Log message format string is a {@link java.text.MessageFormat} pattern with arguments: {@code {0}} - timestamp,
+ * {@code {1}} - severity, {@code {2}} - message and {@code {3}} - source FQN. Pattern is compiled once into a list of
+ * {@link LogField} and literal steps, so no pattern parsing is done when formatting. Patterns using element formats
+ * (e.g. {@code {0,number}}) or other argument indexes are formatted using {@link Utils#format(String, Object...)}.
+ * Timestamps are rendered using {@link UsecTimestamp#appendTimeStamp(StringBuilder, String, TimeZone, Locale, long)},
+ * so only sub-second part is rendered for each message.
+ * </p>
  * 
  * 
  * @version $Revision: 4 $
@@ -49,6 +62,7 @@ public class DefaultFormatter implements EventFormatter, Configurable {
 	protected String formatString = "{2} | {1} | {0} | {3}";
 
 	private Map<String, ?> config = null;
+	private Object[] formatSteps = compileFormat(formatString);
 
 	/**
 	 * Create a default event formatter
@@ -65,6 +79,7 @@ public class DefaultFormatter implements EventFormatter, Configurable {
 	 */
 	public DefaultFormatter(String format) {
 		formatString = format;
+		formatSteps = compileFormat(format);
 	}
 
 	/**
@@ -77,6 +92,7 @@ public class DefaultFormatter implements EventFormatter, Configurable {
 	 */
 	public DefaultFormatter(String format, TimeZone tz) {
 		formatString = format;
+		formatSteps = compileFormat(format);
 		timeZone = tz;
 	}
 
@@ -90,6 +106,7 @@ public class DefaultFormatter implements EventFormatter, Configurable {
 	 */
 	public DefaultFormatter(String format, String tzid) {
 		formatString = format;
+		formatSteps = compileFormat(format);
 		timeZone = TimeZone.getTimeZone(tzid);
 	}
 
@@ -123,9 +140,142 @@ public class DefaultFormatter implements EventFormatter, Configurable {
 
 	@Override
 	public String format(long ttl, Source src, OpLevel level, String msg, Object... args) {
+		return formatLog(new StringBuilder(256), ttl, src, level, msg, args).toString();
+	}
+
+	@Override
+	public void format(Appendable out, long ttl, Source src, OpLevel level, String msg, Object... args)
+			throws IOException {
+		if (out instanceof StringBuilder) {
+			formatLog((StringBuilder) out, ttl, src, level, msg, args);
+		} else {
+			out.append(formatLog(new StringBuilder(256), ttl, src, level, msg, args));
+		}
+	}
+
+	/**
+	 * Format a given message and severity level combo into a given string builder, using compiled format string.
+	 *
+	 * @param out
+	 *            string builder to append formatted message
+	 * @param ttl
+	 *            time to live in seconds
+	 * @param src
+	 *            event source
+	 * @param level
+	 *            severity level
+	 * @param msg
+	 *            message to be formatted
+	 * @param args
+	 *            arguments associated with the object
+	 * @return string builder instance containing formatted message
+	 */
+	protected StringBuilder formatLog(StringBuilder out, long ttl, Source src, OpLevel level, String msg,
+			Object... args) {
 		String srcName = src != null ? src.getFQName() : DefaultSourceFactory.getInstance().getRootSource().getFQName();
-		return Utils.format(formatString, UsecTimestamp.getTimeStamp(timeZone), level, Utils.format(msg, args),
-				srcName);
+		Object[] steps = formatSteps;
+		if (steps == null) {
+			return out.append(Utils.format(formatString, getTimeStamp(), level, Utils.format(msg, args), srcName));
+		}
+		for (Object step : steps) {
+			if (step instanceof String) {
+				out.append((String) step);
+				continue;
+			}
+			switch ((LogField) step) {
+			case TIMESTAMP:
+				appendTimeStamp(out, Useconds.CURRENT.get());
+				break;
+			case SEVERITY:
+				out.append(level);
+				break;
+			case MESSAGE:
+				out.append(Utils.format(msg, args));
+				break;
+			case SOURCE:
+				out.append(srcName);
+				break;
+			}
+		}
+		return out;
+	}
+
+	/**
+	 * Returns current timestamp string using formatter time zone. Produces same output as
+	 * {@link UsecTimestamp#getTimeStamp(TimeZone)}.
+	 *
+	 * @return current timestamp string
+	 */
+	protected String getTimeStamp() {
+		return appendTimeStamp(new StringBuilder(32), Useconds.CURRENT.get()).toString();
+	}
+
+	/**
+	 * Appends timestamp string using formatter time zone.
+	 *
+	 * @param out
+	 *            string builder to append timestamp
+	 * @param usecs
+	 *            timestamp in microseconds
+	 * @return string builder instance containing timestamp
+	 */
+	protected StringBuilder appendTimeStamp(StringBuilder out, long usecs) {
+		return UsecTimestamp.appendTimeStamp(out, null, timeZone, null, usecs);
+	}
+
+	/**
+	 * Compiles log message format string into a list of literal ({@link String}) and {@link LogField} steps.
+	 *
+	 * @param format
+	 *            message format pattern
+	 * @return array of compiled steps, or {@code null} if pattern has elements not supported by compiled formatting
+	 */
+	protected static Object[] compileFormat(String format) {
+		if (format == null) {
+			return null;
+		}
+		List<Object> steps = new ArrayList<>();
+		StringBuilder literal = new StringBuilder();
+		boolean quoted = false;
+		boolean hasFields = false;
+		int len = format.length();
+		for (int i = 0; i < len; i++) {
+			char c = format.charAt(i);
+			if (c == '\'') {
+				if (i + 1 < len && format.charAt(i + 1) == '\'') {
+					literal.append(c);
+					i++;
+				} else {
+					quoted = !quoted;
+				}
+			} else if (c == '{' && !quoted) {
+				int end = format.indexOf('}', i);
+				if (end < 0) {
+					return null;
+				}
+				LogField field = LogField.forIndex(format.substring(i + 1, end));
+				if (field == null) {
+					return null;
+				}
+				if (literal.length() > 0) {
+					steps.add(literal.toString());
+					literal.setLength(0);
+				}
+				steps.add(field);
+				hasFields = true;
+				i = end;
+			} else {
+				literal.append(c);
+			}
+		}
+		if (!hasFields) {
+			// same as Utils.format: pattern without format elements is used as is
+			return new Object[] { format };
+		}
+		if (literal.length() > 0) {
+			steps.add(literal.toString());
+		}
+		return steps.toArray();
 	}
 
 	@Override
@@ -139,7 +289,47 @@ public class DefaultFormatter implements EventFormatter, Configurable {
 
 		separator = Utils.getString("Separator", settings, SEPARATOR);
 		formatString = Utils.getString("Format", settings, formatString);
+		formatSteps = compileFormat(formatString);
 		String tz = Utils.getString("TimeZone", settings, null);
 		timeZone = Utils.isEmpty(tz) ? TimeZone.getDefault() : TimeZone.getTimeZone(tz);
 	}
+
+	/**
+	 * Enumerates log message format string arguments.
+	 */
+	protected enum LogField {
+		/**
+		 * Timestamp, argument {@code {0}}
+		 */
+		TIMESTAMP,
+		/**
+		 * Severity level, argument {@code {1}}
+		 */
+		SEVERITY,
+		/**
+		 * Formatted message, argument {@code {2}}
+		 */
+		MESSAGE,
+		/**
+		 * Source FQN, argument {@code {3}}
+		 */
+		SOURCE;
+
+		private static final LogField[] FIELDS = values();
+
+		/**
+		 * Obtain field for a given format element argument index.
+		 *
+		 * @param index
+		 *            format element argument index string
+		 * @return log field, or {@code null} if index is not a supported argument index
+		 */
+		static LogField forIndex(CharSequence index) {
+			if (index.length() != 1) {
+				return null;
+			}
+			int i = index.charAt(0) - '0';
+			return i >= 0 && i < FIELDS.length ? FIELDS[i] : null;
+		}
+	}
 }
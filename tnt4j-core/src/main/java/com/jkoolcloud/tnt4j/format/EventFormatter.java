@@ -15,6 +15,8 @@
  */
 package com.jkoolcloud.tnt4j.format;
 
+import java.io.IOException;
+
 import com.jkoolcloud.tnt4j.core.OpLevel;
 import com.jkoolcloud.tnt4j.core.Snapshot;
 import com.jkoolcloud.tnt4j.source.Source;
@@ -26,6 +28,12 @@ import com.jkoolcloud.tnt4j.tracker.TrackingEvent;
  * Classes that implement this interface provide implementation for the {@link EventFormatter} interface. This interface
  * allows formatting of any object, tracking objects as well as log messages to a string format.
  * </p>
+ * <p>
+ * Streaming {@code format(Appendable, ...)} methods write formatted output into a caller supplied {@link Appendable},
+ * e.g. reused {@link StringBuilder} or {@link Utf8BufferAppender} wrapping a {@link java.nio.ByteBuffer}. Default
+ * implementations append the string produced by the corresponding string formatting method, while formatters may
+ * override them to avoid intermediate strings.
+ * </p>
  *
  *
  * @version $Revision: 2 $
@@ -80,4 +88,73 @@ public interface EventFormatter extends Formatter {
 	 * @see OpLevel
 	 */
 	String format(long ttl, Source src, OpLevel level, String msg, Object... args);
+
+	/**
+	 * Format a given {@link TrackingEvent} into a given appendable
+	 *
+	 * @param out
+	 *            appendable to write formatted tracking event to
+	 * @param event
+	 *            tracking event instance to be formatted
+	 * @throws IOException
+	 *             if appendable write fails
+	 * @see #format(TrackingEvent)
+	 */
+	default void format(Appendable out, TrackingEvent event) throws IOException {
+		out.append(format(event));
+	}
+
+	/**
+	 * Format a given {@link TrackingActivity} into a given appendable
+	 *
+	 * @param out
+	 *            appendable to write formatted tracking activity to
+	 * @param activity
+	 *            tracking activity instance to be formatted
+	 * @throws IOException
+	 *             if appendable write fails
+	 * @see #format(TrackingActivity)
+	 */
+	default void format(Appendable out, TrackingActivity activity) throws IOException {
+		out.append(format(activity));
+	}
+
+	/**
+	 * Format a given {@link Snapshot} into a given appendable
+	 *
+	 * @param out
+	 *            appendable to write formatted snapshot to
+	 * @param snapshot
+	 *            snapshot object to be formatted
+	 * @throws IOException
+	 *             if appendable write fails
+	 * @see #format(Snapshot)
+	 */
+	default void format(Appendable out, Snapshot snapshot) throws IOException {
+		out.append(format(snapshot));
+	}
+
+	/**
+	 * Format a given message and severity level combo into a given appendable
+	 *
+	 * @param out
+	 *            appendable to write formatted message to
+	 * @param ttl
+	 *            time to live in seconds
+	 * @param src
+	 *            event source
+	 * @param level
+	 *            severity level
+	 * @param msg
+	 *            message to be formatted
+	 * @param args
+	 *            arguments associated with the object
+	 * @throws IOException
+	 *             if appendable write fails
+	 * @see #format(long, Source, OpLevel, String, Object...)
+	 */
+	default void format(Appendable out, long ttl, Source src, OpLevel level, String msg, Object... args)
+			throws IOException {
+		out.append(format(ttl, src, level, msg, args));
+	}
 }
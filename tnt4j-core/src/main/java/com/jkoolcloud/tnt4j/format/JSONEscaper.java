@@ -0,0 +1,136 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jkoolcloud.tnt4j.format;
+
+/**
+ * <p>
+ * JSON string escaper appending escaped characters straight into a provided {@link StringBuilder}. Produces the same
+ * output as {@code org.apache.commons.text.StringEscapeUtils#escapeJson(String)}: {@code "}, {@code \} and {@code /}
+ * are backslash escaped, {@code \b}, {@code \f}, {@code \n}, {@code \r}, {@code \t} use short escapes and all other
+ * characters outside {@code 0x20-0x7F} range are escaped as {@code \}{@code uXXXX}. Runs of characters not requiring
+ * escaping are copied in bulk, and no intermediate strings are created.
+ * </p>
+ *
+ * @version $Revision: 1 $
+ *
+ * @see JSONFormatter
+ */
+public final class JSONEscaper {
+	private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+	private static final String[] ASCII_ESCAPES = new String[128];
+
+	static {
+		for (char c = 0; c < 0x20; c++) {
+			ASCII_ESCAPES[c] = unicodeEscape(c);
+		}
+		ASCII_ESCAPES['"'] = "\\\"";
+		ASCII_ESCAPES['\\'] = "\\\\";
+		ASCII_ESCAPES['/'] = "\\/";
+		ASCII_ESCAPES['\b'] = "\\b";
+		ASCII_ESCAPES['\f'] = "\\f";
+		ASCII_ESCAPES['\n'] = "\\n";
+		ASCII_ESCAPES['\r'] = "\\r";
+		ASCII_ESCAPES['\t'] = "\\t";
+	}
+
+	private JSONEscaper() {
+	}
+
+	private static String unicodeEscape(char c) {
+		return appendUnicodeEscape(c, new StringBuilder(6)).toString();
+	}
+
+	private static StringBuilder appendUnicodeEscape(char c, StringBuilder sb) {
+		return sb.append('\\').append('u').append(HEX_DIGITS[(c >> 12) & 0xF]).append(HEX_DIGITS[(c >> 8) & 0xF])
+				.append(HEX_DIGITS[(c >> 4) & 0xF]).append(HEX_DIGITS[c & 0xF]);
+	}
+
+	/**
+	 * Checks if provided character has to be escaped in JSON string.
+	 *
+	 * @param c
+	 *            character to check
+	 * @return {@code true} if character has to be escaped, {@code false} - otherwise
+	 */
+	public static boolean isEscaped(char c) {
+		return c >= 128 || ASCII_ESCAPES[c] != null;
+	}
+
+	/**
+	 * Appends JSON escaped character sequence into provided string builder. {@code null} sequence is appended as
+	 * {@code "null"}.
+	 *
+	 * @param str
+	 *            character sequence to escape
+	 * @param sb
+	 *            string builder to append
+	 * @return appended string builder instance
+	 */
+	public static StringBuilder escape(CharSequence str, StringBuilder sb) {
+		if (str == null) {
+			return sb.append(str);
+		}
+		int len = str.length();
+		int runStart = 0;
+		for (int i = 0; i < len; i++) {
+			char c = str.charAt(i);
+			if (c < 128) {
+				String esc = ASCII_ESCAPES[c];
+				if (esc == null) {
+					continue;
+				}
+				sb.append(str, runStart, i).append(esc);
+			} else {
+				appendUnicodeEscape(c, sb.append(str, runStart, i));
+			}
+			runStart = i + 1;
+		}
+		return sb.append(str, runStart, len);
+	}
+
+	/**
+	 * Appends JSON escaped character sequence, surrounded with double quotes, into provided string builder.
+	 *
+	 * @param str
+	 *            character sequence to escape
+	 * @param sb
+	 *            string builder to append
+	 * @return appended string builder instance
+	 */
+	public static StringBuilder quote(CharSequence str, StringBuilder sb) {
+		return escape(str, sb.append('"')).append('"');
+	}
+
+	/**
+	 * Returns JSON escaped string. Provided string is returned as is if it has no characters requiring escaping.
+	 *
+	 * @param str
+	 *            string to escape
+	 * @return JSON escaped string
+	 */
+	public static String escape(String str) {
+		if (str == null) {
+			return null;
+		}
+		int len = str.length();
+		for (int i = 0; i < len; i++) {
+			if (isEscaped(str.charAt(i))) {
+				return escape(str, new StringBuilder(len + 16)).toString();
+			}
+		}
+		return str;
+	}
+}
@@ -15,12 +15,12 @@
  */
 package com.jkoolcloud.tnt4j.format;
 
+import java.io.IOException;
 import java.util.Collection;
 import java.util.Date;
 import java.util.Map;
 
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.text.StringEscapeUtils;
 
 import com.jkoolcloud.tnt4j.config.Configurable;
 import com.jkoolcloud.tnt4j.core.*;
@@ -53,6 +53,8 @@ public class JSONFormatter implements EventFormatter, Configurable, JSONLabels {
 	protected static final String EMPTY_STR = "";
 	protected static final String EMPTY_PROP = "{}";
 	private static final String DEF_OP_NAME = "log";
+	private static final int MAX_BUILDER_CAPACITY = 64 * 1024;
+	private static final ThreadLocal<StringBuilder> JSON_BUILDER = ThreadLocal.withInitial(() -> new StringBuilder(1024));
 
 	protected static final String START = "{";
 	protected static final String START_LINE = "{\n";
@@ -133,7 +135,11 @@ public class JSONFormatter implements EventFormatter, Configurable, JSONLabels {
 			return;
 		}
 
-		Utils.quote(escape ? StringEscapeUtils.escapeJson(value) : value, addJsonEntryLabel(jsonString, label));
+		if (escape) {
+			JSONEscaper.quote(value, addJsonEntryLabel(jsonString, label));
+		} else {
+			Utils.quote(value, addJsonEntryLabel(jsonString, label));
+		}
 	}
 
 	/**
@@ -197,7 +203,7 @@ public class JSONFormatter implements EventFormatter, Configurable, JSONLabels {
 		if (isNoNeedToQuote(value)) {
 			addJsonEntryLabel(jsonString, label).append(pValue);
 		} else {
-			Utils.quote(StringEscapeUtils.escapeJson(pValue), addJsonEntryLabel(jsonString, label));
+			JSONEscaper.quote(pValue, addJsonEntryLabel(jsonString, label));
 		}
 	}
 
@@ -261,8 +267,26 @@ public class JSONFormatter implements EventFormatter, Configurable, JSONLabels {
 	 */
 	@Override
 	public String format(TrackingEvent event) {
-		StringBuilder jsonString = new StringBuilder(1024);
+		return formatJson(new StringBuilder(1024), event).toString();
+	}
+
+	@Override
+	public void format(Appendable out, TrackingEvent event) throws IOException {
+		StringBuilder jsonString = getJsonBuilder(out);
+		appendJson(out, formatJson(jsonString, event));
+	}
 
+	/**
+	 * Format a given {@link TrackingEvent} into JSON format using provided JSON string builder.
+	 *
+	 * @param jsonString
+	 *            empty builder building JSON string
+	 * @param event
+	 *            tracking event instance to be formatted
+	 * @return JSON string builder instance
+	 * @see TrackingEvent
+	 */
+	protected StringBuilder formatJson(StringBuilder jsonString, TrackingEvent event) {
 		addJsonEntry(jsonString, JSON_GUID_LABEL, event.getGUID());
 		addJsonEntry(jsonString, JSON_TRACK_ID_LABEL, event.getTrackingId());
 		addJsonEntry(jsonString, JSON_TRACK_SIGN_LABEL, event.getSignature());
@@ -320,7 +344,7 @@ public class JSONFormatter implements EventFormatter, Configurable, JSONLabels {
 		addJsonEntry(jsonString, JSON_PROPERTIES_LABEL, event.getOperation().getProperties());
 		addJsonEntry(jsonString, JSON_SNAPSHOTS_LABEL, event.getOperation().getSnapshots());
 
-		return jsonString.append(END_JSON).toString();
+		return jsonString.append(END_JSON);
 	}
 
 	/**
@@ -332,8 +356,26 @@ public class JSONFormatter implements EventFormatter, Configurable, JSONLabels {
 	 */
 	@Override
 	public String format(TrackingActivity activity) {
-		StringBuilder jsonString = new StringBuilder(1024);
+		return formatJson(new StringBuilder(1024), activity).toString();
+	}
 
+	@Override
+	public void format(Appendable out, TrackingActivity activity) throws IOException {
+		StringBuilder jsonString = getJsonBuilder(out);
+		appendJson(out, formatJson(jsonString, activity));
+	}
+
+	/**
+	 * Format a given {@link TrackingActivity} into JSON format using provided JSON string builder.
+	 *
+	 * @param jsonString
+	 *            empty builder building JSON string
+	 * @param activity
+	 *            tracking activity instance to be formatted
+	 * @return JSON string builder instance
+	 * @see TrackingActivity
+	 */
+	protected StringBuilder formatJson(StringBuilder jsonString, TrackingActivity activity) {
 		addJsonEntry(jsonString, JSON_GUID_LABEL, activity.getGUID());
 		addJsonEntry(jsonString, JSON_TRACK_ID_LABEL, activity.getTrackingId());
 		addJsonEntry(jsonString, JSON_TRACK_SIGN_LABEL, activity.getSignature());
@@ -378,7 +420,7 @@ public class JSONFormatter implements EventFormatter, Configurable, JSONLabels {
 		addJsonEntry(jsonString, JSON_PROPERTIES_LABEL, activity.getProperties());
 		addJsonEntry(jsonString, JSON_SNAPSHOTS_LABEL, activity.getSnapshots());
 
-		return jsonString.append(END_JSON).toString();
+		return jsonString.append(END_JSON);
 	}
 
 	/**
@@ -390,8 +432,26 @@ public class JSONFormatter implements EventFormatter, Configurable, JSONLabels {
 	 */
 	@Override
 	public String format(Snapshot snap) {
-		StringBuilder jsonString = new StringBuilder(1024);
+		return formatJson(new StringBuilder(1024), snap).toString();
+	}
 
+	@Override
+	public void format(Appendable out, Snapshot snap) throws IOException {
+		StringBuilder jsonString = getJsonBuilder(out);
+		appendJson(out, formatJson(jsonString, snap));
+	}
+
+	/**
+	 * Format a given {@link Snapshot} into JSON format using provided JSON string builder.
+	 *
+	 * @param jsonString
+	 *            empty builder building JSON string
+	 * @param snap
+	 *            snapshot object to be formatted into JSON
+	 * @return JSON string builder instance
+	 * @see Snapshot
+	 */
+	protected StringBuilder formatJson(StringBuilder jsonString, Snapshot snap) {
 		addJsonEntry(jsonString, JSON_GUID_LABEL, snap.getGUID());
 		addJsonEntry(jsonString, JSON_TRACK_ID_LABEL, snap.getTrackingId());
 		addJsonEntry(jsonString, JSON_TRACK_SIGN_LABEL, snap.getSignature());
@@ -418,7 +478,7 @@ public class JSONFormatter implements EventFormatter, Configurable, JSONLabels {
 		addJsonEntry(jsonString, JSON_TYPE_NO_LABEL, snap.getType().ordinal());
 		addJsonEntry(jsonString, JSON_PROPERTIES_LABEL, snap.getProperties());
 
-		return jsonString.append(END_JSON).toString();
+		return jsonString.append(END_JSON);
 	}
 
 	/**
@@ -442,9 +502,10 @@ public class JSONFormatter implements EventFormatter, Configurable, JSONLabels {
 			return EMPTY_STR;
 		}
 
-		Object value = prop.getValue();
+		boolean primitive = isPlainPrimitive(prop);
+		Object value = primitive ? null : prop.getValue();
 
-		if (isSpecialSuppress(value)) {
+		if (!primitive && isSpecialSuppress(value)) {
 			return EMPTY_STR;
 		}
 
@@ -454,11 +515,63 @@ public class JSONFormatter implements EventFormatter, Configurable, JSONLabels {
 		if (prop.getValueType() != null && !prop.getValueType().equalsIgnoreCase(ValueTypes.VALUE_TYPE_NONE)) {
 			addJsonEntry(jsonString, JSON_VALUE_TYPE_LABEL, prop.getValueType());
 		}
-		addJsonEntry(jsonString, JSON_VALUE_LABEL, value);
+		if (primitive) {
+			appendPrimitiveValue(addJsonEntryLabel(jsonString, JSON_VALUE_LABEL), prop);
+		} else {
+			addJsonEntry(jsonString, JSON_VALUE_LABEL, value);
+		}
 
 		return jsonString.append(END_JSON).toString();
 	}
 
+	/**
+	 * Checks whether property value is held unboxed and can be written using
+	 * {@link #appendPrimitiveValue(StringBuilder, Property)}. Special numeric values ({@code 'Infinity'} or
+	 * {@code 'NaN'}) are not considered plain, so they are handled same way as boxed ones.
+	 *
+	 * @param prop
+	 *            property to check
+	 * @return {@code true} if property value is plain primitive, {@code false} - otherwise
+	 *
+	 * @see Property#isPrimitive()
+	 */
+	protected static boolean isPlainPrimitive(Property prop) {
+		switch (prop.getPrimitiveType()) {
+		case LONG:
+		case BOOLEAN:
+			return true;
+		case DOUBLE:
+			return Double.isFinite(prop.getDoubleValue());
+		default:
+			return false;
+		}
+	}
+
+	/**
+	 * Appends unboxed property value to provided JSON string builder. Produced string is same as
+	 * {@link #propValueToString(Object)} produces for boxed value.
+	 *
+	 * @param jsonString
+	 *            builder building JSON string
+	 * @param prop
+	 *            property having primitive value
+	 * @return JSON string builder instance
+	 *
+	 * @see #isPlainPrimitive(Property)
+	 */
+	protected static StringBuilder appendPrimitiveValue(StringBuilder jsonString, Property prop) {
+		switch (prop.getPrimitiveType()) {
+		case LONG:
+			return jsonString.append(prop.getLongValue());
+		case DOUBLE:
+			return jsonString.append(prop.getDoubleValue());
+		case BOOLEAN:
+			return jsonString.append(prop.getBooleanValue());
+		default:
+			return jsonString.append(propValueToString(prop.getValue()));
+		}
+	}
+
 	/**
 	 * Converts property value to string representation specific for JKool.
 	 * <ul>
@@ -537,8 +650,35 @@ public class JSONFormatter implements EventFormatter, Configurable, JSONLabels {
 
 	@Override
 	public String format(long ttl, Source source, OpLevel level, String msg, Object... args) {
-		StringBuilder jsonString = new StringBuilder(1024);
+		return formatJson(new StringBuilder(1024), ttl, source, level, msg, args).toString();
+	}
+
+	@Override
+	public void format(Appendable out, long ttl, Source source, OpLevel level, String msg, Object... args)
+			throws IOException {
+		StringBuilder jsonString = getJsonBuilder(out);
+		appendJson(out, formatJson(jsonString, ttl, source, level, msg, args));
+	}
 
+	/**
+	 * Format a given message and severity level combo into JSON format using provided JSON string builder.
+	 *
+	 * @param jsonString
+	 *            empty builder building JSON string
+	 * @param ttl
+	 *            time to live in seconds
+	 * @param source
+	 *            event source
+	 * @param level
+	 *            severity level
+	 * @param msg
+	 *            message to be formatted
+	 * @param args
+	 *            arguments associated with the object
+	 * @return JSON string builder instance
+	 */
+	protected StringBuilder formatJson(StringBuilder jsonString, long ttl, Source source, OpLevel level, String msg,
+			Object... args) {
 		addJsonEntry(jsonString, JSON_SEVERITY_LABEL, level);
 		addJsonEntry(jsonString, JSON_SEVERITY_NO_LABEL, level.ordinal());
 		addJsonEntry(jsonString, JSON_TYPE_LABEL, OpType.LOG);
@@ -572,7 +712,35 @@ public class JSONFormatter implements EventFormatter, Configurable, JSONLabels {
 			addJsonEntry(jsonString, JSON_EXCEPTION_LABEL, ex.toString(), true);
 		}
 
-		return jsonString.append(END_JSON).toString();
+		return jsonString.append(END_JSON);
+	}
+
+	/**
+	 * Obtains JSON string builder to format into, when streaming formatted output into provided {@code out}
+	 * appendable. Empty {@link StringBuilder} appendable is formatted into directly, otherwise thread local builder is
+	 * used.
+	 *
+	 * @param out
+	 *            appendable to write formatted output to
+	 * @return empty JSON string builder
+	 */
+	protected static StringBuilder getJsonBuilder(Appendable out) {
+		if (out instanceof StringBuilder && ((StringBuilder) out).length() == 0) {
+			return (StringBuilder) out;
+		}
+		StringBuilder jsonString = JSON_BUILDER.get();
+		if (jsonString.capacity() > MAX_BUILDER_CAPACITY) {
+			jsonString = new StringBuilder(1024);
+			JSON_BUILDER.set(jsonString);
+		}
+		jsonString.setLength(0);
+		return jsonString;
+	}
+
+	private static void appendJson(Appendable out, StringBuilder jsonString) throws IOException {
+		if (out != jsonString) {
+			out.append(jsonString);
+		}
 	}
 
 	/**
@@ -598,7 +766,7 @@ public class JSONFormatter implements EventFormatter, Configurable, JSONLabels {
 			} else if (item instanceof Property) {
 				itemJSON = format((Property) item);
 			} else {
-				itemJSON = Utils.quote(StringEscapeUtils.escapeJson(Utils.toString(item))); // escape double quote chars
+				itemJSON = Utils.quote(JSONEscaper.escape(Utils.toString(item))); // escape double quote chars
 			}
 
 			if (StringUtils.isNotEmpty(itemJSON)) {
@@ -609,7 +777,15 @@ public class JSONFormatter implements EventFormatter, Configurable, JSONLabels {
 		return jsonString.toString();
 	}
 
-	private static void addDelimiterOnDemand(StringBuilder json, String delimiter) {
+	/**
+	 * Appends delimiter to provided JSON string builder, unless builder is empty or already ends with delimiter.
+	 *
+	 * @param json
+	 *            builder building JSON string
+	 * @param delimiter
+	 *            delimiter to append
+	 */
+	protected static void addDelimiterOnDemand(StringBuilder json, String delimiter) {
 		if (StringUtils.isEmpty(json) || StringUtils.isEmpty(delimiter)) {
 			return;
 		}
@@ -19,8 +19,10 @@ package com.jkoolcloud.tnt4j.format;
 import java.util.*;
 
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.text.StringEscapeUtils;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.jkoolcloud.tnt4j.core.OpType;
 import com.jkoolcloud.tnt4j.core.Operation;
 import com.jkoolcloud.tnt4j.core.Property;
 import com.jkoolcloud.tnt4j.core.PropertySnapshot;
@@ -47,6 +49,10 @@ import com.jkoolcloud.tnt4j.utils.Utils;
  * <li>ValueReplacements - property value string replacement fragments having format: "original1"-&gt;"replacement1"
  * "original2"-&gt;"replacement2" ... "originalX"-&gt;"replacementX". Default value - {@code ""}.</li>
  * </ul>
+ * <p>
+ * Operation metadata is rendered as synthetic {@code "Self"} snapshot, written straight from operation fields using
+ * pre-sorted property layout, without adding snapshot to the operation. Replaced property keys are memoized in a
+ * bounded cache, sized by {@code tnt4j.formatter.json.key.cache.size} system property (default {@code 4096}).
  *
  * @version $Revision: 1 $
  *
@@ -56,8 +62,14 @@ import com.jkoolcloud.tnt4j.utils.Utils;
  * @see com.jkoolcloud.tnt4j.core.Property
  */
 public class LevelingJSONFormatter extends JSONFormatter {
+	private static final String SELF_SNAPSHOT_NAME = "Self";
+	private static final String SELF_SNAPSHOT_KEY = SELF_SNAPSHOT_NAME + "@" + PropertySnapshot.CATEGORY_DEFAULT;
+	private static final String[] EVENT_SELF_LAYOUT = selfLayout(JSON_MSG_TAG_FIELD);
+	private static final String[] ACTIVITY_SELF_LAYOUT = selfLayout(JSON_ID_COUNT_FIELD);
+	private static final int KEY_CACHE_SIZE = Integer.getInteger("tnt4j.formatter.json.key.cache.size", 4096);
 
 	private int level = 0;
+	private final Cache<String, String> keyStrCache = CacheBuilder.newBuilder().maximumSize(KEY_CACHE_SIZE).build();
 
 	private Comparator<Snapshot> snapshotComparator;
 	private Comparator<Property> propertyComparator;
@@ -83,13 +95,11 @@ public class LevelingJSONFormatter extends JSONFormatter {
 	}
 
 	@Override
-	public String format(TrackingEvent event) {
+	protected StringBuilder formatJson(StringBuilder jsonString, TrackingEvent event) {
 		if (level == 9) {
-			return super.format(event);
+			return super.formatJson(jsonString, event);
 		}
 
-		StringBuilder jsonString = new StringBuilder(1024);
-
 		addJsonEntry(jsonString, JSON_SOURCE_LABEL, event.getSource().getName(), true);
 		addJsonEntry(jsonString, JSON_SOURCE_SSN_LABEL, getSSN(event.getSource()), true);
 		addJsonEntry(jsonString, JSON_TYPE_LABEL, event.getOperation().getType());
@@ -106,30 +116,18 @@ public class LevelingJSONFormatter extends JSONFormatter {
 			addJsonEntry(jsonString, JSON_CORR_ID_LABEL, event.getCorrelator());
 		}
 
-		Snapshot selfSnapshot = getSelfSnapshot(event.getOperation());
-		if (event.getTag() != null) {
-			Set<String> tags = event.getTag();
-			if (!tags.isEmpty()) {
-				selfSnapshot.add(JSON_MSG_TAG_FIELD, tags);
-			}
-		}
-
-		event.getOperation().addSnapshot(selfSnapshot);
-
 		addJsonEntry(jsonString, JSON_PROPERTIES_LABEL, getProperties(event.getOperation()));
-		addJsonEntry(jsonString, JSON_SNAPSHOTS_LABEL, getSnapshots(event.getOperation()));
+		addSnapshotsEntry(jsonString, event.getOperation(), EVENT_SELF_LAYOUT, event.getTag());
 
-		return jsonString.append(END_JSON).toString();
+		return jsonString.append(END_JSON);
 	}
 
 	@Override
-	public String format(TrackingActivity activity) {
+	protected StringBuilder formatJson(StringBuilder jsonString, TrackingActivity activity) {
 		if (level == 9) {
-			return super.format(activity);
+			return super.formatJson(jsonString, activity);
 		}
 
-		StringBuilder jsonString = new StringBuilder(1024);
-
 		addJsonEntry(jsonString, JSON_SOURCE_LABEL, activity.getSource().getName(), true);
 		addJsonEntry(jsonString, JSON_SOURCE_SSN_LABEL, getSSN(activity.getSource()), true);
 		if (level > 0) {
@@ -142,48 +140,108 @@ public class LevelingJSONFormatter extends JSONFormatter {
 			addJsonEntry(jsonString, JSON_CORR_ID_LABEL, activity.getCorrelator());
 		}
 
-		Snapshot selfSnapshot = getSelfSnapshot(activity);
-		selfSnapshot.add(JSON_ID_COUNT_FIELD, activity.getIdCount());
-
-		activity.addSnapshot(selfSnapshot);
-
 		addJsonEntry(jsonString, JSON_PROPERTIES_LABEL, getProperties(activity));
-		addJsonEntry(jsonString, JSON_SNAPSHOTS_LABEL, getSnapshots(activity));
+		addSnapshotsEntry(jsonString, activity, ACTIVITY_SELF_LAYOUT, null);
 
-		return jsonString.append(END_JSON).toString();
+		return jsonString.append(END_JSON);
 	}
 
-	private Snapshot getSelfSnapshot(Operation op) {
-		Snapshot selfSnapshot = new PropertySnapshot("Self");
+	private static String[] selfLayout(String extraField) {
+		String[] layout = { JSON_CORR_ID_FIELD, JSON_USER_FIELD, JSON_LOCATION_FIELD, JSON_SEVERITY_FIELD,
+				JSON_PID_FIELD, JSON_TID_FIELD, JSON_SNAPSHOT_COUNT_FIELD, JSON_ELAPSED_TIME_USEC_FIELD, extraField };
+		Arrays.sort(layout);
+		return layout;
+	}
 
-		if (op.getCorrelator() != null) {
+	private static Object getSelfValue(Operation op, String field, Set<String> tags) {
+		switch (field) {
+		case JSON_CORR_ID_FIELD:
 			Set<String> cids = op.getCorrelator();
-			if (!cids.isEmpty()) {
-				selfSnapshot.add(JSON_CORR_ID_FIELD, cids);
+			return Utils.isEmpty(cids) ? null : cids;
+		case JSON_USER_FIELD:
+			return op.getUser();
+		case JSON_LOCATION_FIELD:
+			return op.getLocation();
+		case JSON_SEVERITY_FIELD:
+			return op.getSeverity();
+		case JSON_PID_FIELD:
+			return op.getPID();
+		case JSON_TID_FIELD:
+			return op.getTID();
+		case JSON_SNAPSHOT_COUNT_FIELD:
+			return op.getSnapshotCount();
+		case JSON_ELAPSED_TIME_USEC_FIELD:
+			return op.getElapsedTimeUsec();
+		case JSON_MSG_TAG_FIELD:
+			return Utils.isEmpty(tags) ? null : tags;
+		case JSON_ID_COUNT_FIELD:
+			return ((TrackingActivity) op).getIdCount();
+		default:
+			return null;
+		}
+	}
+
+	/**
+	 * Adds operation snapshots JSON entry, including synthetic {@code "Self"} snapshot built from operation fields,
+	 * sorted by snapshot name.
+	 *
+	 * @param jsonString
+	 *            builder building JSON string
+	 * @param op
+	 *            operation which snapshots to add
+	 * @param selfLayout
+	 *            sorted {@code "Self"} snapshot property names
+	 * @param tags
+	 *            event tags to add into {@code "Self"} snapshot, {@code null} if none
+	 */
+	private void addSnapshotsEntry(StringBuilder jsonString, Operation op, String[] selfLayout, Set<String> tags) {
+		String selfJson = formatSelfJson(new StringBuilder(256), op, selfLayout, tags).toString();
+		StringBuilder items = new StringBuilder(2048);
+		boolean selfAdded = false;
+		for (Snapshot snap : getSnapshots(op)) {
+			if (SELF_SNAPSHOT_KEY.equals(snap.getSnapKey())) {
+				continue;
+			}
+			if (!selfAdded && SELF_SNAPSHOT_NAME.compareTo(getSnapName(snap)) < 0) {
+				addItem(items, selfJson);
+				selfAdded = true;
 			}
+			addItem(items, format(snap));
 		}
-		if (op.getUser() != null) {
-			selfSnapshot.add(JSON_USER_FIELD, op.getUser());
+		if (!selfAdded) {
+			addItem(items, selfJson);
 		}
-		if (op.getLocation() != null) {
-			selfSnapshot.add(JSON_LOCATION_FIELD, op.getLocation());
+		addJsonEntryLabel(jsonString, JSON_SNAPSHOTS_LABEL).append(ARRAY_START_JSON).append(items).append(ARRAY_END);
+	}
+
+	private void addItem(StringBuilder items, CharSequence itemJSON) {
+		if (itemJSON.length() > 0) {
+			addDelimiterOnDemand(items, ATTR_JSON);
+			items.append(itemJSON);
 		}
-		selfSnapshot.add(JSON_SEVERITY_FIELD, op.getSeverity());
-		selfSnapshot.add(JSON_PID_FIELD, op.getPID());
-		selfSnapshot.add(JSON_TID_FIELD, op.getTID());
-		selfSnapshot.add(JSON_SNAPSHOT_COUNT_FIELD, op.getSnapshotCount());
-		selfSnapshot.add(JSON_ELAPSED_TIME_USEC_FIELD, op.getElapsedTimeUsec());
+	}
 
-		return selfSnapshot;
+	private StringBuilder formatSelfJson(StringBuilder jsonString, Operation op, String[] selfLayout,
+			Set<String> tags) {
+		addJsonEntry(jsonString, JSON_TYPE_LABEL, OpType.SNAPSHOT);
+		addJsonEntry(jsonString, JSON_NAME_LABEL, SELF_SNAPSHOT_NAME, true);
+		StringBuilder props = new StringBuilder(256);
+		for (String field : selfLayout) {
+			Object value = getSelfValue(op, field, tags);
+			if (value != null) {
+				addItem(props, formatProperty(new StringBuilder(64), field, value));
+			}
+		}
+		addJsonEntryLabel(jsonString, JSON_PROPERTIES_LABEL).append(START_JSON).append(props).append(END_JSON);
+		return jsonString.append(END_JSON);
 	}
 
 	@Override
-	public String format(Snapshot snapshot) {
+	protected StringBuilder formatJson(StringBuilder jsonString, Snapshot snapshot) {
 		if (level == 9) {
-			return super.format(snapshot);
+			return super.formatJson(jsonString, snapshot);
 		}
 
-		StringBuilder jsonString = new StringBuilder(1024);
 		Source source = snapshot.getSource();
 		if (source != null) {
 			addJsonEntry(jsonString, JSON_SOURCE_LABEL, source.getName(), true);
@@ -198,7 +256,7 @@ public class LevelingJSONFormatter extends JSONFormatter {
 					.append(itemsToJSON(getProperties(snapshot))).append(END_JSON);
 		}
 
-		return jsonString.append(END_JSON).toString();
+		return jsonString.append(END_JSON);
 	}
 
 	@Override
@@ -211,30 +269,45 @@ public class LevelingJSONFormatter extends JSONFormatter {
 			return EMPTY_STR;
 		}
 
-		Object value = prop.getValue();
+		if (isPlainPrimitive(prop)) {
+			StringBuilder jsonString = new StringBuilder(64);
+			JSONEscaper.quote(getKeyStr(prop.getKey()), jsonString).append(ATTR_SEP);
+			return appendPrimitiveValue(jsonString, prop).toString();
+		}
 
+		return formatProperty(new StringBuilder(256), prop.getKey(), prop.getValue()).toString();
+	}
+
+	private StringBuilder formatProperty(StringBuilder jsonString, String key, Object value) {
 		if (isSpecialSuppress(value)) {
-			return EMPTY_STR;
+			return jsonString;
 		}
-
-		StringBuilder jsonString = new StringBuilder(256);
-		jsonString.append(Utils.quote(StringEscapeUtils.escapeJson(getKeyStr(prop.getKey())))).append(ATTR_SEP);
+		JSONEscaper.quote(getKeyStr(key), jsonString).append(ATTR_SEP);
 
 		if (isNoNeedToQuote(value)) {
 			jsonString.append(propValueToString(value));
 		} else {
-			Utils.quote(StringEscapeUtils.escapeJson(propValueToString(value)), jsonString);
+			JSONEscaper.quote(propValueToString(value), jsonString);
 		}
 
-		return jsonString.toString();
+		return jsonString;
 	}
 
 	protected String getKeyStr(String key) {
-		return Utils.replace(key, keyReplacements);
+		if (keyReplacements.isEmpty() || key == null) {
+			return key;
+		}
+		String keyStr = keyStrCache.getIfPresent(key);
+		if (keyStr == null) {
+			keyStr = Utils.replace(key, keyReplacements);
+			keyStrCache.put(key, keyStr);
+		}
+		return keyStr;
 	}
 
 	protected String getValueStr(Object value) {
-		return Utils.replace(Utils.toString(value), valueReplacements);
+		String valueStr = Utils.toString(value);
+		return valueReplacements.isEmpty() ? valueStr : Utils.replace(valueStr, valueReplacements);
 	}
 
 	protected String getSnapName(Snapshot snapshot) {
@@ -280,9 +353,11 @@ public class LevelingJSONFormatter extends JSONFormatter {
 		if (col instanceof List<?>) {
 			cList = (List<T>) col;
 		} else {
-			cList = Collections.list(Collections.enumeration(col));
+			cList = new ArrayList<>(col);
+		}
+		if (cList.size() > 1) {
+			cList.sort(comp);
 		}
-		cList.sort(comp);
 
 		return cList;
 	}
@@ -305,6 +380,7 @@ public class LevelingJSONFormatter extends JSONFormatter {
 		super.setConfiguration(settings);
 
 		level = Utils.getInt("Level", settings, level);
+		keyStrCache.invalidateAll();
 
 		String pValue = Utils.getString("KeyReplacements", settings, "");
 		if (StringUtils.isEmpty(pValue)) {
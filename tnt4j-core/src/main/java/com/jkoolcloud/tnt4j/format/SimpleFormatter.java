@@ -22,10 +22,10 @@ import java.util.TimeZone;
 import com.jkoolcloud.tnt4j.core.OpLevel;
 import com.jkoolcloud.tnt4j.core.Property;
 import com.jkoolcloud.tnt4j.core.Snapshot;
-import com.jkoolcloud.tnt4j.core.UsecTimestamp;
 import com.jkoolcloud.tnt4j.source.Source;
 import com.jkoolcloud.tnt4j.tracker.TrackingActivity;
 import com.jkoolcloud.tnt4j.tracker.TrackingEvent;
+import com.jkoolcloud.tnt4j.utils.Useconds;
 import com.jkoolcloud.tnt4j.utils.Utils;
 
 /**
@@ -159,7 +159,7 @@ public class SimpleFormatter extends DefaultFormatter {
 	public String format(TrackingActivity activity) {
 		StringBuilder msg = new StringBuilder(1024);
 		msg.append("{status: '").append(activity.getStatus()).append("'").append(separator);
-		msg.append("time: '").append(UsecTimestamp.getTimeStamp(timeZone)).append("'").append(separator);
+		appendTimeStamp(msg.append("time: '"), Useconds.CURRENT.get()).append("'").append(separator);
 		msg.append("sev: '").append(activity.getSeverity()).append("'").append(separator);
 		msg.append("type: '").append(activity.getType()).append("'").append(separator);
 
@@ -237,13 +237,14 @@ public class SimpleFormatter extends DefaultFormatter {
 	}
 
 	@Override
-	public String format(long ttl, Source src, OpLevel level, String msg, Object... args) {
-		String formatted = super.format(ttl, src, level, msg, args);
+	protected StringBuilder formatLog(StringBuilder out, long ttl, Source src, OpLevel level, String msg,
+			Object... args) {
+		super.formatLog(out, ttl, src, level, msg, args);
 		Throwable error = Utils.getThrowable(args);
 		if (error != null) {
-			formatted += "\nThrowable {\n" + Utils.printThrowable(error) + "}";
+			out.append("\nThrowable {\n").append(Utils.printThrowable(error)).append("}");
 		}
-		return formatted;
+		return out;
 	}
 
 	protected StringBuilder format(StringBuilder msg, Snapshot snap) {
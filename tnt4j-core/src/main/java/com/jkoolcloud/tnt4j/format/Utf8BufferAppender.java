@@ -0,0 +1,155 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jkoolcloud.tnt4j.format;
+
+import java.nio.ByteBuffer;
+
+/**
+ * <p>
+ * {@link Appendable} implementation encoding appended characters as UTF-8 bytes straight into a {@link ByteBuffer}, so
+ * that {@link EventFormatter} output can be produced in binary form without intermediate strings. Buffer is grown
+ * (reallocated) when there is not enough space left, so {@link #getBuffer()} shall be used to obtain resulting buffer.
+ * Unpaired surrogate characters are encoded as {@code '?'}.
+ * </p>
+ *
+ * @version $Revision: 1 $
+ *
+ * @see EventFormatter#format(Appendable, com.jkoolcloud.tnt4j.tracker.TrackingEvent)
+ */
+public class Utf8BufferAppender implements Appendable {
+	private ByteBuffer buffer;
+	private char highSurrogate;
+
+	/**
+	 * Create appender writing into a given byte buffer, starting at buffer position.
+	 *
+	 * @param buffer
+	 *            byte buffer to write into
+	 */
+	public Utf8BufferAppender(ByteBuffer buffer) {
+		this.buffer = buffer;
+	}
+
+	/**
+	 * Create appender writing into a new heap byte buffer of a given capacity.
+	 *
+	 * @param capacity
+	 *            initial buffer capacity in bytes
+	 */
+	public Utf8BufferAppender(int capacity) {
+		this(ByteBuffer.allocate(capacity));
+	}
+
+	/**
+	 * Obtain byte buffer containing encoded characters. Returned buffer differs from the one given on construction if
+	 * buffer had to be grown.
+	 *
+	 * @return byte buffer containing encoded characters, positioned after last encoded byte
+	 */
+	public ByteBuffer getBuffer() {
+		return buffer;
+	}
+
+	/**
+	 * Obtain number of bytes encoded in the buffer.
+	 *
+	 * @return number of bytes in the buffer
+	 */
+	public int size() {
+		return buffer.position();
+	}
+
+	/**
+	 * Clears the buffer to be reused for a new output.
+	 *
+	 * @return instance of this appender
+	 */
+	public Utf8BufferAppender reset() {
+		buffer.clear();
+		highSurrogate = 0;
+		return this;
+	}
+
+	@Override
+	public Utf8BufferAppender append(CharSequence csq) {
+		return csq == null ? append("null", 0, 4) : append(csq, 0, csq.length());
+	}
+
+	@Override
+	public Utf8BufferAppender append(CharSequence csq, int start, int end) {
+		if (csq == null) {
+			return append("null", start, end);
+		}
+		ensureCapacity((end - start) * 3 + 1);
+		for (int i = start; i < end; i++) {
+			char c = csq.charAt(i);
+			if (c < 0x80 && highSurrogate == 0) {
+				buffer.put((byte) c);
+			} else {
+				encode(c);
+			}
+		}
+		return this;
+	}
+
+	@Override
+	public Utf8BufferAppender append(char c) {
+		ensureCapacity(4);
+		encode(c);
+		return this;
+	}
+
+	private void encode(char c) {
+		if (highSurrogate != 0) {
+			char high = highSurrogate;
+			highSurrogate = 0;
+			if (Character.isLowSurrogate(c)) {
+				int cp = Character.toCodePoint(high, c);
+				buffer.put((byte) (0xF0 | (cp >> 18)));
+				buffer.put((byte) (0x80 | ((cp >> 12) & 0x3F)));
+				buffer.put((byte) (0x80 | ((cp >> 6) & 0x3F)));
+				buffer.put((byte) (0x80 | (cp & 0x3F)));
+				return;
+			}
+			buffer.put((byte) '?');
+		}
+		if (c < 0x80) {
+			buffer.put((byte) c);
+		} else if (c < 0x800) {
+			buffer.put((byte) (0xC0 | (c >> 6)));
+			buffer.put((byte) (0x80 | (c & 0x3F)));
+		} else if (Character.isHighSurrogate(c)) {
+			highSurrogate = c;
+		} else if (Character.isLowSurrogate(c)) {
+			buffer.put((byte) '?');
+		} else {
+			buffer.put((byte) (0xE0 | (c >> 12)));
+			buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+			buffer.put((byte) (0x80 | (c & 0x3F)));
+		}
+	}
+
+	private void ensureCapacity(int bytes) {
+		if (buffer.remaining() >= bytes) {
+			return;
+		}
+		int capacity = Math.max(buffer.capacity() * 2, buffer.position() + bytes);
+		ByteBuffer grown = buffer.isDirect() ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+		buffer.flip();
+		grown.put(buffer);
+		buffer = grown;
+	}
+}
@@ -16,8 +16,8 @@
 package com.jkoolcloud.tnt4j.selector;
 
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import com.jkoolcloud.tnt4j.config.ConfigException;
@@ -36,6 +36,9 @@ import com.jkoolcloud.tnt4j.utils.Utils;
  * 
  * {@code key=SEV:value-regexp} Example (trace all severities, all orders):
  * {@code OrderApp.purchasing.order.id=DEBUG:.*}
+ * <p>
+ * Tokens are held in an immutable open addressing table, which is rebuilt aside and published atomically on every
+ * change, so {@link #isSet(OpLevel, Object, Object)} never blocks and never observes partially reloaded tokens.
  * 
  * @see OpLevel
  * 
@@ -47,7 +50,8 @@ public class DefaultTrackingSelector implements TrackingSelector, Configurable {
 	private static final boolean DEFAULT_RETURN_UNDEFINED = Utils.getBoolean("tnt4j.selector.undefined.isset",
 			System.getProperties(), true);
 
-	private final HashMap<Object, PropertyToken> tokenMap = new HashMap<>(89);
+	private final Object updateLock = new Object();
+	private volatile TokenTable tokenTable = TokenTable.EMPTY;
 	private Map<String, ?> config = null;
 	private TokenRepository tokenRepository = null;
 	private final PropertyListenerImpl listener;
@@ -103,21 +107,43 @@ public class DefaultTrackingSelector implements TrackingSelector, Configurable {
 	}
 
 	protected void reloadConfig() {
-		clear();
-		if (isOpen()) {
-			Iterator<? extends Object> keys = tokenRepository.getKeys();
-			if (keys == null) {
-				return;
+		synchronized (updateLock) {
+			Map<Object, PropertyToken> tokens = new LinkedHashMap<>();
+			if (isOpen()) {
+				Iterator<? extends Object> keys = tokenRepository.getKeys();
+				while (keys != null && keys.hasNext()) {
+					String key = String.valueOf(keys.next());
+					PropertyToken token = createToken(key, tokenRepository.get(key).toString());
+					if (token != null) {
+						tokens.put(key, token);
+					}
+				}
 			}
+			tokenTable = new TokenTable(tokens);
+		}
+	}
 
-			while (keys.hasNext()) {
-				String key = String.valueOf(keys.next());
-				putKey(key, tokenRepository.get(key).toString());
+	protected void putKey(Object key, Object val) {
+		PropertyToken token = createToken(key, val);
+		if (token != null) {
+			synchronized (updateLock) {
+				Map<Object, PropertyToken> tokens = tokenTable.toMap();
+				tokens.put(key, token);
+				tokenTable = new TokenTable(tokens);
 			}
 		}
 	}
 
-	protected void putKey(Object key, Object val) {
+	/**
+	 * Parses token value {@code sev:value-regexp} into a property token.
+	 *
+	 * @param key
+	 *            token key
+	 * @param val
+	 *            token value
+	 * @return property token, or {@code null} if value defines no token or is invalid
+	 */
+	protected PropertyToken createToken(Object key, Object val) {
 		String value = String.valueOf(val);
 		int index = value.indexOf(":");
 		try {
@@ -138,11 +164,12 @@ public class DefaultTrackingSelector implements TrackingSelector, Configurable {
 			}
 			if (propertyToken != null) {
 				logger.log(OpLevel.DEBUG, "putKey: repository={0}, token={1}", tokenRepository, propertyToken);
-				tokenMap.put(key, propertyToken);
 			}
+			return propertyToken;
 		} catch (Throwable ex) {
 			logger.log(OpLevel.ERROR, "Failed to process key={0}, value={1}, repository={2}", key, value,
 					tokenRepository, ex);
+			return null;
 		}
 	}
 
@@ -156,18 +183,24 @@ public class DefaultTrackingSelector implements TrackingSelector, Configurable {
 		if (!isDefined()) {
 			return DEFAULT_RETURN_UNDEFINED;
 		}
-		PropertyToken token = tokenMap.get(key);
+		PropertyToken token = tokenTable.get(key);
 		return token != null && token.isMatch(sev, key, value);
 	}
 
 	@Override
 	public void remove(Object key) {
-		tokenMap.remove(key);
+		synchronized (updateLock) {
+			if (tokenTable.get(key) != null) {
+				Map<Object, PropertyToken> tokens = tokenTable.toMap();
+				tokens.remove(key);
+				tokenTable = new TokenTable(tokens);
+			}
+		}
 	}
 
 	@Override
 	public Object get(Object key) {
-		PropertyToken token = tokenMap.get(key);
+		PropertyToken token = tokenTable.get(key);
 		return token != null ? token.getValue() : null;
 	}
 
@@ -192,7 +225,9 @@ public class DefaultTrackingSelector implements TrackingSelector, Configurable {
 	}
 
 	protected void clear() {
-		tokenMap.clear();
+		synchronized (updateLock) {
+			tokenTable = TokenTable.EMPTY;
+		}
 	}
 
 	@Override
@@ -223,4 +258,62 @@ public class DefaultTrackingSelector implements TrackingSelector, Configurable {
 	public boolean isDefined() {
 		return tokenRepository != null && tokenRepository.isDefined();
 	}
+
+	/**
+	 * Immutable open addressing (linear probing) table of property tokens. Table capacity is kept at least twice the
+	 * number of tokens, so probe sequences stay short.
+	 */
+	private static final class TokenTable {
+		static final TokenTable EMPTY = new TokenTable(new LinkedHashMap<>(0));
+
+		private final Object[] keys;
+		private final PropertyToken[] tokens;
+		private final Map<Object, PropertyToken> entries;
+		private final PropertyToken nullKeyToken;
+		private final int mask;
+
+		TokenTable(Map<Object, PropertyToken> entries) {
+			int capacity = Integer.highestOneBit(Math.max(2, entries.size()) * 2 - 1) << 1;
+			this.keys = new Object[capacity];
+			this.tokens = new PropertyToken[capacity];
+			this.mask = capacity - 1;
+			this.entries = entries;
+			this.nullKeyToken = entries.get(null);
+			for (Map.Entry<Object, PropertyToken> entry : entries.entrySet()) {
+				if (entry.getKey() == null) {
+					continue;
+				}
+				int idx = indexFor(entry.getKey());
+				while (keys[idx] != null) {
+					idx = (idx + 1) & mask;
+				}
+				keys[idx] = entry.getKey();
+				tokens[idx] = entry.getValue();
+			}
+		}
+
+		private int indexFor(Object key) {
+			int h = key.hashCode();
+			return (h ^ (h >>> 16)) & mask;
+		}
+
+		PropertyToken get(Object key) {
+			if (key == null) {
+				return nullKeyToken;
+			}
+			for (int idx = indexFor(key);; idx = (idx + 1) & mask) {
+				Object k = keys[idx];
+				if (k == null) {
+					return null;
+				}
+				if (k == key || k.equals(key)) {
+					return tokens[idx];
+				}
+			}
+		}
+
+		Map<Object, PropertyToken> toMap() {
+			return new LinkedHashMap<>(entries);
+		}
+	}
 }
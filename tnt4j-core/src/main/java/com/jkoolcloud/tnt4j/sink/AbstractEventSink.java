@@ -44,6 +44,9 @@ import com.jkoolcloud.tnt4j.utils.Utils;
  * @see SinkLogEventListener
  */
 public abstract class AbstractEventSink extends TagsSet implements EventSink, EventSinkStats {
+	private static final int MAX_LINE_CAPACITY = 64 * 1024;
+	private static final ThreadLocal<StringBuilder> LINE_BUILDER = ThreadLocal.withInitial(() -> new StringBuilder(1024));
+
 	protected final ArrayList<SinkErrorListener> errorListeners = new ArrayList<>(10);
 	protected final ArrayList<SinkLogEventListener> logListeners = new ArrayList<>(10);
 	protected final ArrayList<SinkEventFilter> filters = new ArrayList<>(10);
@@ -507,6 +510,20 @@ public abstract class AbstractEventSink extends TagsSet implements EventSink, Ev
 		}
 	}
 
+	@Override
+	public void log(Collection<SinkLogEvent> events) {
+		_checkState();
+		try {
+			_log(events);
+		} catch (SinkBatchException ex) {
+			setErrorState(ex.getCause());
+			throw ex;
+		} catch (IOException ex) {
+			setErrorState(ex);
+			throw new SinkBatchException("Failed to commit event batch: sink=" + this, 0, ex);
+		}
+	}
+
 	@Override
 	public void log(OpLevel sev, String msg, Object... args) {
 		log(source, sev, msg, args);
@@ -607,6 +624,49 @@ public abstract class AbstractEventSink extends TagsSet implements EventSink, Ev
 		return (ttl != TTL.TTL_CONTEXT) ? ttl : TTL.TTL_DEFAULT;
 	}
 
+	/**
+	 * Obtain empty thread local string builder to format sink output line into using streaming
+	 * {@link EventFormatter} methods. Builder content is valid until next call of this method on the same thread, so
+	 * it must be written out before logging to other sinks.
+	 *
+	 * @return empty thread local string builder
+	 */
+	protected static StringBuilder lineBuilder() {
+		StringBuilder line = LINE_BUILDER.get();
+		if (line.capacity() > MAX_LINE_CAPACITY) {
+			line = new StringBuilder(1024);
+			LINE_BUILDER.set(line);
+		}
+		line.setLength(0);
+		return line;
+	}
+
+	/**
+	 * Write a single sink log event into a given sink, using sink log method matching the type of logged object.
+	 *
+	 * @param sink
+	 *            event sink to write event into
+	 * @param event
+	 *            sink log event to write
+	 */
+	public static void logEvent(EventSink sink, SinkLogEvent event) {
+		Object sinkObject = event.getSinkObject();
+
+		if (sinkObject instanceof TrackingEvent) {
+			sink.log((TrackingEvent) sinkObject);
+		} else if (sinkObject instanceof TrackingActivity) {
+			sink.log((TrackingActivity) sinkObject);
+		} else if (sinkObject instanceof Snapshot) {
+			sink.log((Snapshot) sinkObject);
+		} else if (event.getEventSource() != null) {
+			sink.log(event.getTTL(), event.getEventSource(), event.getSeverity(), event.getResourceBundle(),
+					String.valueOf(sinkObject), event.getArguments());
+		} else {
+			sink.log(event.getTTL(), sink.getSource(), event.getSeverity(), event.getResourceBundle(),
+					String.valueOf(sinkObject), event.getArguments());
+		}
+	}
+
 	/**
 	 * Check state of the sink before logging occurs.
 	 *
@@ -718,6 +778,34 @@ public abstract class AbstractEventSink extends TagsSet implements EventSink, Ev
 	 */
 	protected abstract void _log(Snapshot snapshot) throws IOException;
 
+	/**
+	 * Override this method to write a batch of events at once. Default implementation logs every event in the batch
+	 * one by one.
+	 * <p>
+	 * Implementations failing in the middle of the batch should throw {@link SinkBatchException} reporting number of
+	 * events already handed to the sink. {@link IOException} is treated as failure to commit the batch (e.g. while
+	 * flushing), so none of batch events are treated as logged and whole batch is logged again.
+	 *
+	 * @param events
+	 *            collection of sink log events to be sent to the sink
+	 * @throws IOException
+	 *             if error completing event batch
+	 * @throws SinkBatchException
+	 *             if error logging event batch
+	 * @see SinkLogEvent
+	 */
+	protected void _log(Collection<SinkLogEvent> events) throws IOException {
+		int logged = 0;
+		try {
+			for (SinkLogEvent event : events) {
+				logEvent(this, event);
+				logged++;
+			}
+		} catch (RuntimeException ex) {
+			throw new SinkBatchException("Failed to write event batch: sink=" + this, logged, ex);
+		}
+	}
+
 	/**
 	 * Override this method to add actual implementation for all subclasses.
 	 *
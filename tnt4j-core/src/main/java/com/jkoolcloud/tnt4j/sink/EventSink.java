@@ -15,6 +15,7 @@
  */
 package com.jkoolcloud.tnt4j.sink;
 
+import java.util.Collection;
 import java.util.ResourceBundle;
 
 import com.jkoolcloud.tnt4j.core.*;
@@ -321,6 +322,32 @@ public interface EventSink extends Sink, TTL, KeyValueStats, Tagged {
 	 */
 	void log(TrackingEvent event);
 
+	/**
+	 * Log a batch of sink log events. Implementations may amortize sink writes and flushes across all events in the
+	 * batch. All events in the batch are expected to target this sink.
+	 * <p>
+	 * Default implementation logs each event in turn using {@link AbstractEventSink#logEvent(EventSink, SinkLogEvent)}.
+	 *
+	 * @param events
+	 *            collection of sink log events to log
+	 * @throws SinkBatchException
+	 *             if error logging event batch, reporting number of events already logged
+	 * @see SinkLogEvent
+	 */
+	default void log(Collection<SinkLogEvent> events) {
+		int logged = 0;
+		try {
+			for (SinkLogEvent event : events) {
+				AbstractEventSink.logEvent(this, event);
+				logged++;
+			}
+		} catch (SinkBatchException ex) {
+			throw ex;
+		} catch (RuntimeException ex) {
+			throw new SinkBatchException("Failed to write event batch: sink=" + this, logged, ex);
+		}
+	}
+
 	/**
 	 * This method allows writing of {@link TrackingActivity} objects to the underlying destination.
 	 *
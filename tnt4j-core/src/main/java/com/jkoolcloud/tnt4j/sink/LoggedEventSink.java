@@ -104,7 +104,9 @@ public abstract class LoggedEventSink extends AbstractEventSink {
 
 	@Override
 	protected void _log(TrackingEvent event) throws IOException {
-		writeLine(getEventFormatter().format(event));
+		StringBuilder line = lineBuilder();
+		getEventFormatter().format(line, event);
+		writeLine(line);
 		if (canForward(event.getSeverity())) {
 			logSink.log(event);
 		}
@@ -112,7 +114,9 @@ public abstract class LoggedEventSink extends AbstractEventSink {
 
 	@Override
 	protected void _log(TrackingActivity activity) throws IOException {
-		writeLine(getEventFormatter().format(activity));
+		StringBuilder line = lineBuilder();
+		getEventFormatter().format(line, activity);
+		writeLine(line);
 		if (canForward(activity.getSeverity())) {
 			logSink.log(activity);
 		}
@@ -120,7 +124,9 @@ public abstract class LoggedEventSink extends AbstractEventSink {
 
 	@Override
 	protected void _log(long ttl, Source src, OpLevel sev, String msg, Object... args) throws IOException {
-		writeLine(getEventFormatter().format(ttl, src, sev, msg, args));
+		StringBuilder line = lineBuilder();
+		getEventFormatter().format(line, ttl, src, sev, msg, args);
+		writeLine(line);
 		if (canForward(sev)) {
 			logSink.log(ttl, src, sev, msg, args);
 		}
@@ -128,7 +134,9 @@ public abstract class LoggedEventSink extends AbstractEventSink {
 
 	@Override
 	protected void _log(Snapshot snapshot) throws IOException {
-		writeLine(getEventFormatter().format(snapshot));
+		StringBuilder line = lineBuilder();
+		getEventFormatter().format(line, snapshot);
+		writeLine(line);
 		if (canForward(snapshot.getSeverity())) {
 			logSink.log(snapshot);
 		}
@@ -162,6 +170,19 @@ public abstract class LoggedEventSink extends AbstractEventSink {
 	 */
 	protected abstract void writeLine(String msg) throws IOException;
 
+	/**
+	 * Writes message character sequence to sink. Default implementation writes sequence as string using
+	 * {@link #writeLine(String)}.
+	 * 
+	 * @param msg
+	 *            message character sequence to write
+	 * @throws IOException
+	 *             if error occurs while writing message to sink
+	 */
+	protected void writeLine(CharSequence msg) throws IOException {
+		writeLine(msg.toString());
+	}
+
 	@Override
 	public String toString() {
 		return super.toString() //
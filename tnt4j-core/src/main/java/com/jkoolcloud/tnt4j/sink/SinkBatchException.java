@@ -0,0 +1,57 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jkoolcloud.tnt4j.sink;
+
+/**
+ * <p>
+ * This class represents an exception that occurs when a batch of events is written to an event sink. It reports number
+ * of leading batch events which have already been handed to the sink, so callers retry only the remaining ones.
+ * </p>
+ *
+ * @see EventSink#log(java.util.Collection)
+ *
+ * @version $Revision: 1 $
+ */
+public class SinkBatchException extends IllegalStateException {
+	private static final long serialVersionUID = -4617021738195402671L;
+
+	private final int loggedCount;
+
+	/**
+	 * Create a batch exception with a given message, number of logged events and cause.
+	 *
+	 * @param msg
+	 *            error message
+	 * @param loggedCount
+	 *            number of leading batch events handed to the sink
+	 * @param cause
+	 *            exception cause
+	 */
+	public SinkBatchException(String msg, int loggedCount, Throwable cause) {
+		super(msg, cause);
+		this.loggedCount = loggedCount;
+	}
+
+	/**
+	 * Return number of leading batch events handed to the sink before failure occurred. Events following them were not
+	 * logged.
+	 *
+	 * @return number of logged batch events
+	 */
+	public int getLoggedCount() {
+		return loggedCount;
+	}
+}
@@ -16,6 +16,7 @@
 package com.jkoolcloud.tnt4j.sink;
 
 import java.util.EventObject;
+import java.util.Map;
 import java.util.ResourceBundle;
 
 import com.jkoolcloud.tnt4j.core.OpLevel;
@@ -24,12 +25,18 @@ import com.jkoolcloud.tnt4j.core.TTL;
 import com.jkoolcloud.tnt4j.source.Source;
 import com.jkoolcloud.tnt4j.tracker.TrackingActivity;
 import com.jkoolcloud.tnt4j.tracker.TrackingEvent;
+import com.jkoolcloud.tnt4j.utils.RecyclingPool;
 import com.jkoolcloud.tnt4j.utils.Utils;
 
 /**
  * <p>
  * An event class for reporting logging activities generated by an {@link EventSink} instance.
  * </p>
+ * <p>
+ * Events created using {@code obtain()} methods are taken from a shared {@link RecyclingPool} (capacity defined by
+ * {@code tnt4j.sink.log.event.pool.size} system property, default {@code 4096}) and must be returned back using
+ * {@link #recycle(SinkLogEvent)} once processing completes. Recycled event must not be referenced afterwards.
+ * </p>
  * 
  * @see EventSink
  * @see TrackingEvent
@@ -49,6 +56,10 @@ public class SinkLogEvent extends EventObject implements TTL {
 	public static final int SIGNAL_SHUTDOWN = 10;
 	public static final int SIGNAL_TERMINATE = 11;
 
+	private static final Object RECYCLED = new Object();
+	private static final RecyclingPool<SinkLogEvent> POOL = new RecyclingPool<>("SinkLogEvent",
+			Integer.getInteger("tnt4j.sink.log.event.pool.size", 4096), SinkLogEvent::reset);
+
 	private Object logObj = null;
 	private Throwable error = null;
 	private ResourceBundle bundle;
@@ -57,8 +68,13 @@ public class SinkLogEvent extends EventObject implements TTL {
 	private Object[] argList = null;
 	private int signalType = SIGNAL_PROCESS;
 	private long ttl;
-	private final long startTimeNanos = System.nanoTime();
+	private long startTimeNanos = System.nanoTime();
 	private long stopTimeNanos = 0;
+	private boolean recyclable = false;
+
+	private SinkLogEvent() {
+		super(RECYCLED);
+	}
 
 	/**
 	 * Create a new log event instance designed as a signal
@@ -98,12 +114,7 @@ public class SinkLogEvent extends EventObject implements TTL {
 	 */
 	public SinkLogEvent(EventSink sink, TrackingEvent msg) {
 		super(sink);
-		logObj = msg;
-		error = msg.getOperation().getThrowable();
-		level = msg.getSeverity();
-		evSrc = msg.getSource();
-		argList = msg.getMessageArgs();
-		ttl = msg.getTTL();
+		init(msg);
 	}
 
 	/**
@@ -116,10 +127,7 @@ public class SinkLogEvent extends EventObject implements TTL {
 	 */
 	public SinkLogEvent(EventSink sink, TrackingActivity msg) {
 		super(sink);
-		logObj = msg;
-		error = msg.getThrowable();
-		evSrc = msg.getSource();
-		ttl = msg.getTTL();
+		init(msg);
 	}
 
 	/**
@@ -132,10 +140,7 @@ public class SinkLogEvent extends EventObject implements TTL {
 	 */
 	public SinkLogEvent(EventSink sink, Snapshot snap) {
 		super(sink);
-		logObj = snap;
-		level = snap.getSeverity();
-		evSrc = snap.getSource();
-		ttl = snap.getTTL();
+		init(snap);
 	}
 
 	/**
@@ -179,6 +184,137 @@ public class SinkLogEvent extends EventObject implements TTL {
 	public SinkLogEvent(EventSink sink, Source evSource, OpLevel sev, long ttl, ResourceBundle bundle, Object key,
 			Object... args) {
 		super(sink);
+		init(evSource, sev, ttl, bundle, key, args);
+	}
+
+	/**
+	 * Obtain a pooled log event instance for a given tracking event.
+	 *
+	 * @param sink
+	 *            sink associated with the event
+	 * @param msg
+	 *            tracking event instance
+	 * @return pooled log event instance
+	 * @see #recycle(SinkLogEvent)
+	 */
+	public static SinkLogEvent obtain(EventSink sink, TrackingEvent msg) {
+		return POOL.acquire(SinkLogEvent::new).pooled(sink).init(msg);
+	}
+
+	/**
+	 * Obtain a pooled log event instance for a given tracking activity.
+	 *
+	 * @param sink
+	 *            sink associated with the event
+	 * @param msg
+	 *            tracking activity instance
+	 * @return pooled log event instance
+	 * @see #recycle(SinkLogEvent)
+	 */
+	public static SinkLogEvent obtain(EventSink sink, TrackingActivity msg) {
+		return POOL.acquire(SinkLogEvent::new).pooled(sink).init(msg);
+	}
+
+	/**
+	 * Obtain a pooled log event instance for a given snapshot.
+	 *
+	 * @param sink
+	 *            sink associated with the event
+	 * @param snap
+	 *            a set of properties
+	 * @return pooled log event instance
+	 * @see #recycle(SinkLogEvent)
+	 */
+	public static SinkLogEvent obtain(EventSink sink, Snapshot snap) {
+		return POOL.acquire(SinkLogEvent::new).pooled(sink).init(snap);
+	}
+
+	/**
+	 * Obtain a pooled log event instance for a given log message.
+	 *
+	 * @param sink
+	 *            sink associated with the event
+	 * @param evSource
+	 *            source associated with the event
+	 * @param sev
+	 *            log severity
+	 * @param ttl
+	 *            time to live in seconds
+	 * @param bundle
+	 *            resource bundle
+	 * @param key
+	 *            log message object
+	 * @param args
+	 *            argument list associated with the message
+	 * @return pooled log event instance
+	 * @see #recycle(SinkLogEvent)
+	 */
+	public static SinkLogEvent obtain(EventSink sink, Source evSource, OpLevel sev, long ttl, ResourceBundle bundle,
+			Object key, Object... args) {
+		return POOL.acquire(SinkLogEvent::new).pooled(sink).init(evSource, sev, ttl, bundle, key, args);
+	}
+
+	/**
+	 * Return a given event back into the pool, if event was obtained from the pool and is still recyclable. Event must
+	 * not be referenced after this call.
+	 *
+	 * @param event
+	 *            log event instance
+	 * @return {@code true} if event was returned into the pool, {@code false} - otherwise
+	 * @see #isRecyclable()
+	 */
+	public static boolean recycle(SinkLogEvent event) {
+		return event.recyclable && POOL.release(event);
+	}
+
+	/**
+	 * Puts log events pool statistics into a given map, with keys qualified by a given object.
+	 *
+	 * @param stats
+	 *            map to put statistics
+	 * @param owner
+	 *            object used to qualify statistics keys
+	 * @return map containing statistics
+	 */
+	public static Map<String, Object> getPoolStats(Map<String, Object> stats, Object owner) {
+		return POOL.getStats(stats, owner);
+	}
+
+	private SinkLogEvent pooled(EventSink sink) {
+		source = sink;
+		startTimeNanos = System.nanoTime();
+		recyclable = true;
+		return this;
+	}
+
+	private SinkLogEvent init(TrackingEvent msg) {
+		logObj = msg;
+		error = msg.getOperation().getThrowable();
+		level = msg.getSeverity();
+		evSrc = msg.getSource();
+		argList = msg.getMessageArgs();
+		ttl = msg.getTTL();
+		return this;
+	}
+
+	private SinkLogEvent init(TrackingActivity msg) {
+		logObj = msg;
+		error = msg.getThrowable();
+		evSrc = msg.getSource();
+		ttl = msg.getTTL();
+		return this;
+	}
+
+	private SinkLogEvent init(Snapshot snap) {
+		logObj = snap;
+		level = snap.getSeverity();
+		evSrc = snap.getSource();
+		ttl = snap.getTTL();
+		return this;
+	}
+
+	private SinkLogEvent init(Source evSource, OpLevel sev, long ttl, ResourceBundle bundle, Object key,
+			Object... args) {
 		logObj = key;
 		if (args != null && args.length > 0) {
 			argList = args;
@@ -188,6 +324,40 @@ public class SinkLogEvent extends EventObject implements TTL {
 		this.evSrc = evSource;
 		this.bundle = bundle;
 		this.ttl = ttl;
+		return this;
+	}
+
+	private void reset() {
+		source = RECYCLED;
+		logObj = null;
+		error = null;
+		bundle = null;
+		evSrc = null;
+		level = OpLevel.NONE;
+		argList = null;
+		signalType = SIGNAL_PROCESS;
+		ttl = 0;
+		stopTimeNanos = 0;
+		recyclable = false;
+	}
+
+	/**
+	 * Check if this event was obtained from the pool and can be returned back using {@link #recycle(SinkLogEvent)}.
+	 *
+	 * @return {@code true} if event is recyclable, {@code false} - otherwise
+	 */
+	public boolean isRecyclable() {
+		return recyclable;
+	}
+
+	/**
+	 * Exclude this event from recycling, e.g. when event is retained for later processing.
+	 */
+	public void retain() {
+		if (recyclable) {
+			recyclable = false;
+			POOL.detach(this);
+		}
 	}
 
 	/**
@@ -227,7 +397,8 @@ public class SinkLogEvent extends EventObject implements TTL {
 	}
 
 	/**
-	 * Return list of arguments supplied with the logging message
+	 * Return list of arguments supplied with the logging message. Message is not formatted when event is created, so
+	 * arguments may be raw (not converted to strings) objects, formatted by the sink handling this event.
 	 * 
 	 * @return array of objects
 	 */
@@ -18,7 +18,10 @@ package com.jkoolcloud.tnt4j.sink.impl;
 
 import java.io.IOException;
 import java.util.*;
-import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.jkoolcloud.tnt4j.core.KeyValueStats;
 import com.jkoolcloud.tnt4j.core.OpLevel;
@@ -30,10 +33,33 @@ import com.jkoolcloud.tnt4j.sink.EventSinkFactory;
 import com.jkoolcloud.tnt4j.source.Source;
 import com.jkoolcloud.tnt4j.tracker.TrackingActivity;
 import com.jkoolcloud.tnt4j.tracker.TrackingEvent;
+import com.jkoolcloud.tnt4j.utils.NamedThreadFactory;
 import com.jkoolcloud.tnt4j.utils.Utils;
 
 /**
  * Broadcasting event sink that allows writes to multiple event sinks at once.
+ * <p>
+ * Each broadcast sink is served by its own lane, which delivers entries to the sink in order using a dedicated lane
+ * worker thread. Lane worker thread is started on demand and ends after being idle for
+ * {@code tnt4j.broadcast.lane.idle.timeout.ms} milliseconds (default {@code 60000}). {@link DispatchMode} defines if
+ * logging thread waits for broadcast sinks to complete. When only one sink is configured, or when entry is logged by
+ * a lane worker thread (e.g. broadcast sink is itself a broadcasting sink), entries are logged inline by the logging
+ * thread, so lane workers never wait for other lanes.
+ * <p>
+ * Lanes are unbounded by default ({@code tnt4j.broadcast.lane.capacity} system property, default {@code 0}). Slow sink
+ * isolation is opt-in: bounded lane capacity and {@link OverflowPolicy} can be set per lane using
+ * {@link #setLaneBuffer(String, int, OverflowPolicy)}. In {@link DispatchMode#SYNC} mode logging thread waits for
+ * unbounded lanes to complete, while bounded lanes are waited for no longer than block timeout
+ * ({@code tnt4j.broadcast.block.timeout.ms}, default {@code 10000}), so a slow broadcast sink having bounded lane holds
+ * back logging thread for at most one block timeout, after which lane is treated as stalled and is not waited for until
+ * it delivers next entry. Once bounded lane is full, its {@link OverflowPolicy}
+ * ({@code tnt4j.broadcast.overflow.policy} system property) defines what happens to the entry. With default
+ * {@link OverflowPolicy#BLOCK} policy logging thread waits for lane space up to block timeout: if it elapses, entry is
+ * dropped, and further entries are dropped without waiting until lane worker delivers next entry.
+ * <p>
+ * Lane that has dropped entries since it last delivered an entry is treated as unavailable, the same way as a closed
+ * broadcast sink, when evaluating {@link OpenSinksPolicy} in {@link #isOpen()}. Entries are not dispatched to lanes of
+ * closed broadcast sinks. Lane worker threads are shut down when this sink is closed.
  * 
  * @author albert
  * @see AbstractEventSink
@@ -42,9 +68,28 @@ public class BroadcastingEventSink extends AbstractEventSink {
 
 	public static final String KEY_SINK_SIZE = "broadcast-sink-count";
 	public static final String KEY_OPEN_COUNT = "broadcast-open-sinks";
+	public static final String KEY_LANE_LOGGED = "broadcast-lane-logged";
+	public static final String KEY_LANE_FAILED = "broadcast-lane-failed";
+	public static final String KEY_LANE_AVG_LATENCY = "broadcast-lane-avg-latency-usec";
+	public static final String KEY_LANE_MAX_LATENCY = "broadcast-lane-max-latency-usec";
+	public static final String KEY_LANE_DEPTH = "broadcast-lane-depth";
+	public static final String KEY_LANE_DROPPED = "broadcast-lane-dropped";
+	public static final String KEY_LANE_GROWN = "broadcast-lane-grown";
+	public static final String KEY_LANE_BLOCKED = "broadcast-lane-blocked";
+	public static final String KEY_LANE_SKIPPED = "broadcast-lane-skipped";
+
+	private static final long LANE_IDLE_TIMEOUT = Long.getLong("tnt4j.broadcast.lane.idle.timeout.ms", 60000);
+	private static final long LANE_DRAIN_TIMEOUT = 30000;
+	static final long DEFAULT_BLOCK_TIMEOUT = Long.getLong("tnt4j.broadcast.block.timeout.ms", 10000);
+	static final int DEFAULT_LANE_CAPACITY = Integer.getInteger("tnt4j.broadcast.lane.capacity", 0);
+	static final OverflowPolicy DEFAULT_OVERFLOW_POLICY = OverflowPolicy
+			.valueOf(System.getProperty("tnt4j.broadcast.overflow.policy", "BLOCK").toUpperCase());
+	private static final ThreadLocal<Boolean> LANE_WORKER = new ThreadLocal<>();
 
 	final Map<String, EventSink> eventSinks = Collections.synchronizedMap(new HashMap<>(3));
+	final Map<String, SinkLane> sinkLanes = new LinkedHashMap<>(3);
 	OpenSinksPolicy openSinksPolicy = OpenSinksPolicy.ANY;
+	DispatchMode dispatchMode = DispatchMode.SYNC;
 
 	/**
 	 * Create broadcasting event sink factory
@@ -60,6 +105,7 @@ public class BroadcastingEventSink extends AbstractEventSink {
 		for (Map.Entry<String, EventSinkFactory> sfe : brdFactory.getEventSinkFactories().entrySet()) {
 			eventSinks.put(sfe.getKey(), sfe.getValue().getEventSink(name));
 		}
+		initLanes();
 	}
 
 	/**
@@ -78,6 +124,7 @@ public class BroadcastingEventSink extends AbstractEventSink {
 		for (Map.Entry<String, EventSinkFactory> sfe : brdFactory.getEventSinkFactories().entrySet()) {
 			eventSinks.put(sfe.getKey(), sfe.getValue().getEventSink(name, props));
 		}
+		initLanes();
 	}
 
 	/**
@@ -99,6 +146,23 @@ public class BroadcastingEventSink extends AbstractEventSink {
 		for (Map.Entry<String, EventSinkFactory> sfe : brdFactory.getEventSinkFactories().entrySet()) {
 			eventSinks.put(sfe.getKey(), sfe.getValue().getEventSink(name, props, frmt));
 		}
+		initLanes();
+	}
+
+	private void initLanes() {
+		synchronized (eventSinks) {
+			for (Map.Entry<String, EventSink> se : eventSinks.entrySet()) {
+				sinkLanes.put(se.getKey(), new SinkLane(se.getValue(), newLaneExecutor(se.getKey())));
+			}
+		}
+	}
+
+	private ExecutorService newLaneExecutor(String sinkId) {
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, LANE_IDLE_TIMEOUT, TimeUnit.MILLISECONDS,
+				new LinkedBlockingQueue<>(),
+				new NamedThreadFactory("BroadcastingEventSink/" + getName() + "/" + sinkId + "/lane-"));
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
 	}
 
 	/**
@@ -130,6 +194,72 @@ public class BroadcastingEventSink extends AbstractEventSink {
 		return this;
 	}
 
+	/**
+	 * Sets dispatch mode, defining if logging thread waits for all broadcast sinks to complete logging.
+	 * 
+	 * @param mode
+	 *            dispatch mode
+	 * @return instance of this sink
+	 */
+	public BroadcastingEventSink setDispatchMode(DispatchMode mode) {
+		this.dispatchMode = mode == null ? DispatchMode.SYNC : mode;
+
+		return this;
+	}
+
+	/**
+	 * Sets lane buffer capacity and overflow policy for a broadcast sink identified by given sink identifier.
+	 * 
+	 * @param sinkId
+	 *            broadcast sink identifier
+	 * @param capacity
+	 *            maximum number of entries pending in sink lane, {@code 0} - unbounded
+	 * @param policy
+	 *            overflow policy applied when lane capacity is reached
+	 * @return instance of this sink
+	 * @throws IllegalArgumentException
+	 *             if there is no broadcast sink with provided identifier
+	 */
+	public BroadcastingEventSink setLaneBuffer(String sinkId, int capacity, OverflowPolicy policy)
+			throws IllegalArgumentException {
+		SinkLane lane = sinkLanes.get(sinkId);
+		if (lane == null) {
+			throw new IllegalArgumentException("Unknown broadcast sink: " + sinkId);
+		}
+		lane.capacity = Math.max(0, capacity);
+		lane.policy = policy == null ? DEFAULT_OVERFLOW_POLICY : policy;
+
+		return this;
+	}
+
+	/**
+	 * Sets maximum time logging thread waits for lane space using {@link OverflowPolicy#BLOCK} policy. Entry is dropped
+	 * when timeout elapses.
+	 * 
+	 * @param timeout
+	 *            block timeout value
+	 * @param unit
+	 *            block timeout units
+	 * @return instance of this sink
+	 */
+	public BroadcastingEventSink setBlockTimeout(long timeout, TimeUnit unit) {
+		long timeoutMs = unit.toMillis(timeout);
+		for (SinkLane lane : sinkLanes.values()) {
+			lane.blockTimeoutMs = timeoutMs;
+		}
+
+		return this;
+	}
+
+	/**
+	 * Obtain dispatch mode, defining if logging thread waits for all broadcast sinks to complete logging.
+	 * 
+	 * @return dispatch mode
+	 */
+	public DispatchMode getDispatchMode() {
+		return dispatchMode;
+	}
+
 	@Override
 	public Map<String, Object> getStats() {
 		LinkedHashMap<String, Object> stats = new LinkedHashMap<>(32);
@@ -142,12 +272,33 @@ public class BroadcastingEventSink extends AbstractEventSink {
 		super.getStats(stats);
 		stats.put(Utils.qualify(this, KEY_SINK_SIZE), eventSinks.size());
 		stats.put(Utils.qualify(this, KEY_OPEN_COUNT), openCount());
+		for (Map.Entry<String, SinkLane> le : sinkLanes.entrySet()) {
+			String pfix = le.getKey() + "/";
+			SinkLane lane = le.getValue();
+			stats.put(Utils.qualify(this, pfix + KEY_LANE_LOGGED), lane.logged.get());
+			stats.put(Utils.qualify(this, pfix + KEY_LANE_FAILED), lane.failed.get());
+			stats.put(Utils.qualify(this, pfix + KEY_LANE_AVG_LATENCY), lane.getAvgLatencyUsec());
+			stats.put(Utils.qualify(this, pfix + KEY_LANE_MAX_LATENCY), lane.getMaxLatencyUsec());
+			stats.put(Utils.qualify(this, pfix + KEY_LANE_DEPTH), lane.depth.get());
+			stats.put(Utils.qualify(this, pfix + KEY_LANE_DROPPED), lane.dropped.get());
+			stats.put(Utils.qualify(this, pfix + KEY_LANE_GROWN), lane.grown.get());
+			stats.put(Utils.qualify(this, pfix + KEY_LANE_BLOCKED), lane.blocked.get());
+			stats.put(Utils.qualify(this, pfix + KEY_LANE_SKIPPED), lane.skipped.get());
+		}
 		for (EventSink sink : eventSinks.values()) {
 			sink.getStats(stats);
 		}
 		return this;
 	}
 
+	@Override
+	public void resetStats() {
+		super.resetStats();
+		for (SinkLane lane : sinkLanes.values()) {
+			lane.resetStats();
+		}
+	}
+
 	@Override
 	public Object getSinkHandle() {
 		return this;
@@ -159,8 +310,8 @@ public class BroadcastingEventSink extends AbstractEventSink {
 			return false;
 		}
 
-		for (EventSink sink : eventSinks.values()) {
-			if (sink.isOpen()) {
+		for (SinkLane lane : sinkLanes.values()) {
+			if (lane.isAvailable()) {
 				if (openSinksPolicy == OpenSinksPolicy.ANY) {
 					return true;
 				}
@@ -173,8 +324,24 @@ public class BroadcastingEventSink extends AbstractEventSink {
 		return openSinksPolicy == OpenSinksPolicy.ALL ? true : false;
 	}
 
+	/**
+	 * Opens closed broadcast sinks, without closing open ones and dropping their pending lane entries.
+	 */
+	@Override
+	public void reopen() throws IOException {
+		open();
+	}
+
 	@Override
 	protected void _open() throws IOException {
+		synchronized (eventSinks) {
+			for (Map.Entry<String, SinkLane> le : sinkLanes.entrySet()) {
+				SinkLane lane = le.getValue();
+				if (lane.executor.isShutdown()) {
+					lane.executor = newLaneExecutor(le.getKey());
+				}
+			}
+		}
 		int openCount = 0;
 		IOException lastE = null;
 		for (EventSink sink : eventSinks.values()) {
@@ -194,6 +361,10 @@ public class BroadcastingEventSink extends AbstractEventSink {
 
 	@Override
 	protected void _close() throws IOException {
+		drainLanes();
+		for (SinkLane lane : sinkLanes.values()) {
+			lane.executor.shutdown();
+		}
 		IOException lastE = null;
 		for (EventSink sink : eventSinks.values()) {
 			try {
@@ -258,32 +429,101 @@ public class BroadcastingEventSink extends AbstractEventSink {
 	}
 
 	/**
-	 * Writes sink entry to all broadcasting sinks.
+	 * Writes sink entry to all broadcasting sinks. Entry is logged inline when only one sink is configured or when
+	 * calling thread is a lane worker, otherwise it is dispatched to lanes of open sinks and, in
+	 * {@link DispatchMode#SYNC} mode, logging thread waits for all unbounded lanes to complete and for bounded lanes
+	 * up to their block timeout. Entries dropped by lane {@link OverflowPolicy} are not waited for.
 	 * 
 	 * @param entry
 	 *            sink entry to log
 	 */
 	protected void logSinkEntry(SinkEntry entry) {
-		CountDownLatch waitLatch = new CountDownLatch(eventSinks.size());
-		for (EventSink sink : eventSinks.values()) {
-			Thread lt = new Thread(new Runnable() {
-				@Override
-				public void run() {
-					try {
-						entry.logEntry(sink);
-					} catch (Throwable t) {
-						sink.setErrorState(t);
-					} finally {
-						waitLatch.countDown();
+		if (sinkLanes.size() == 1) {
+			sinkLanes.values().iterator().next().invoke(entry);
+			return;
+		}
+		if (LANE_WORKER.get() != null) {
+			// lane worker must not wait for other lanes: nested broadcasts are logged inline
+			for (SinkLane lane : sinkLanes.values()) {
+				if (lane.sink.isOpen()) {
+					lane.invoke(entry);
+				} else {
+					lane.skipped.incrementAndGet();
+				}
+			}
+			return;
+		}
+		// lanes waited for: unbounded until done, bounded ones no longer than their block timeout
+		boolean[] waitLanes = new boolean[sinkLanes.size()];
+		boolean[] boundedLanes = new boolean[sinkLanes.size()];
+		int waitCount = 0;
+		int boundedCount = 0;
+		long boundedTimeoutMs = 0;
+		if (dispatchMode == DispatchMode.SYNC) {
+			int i = 0;
+			for (SinkLane lane : sinkLanes.values()) {
+				if (lane.capacity == 0) {
+					waitLanes[i] = true;
+					waitCount++;
+				} else if (!lane.stalled) {
+					boundedLanes[i] = true;
+					boundedCount++;
+					boundedTimeoutMs = Math.max(boundedTimeoutMs, lane.blockTimeoutMs);
+				}
+				i++;
+			}
+		}
+		long start = System.currentTimeMillis();
+		CountDownLatch waitLatch = waitCount > 0 ? new CountDownLatch(waitCount) : null;
+		CountDownLatch boundedLatch = boundedCount > 0 ? new CountDownLatch(boundedCount) : null;
+		int i = 0;
+		for (SinkLane lane : sinkLanes.values()) {
+			CountDownLatch laneLatch = waitLanes[i] ? waitLatch : boundedLanes[i] ? boundedLatch : null;
+			i++;
+			if (lane.sink.isOpen()) {
+				lane.submit(entry, laneLatch);
+			} else {
+				lane.skipped.incrementAndGet();
+				if (laneLatch != null) {
+					laneLatch.countDown();
+				}
+			}
+		}
+		try {
+			if (waitLatch != null) {
+				waitLatch.await();
+			}
+			if (boundedLatch != null && !boundedLatch.await(boundedTimeoutMs - (System.currentTimeMillis() - start),
+					TimeUnit.MILLISECONDS)) {
+				// lanes still busy are stalled: not waited for until they deliver next entry
+				i = 0;
+				for (SinkLane lane : sinkLanes.values()) {
+					if (boundedLanes[i++] && lane.depth.get() > 0) {
+						lane.stalled = true;
 					}
 				}
-			});
-			lt.start();
+			}
+		} catch (InterruptedException ie) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Waits for all entries already dispatched to sink lanes to be delivered, but no longer than
+	 * {@value #LANE_DRAIN_TIMEOUT} milliseconds.
+	 */
+	private void drainLanes() {
+		if (sinkLanes.size() <= 1 || LANE_WORKER.get() != null) {
+			return;
+		}
+		CountDownLatch drainLatch = new CountDownLatch(sinkLanes.size());
+		for (SinkLane lane : sinkLanes.values()) {
+			lane.enqueue(new LaneEntry(null, drainLatch));
 		}
 		try {
-			waitLatch.await();
+			drainLatch.await(LANE_DRAIN_TIMEOUT, TimeUnit.MILLISECONDS);
 		} catch (InterruptedException ie) {
-			// setErrorState (ie);
+			Thread.currentThread().interrupt();
 		}
 	}
 
@@ -343,6 +583,245 @@ public class BroadcastingEventSink extends AbstractEventSink {
 		ANY
 	}
 
+	/**
+	 * Enumerates modes of dispatching entries to broadcast sinks.
+	 */
+	public enum DispatchMode {
+		/**
+		 * Logging thread waits for broadcast sinks having unbounded lanes to complete logging.
+		 */
+		SYNC,
+		/**
+		 * Logging thread does not wait for broadcast sinks (fire-and-forget).
+		 */
+		ASYNC
+	}
+
+	/**
+	 * Enumerates policies applied when broadcast sink lane capacity is reached.
+	 */
+	public enum OverflowPolicy {
+		/**
+		 * Logging thread waits for lane space, entry is dropped if block timeout elapses. Lane is then treated as
+		 * stalled: entries are dropped without waiting until lane delivers next entry.
+		 */
+		BLOCK,
+		/**
+		 * Oldest pending lane entry is dropped to make space for new one.
+		 */
+		DROP_OLDEST,
+		/**
+		 * New entry is dropped.
+		 */
+		DROP_NEWEST,
+		/**
+		 * New entry is accepted over lane capacity, growing lane in memory, and counted as grown.
+		 */
+		GROW
+	}
+
+	/**
+	 * Sink entry queued to a sink lane.
+	 */
+	private static final class LaneEntry {
+		final SinkEntry entry;
+		final CountDownLatch latch;
+
+		LaneEntry(SinkEntry entry, CountDownLatch latch) {
+			this.entry = entry;
+			this.latch = latch;
+		}
+	}
+
+	/**
+	 * Delivers entries to a single broadcast sink in order, running on a dedicated lane worker thread.
+	 */
+	private static final class SinkLane implements Runnable {
+		final EventSink sink;
+		volatile ExecutorService executor;
+		final Queue<LaneEntry> queue = new ConcurrentLinkedQueue<>();
+		final AtomicBoolean scheduled = new AtomicBoolean(false);
+		final AtomicInteger depth = new AtomicInteger(0);
+		final Object spaceLock = new Object();
+		volatile int capacity = DEFAULT_LANE_CAPACITY;
+		volatile OverflowPolicy policy = DEFAULT_OVERFLOW_POLICY;
+		volatile long blockTimeoutMs = DEFAULT_BLOCK_TIMEOUT;
+		volatile boolean stalled = false;
+		int spaceWaiters = 0;
+
+		final AtomicLong logged = new AtomicLong(0);
+		final AtomicLong failed = new AtomicLong(0);
+		final AtomicLong totalNanos = new AtomicLong(0);
+		final AtomicLong maxNanos = new AtomicLong(0);
+		final AtomicLong dropped = new AtomicLong(0);
+		final AtomicLong grown = new AtomicLong(0);
+		final AtomicLong blocked = new AtomicLong(0);
+		final AtomicLong skipped = new AtomicLong(0);
+
+		SinkLane(EventSink sink, ExecutorService executor) {
+			this.sink = sink;
+			this.executor = executor;
+		}
+
+		void submit(SinkEntry entry, CountDownLatch latch) {
+			LaneEntry le = new LaneEntry(entry, latch);
+			int cap = capacity;
+			if (cap > 0 && depth.get() >= cap) {
+				switch (policy) {
+				case DROP_NEWEST:
+					stalled = true;
+					drop(le);
+					return;
+				case DROP_OLDEST:
+					LaneEntry oldest = queue.poll();
+					if (oldest != null) {
+						stalled = true;
+						depth.decrementAndGet();
+						drop(oldest);
+					}
+					break;
+				case GROW:
+					grown.incrementAndGet();
+					break;
+				default:
+					if (stalled || !awaitSpace(cap)) {
+						stalled = true;
+						drop(le);
+						return;
+					}
+				}
+			}
+			enqueue(le);
+		}
+
+		void enqueue(LaneEntry le) {
+			queue.add(le);
+			depth.incrementAndGet();
+			schedule();
+		}
+
+		private void drop(LaneEntry le) {
+			dropped.incrementAndGet();
+			if (le.latch != null) {
+				le.latch.countDown();
+			}
+		}
+
+		private boolean awaitSpace(int cap) {
+			blocked.incrementAndGet();
+			long deadline = System.currentTimeMillis() + blockTimeoutMs;
+			synchronized (spaceLock) {
+				spaceWaiters++;
+				try {
+					while (depth.get() >= cap) {
+						long waitMs = deadline - System.currentTimeMillis();
+						if (waitMs <= 0) {
+							return false;
+						}
+						spaceLock.wait(waitMs);
+					}
+					return true;
+				} catch (InterruptedException ie) {
+					Thread.currentThread().interrupt();
+					return false;
+				} finally {
+					spaceWaiters--;
+				}
+			}
+		}
+
+		private void signalSpace() {
+			synchronized (spaceLock) {
+				if (spaceWaiters > 0) {
+					spaceLock.notifyAll();
+				}
+			}
+		}
+
+		private void schedule() {
+			if (scheduled.compareAndSet(false, true)) {
+				try {
+					executor.execute(this);
+				} catch (RejectedExecutionException exc) {
+					// lane is shut down by close: pending entries are dropped
+					LaneEntry le;
+					while ((le = queue.poll()) != null) {
+						depth.decrementAndGet();
+						drop(le);
+					}
+					scheduled.set(false);
+				}
+			}
+		}
+
+		boolean isAvailable() {
+			return !stalled && sink.isOpen();
+		}
+
+		@Override
+		public void run() {
+			LANE_WORKER.set(Boolean.TRUE);
+			LaneEntry le;
+			while ((le = queue.poll()) != null) {
+				depth.decrementAndGet();
+				if (policy == OverflowPolicy.BLOCK && capacity > 0) {
+					signalSpace();
+				}
+				if (stalled) {
+					stalled = false;
+				}
+				try {
+					if (le.entry != null) {
+						invoke(le.entry);
+					}
+				} finally {
+					if (le.latch != null) {
+						le.latch.countDown();
+					}
+				}
+			}
+			scheduled.set(false);
+			if (!queue.isEmpty()) {
+				schedule();
+			}
+		}
+
+		void invoke(SinkEntry entry) {
+			long start = System.nanoTime();
+			try {
+				entry.logEntry(sink);
+				logged.incrementAndGet();
+			} catch (Throwable t) {
+				failed.incrementAndGet();
+				sink.setErrorState(t);
+			} finally {
+				long elapsed = System.nanoTime() - start;
+				totalNanos.addAndGet(elapsed);
+				maxNanos.accumulateAndGet(elapsed, Math::max);
+			}
+		}
+
+		long getAvgLatencyUsec() {
+			long count = logged.get() + failed.get();
+			return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalNanos.get() / count);
+		}
+
+		long getMaxLatencyUsec() {
+			return TimeUnit.NANOSECONDS.toMicros(maxNanos.get());
+		}
+
+		void resetStats() {
+			logged.set(0);
+			failed.set(0);
+			totalNanos.set(0);
+			maxNanos.set(0);
+			dropped.set(0);
+			grown.set(0);
+			blocked.set(0);
+			skipped.set(0);
+		}
+	}
+
 	/**
 	 * Interface defining generic sink entry logging function.
 	 */
@@ -20,6 +20,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
 
 import com.jkoolcloud.tnt4j.config.ConfigException;
 import com.jkoolcloud.tnt4j.format.EventFormatter;
@@ -39,6 +40,13 @@ public class BroadcastingEventSinkFactory extends AbstractEventSinkFactory {
 
 	String broadcastSeq;
 	BroadcastingEventSink.OpenSinksPolicy openSinksPolicy;
+	BroadcastingEventSink.DispatchMode dispatchMode = BroadcastingEventSink.DispatchMode
+			.valueOf(System.getProperty("tnt4j.broadcast.dispatch.mode", "SYNC").toUpperCase());
+	int laneCapacity = BroadcastingEventSink.DEFAULT_LANE_CAPACITY;
+	BroadcastingEventSink.OverflowPolicy overflowPolicy = BroadcastingEventSink.DEFAULT_OVERFLOW_POLICY;
+	long blockTimeoutMs = BroadcastingEventSink.DEFAULT_BLOCK_TIMEOUT;
+	final Map<String, Integer> laneCapacities = new HashMap<>(3);
+	final Map<String, BroadcastingEventSink.OverflowPolicy> overflowPolicies = new HashMap<>(3);
 	final Map<String, EventSinkFactory> sinkFactories = Collections.synchronizedMap(new HashMap<>(3));
 
 	/**
@@ -92,6 +100,14 @@ public class BroadcastingEventSinkFactory extends AbstractEventSinkFactory {
 	protected EventSink configureSink(EventSink sink) {
 		BroadcastingEventSink bsSink = (BroadcastingEventSink) super.configureSink(sink);
 		bsSink.setOpenSinksPolicy(openSinksPolicy);
+		bsSink.setDispatchMode(dispatchMode);
+		bsSink.setBlockTimeout(blockTimeoutMs, TimeUnit.MILLISECONDS);
+		for (String sinkId : sinkFactories.keySet()) {
+			Integer capacity = laneCapacities.get(sinkId);
+			BroadcastingEventSink.OverflowPolicy policy = overflowPolicies.get(sinkId);
+			bsSink.setLaneBuffer(sinkId, capacity == null ? laneCapacity : capacity,
+					policy == null ? overflowPolicy : policy);
+		}
 
 		return bsSink;
 	}
@@ -107,8 +123,24 @@ public class BroadcastingEventSinkFactory extends AbstractEventSinkFactory {
 			initBroadcastSequence(broadcastSeq.split(","), props);
 		}
 		String ospName = Utils.getString("OpenSinksPolicy", props, "ANY");
+		String dmName = Utils.getString("DispatchMode", props, dispatchMode.name());
+		String opName = Utils.getString("OverflowPolicy", props, overflowPolicy.name());
+		laneCapacity = Utils.getInt("LaneCapacity", props, laneCapacity);
+		blockTimeoutMs = Utils.getLong("BlockTimeoutMs", props, blockTimeoutMs);
 		try {
 			openSinksPolicy = BroadcastingEventSink.OpenSinksPolicy.valueOf(ospName.toUpperCase());
+			dispatchMode = BroadcastingEventSink.DispatchMode.valueOf(dmName.toUpperCase());
+			overflowPolicy = BroadcastingEventSink.OverflowPolicy.valueOf(opName.toUpperCase());
+			for (String sinkId : sinkFactories.keySet()) {
+				int capacity = Utils.getInt("LaneCapacity." + sinkId, props, -1);
+				if (capacity >= 0) {
+					laneCapacities.put(sinkId, capacity);
+				}
+				String policyName = Utils.getString("OverflowPolicy." + sinkId, props, null);
+				if (!Utils.isEmpty(policyName)) {
+					overflowPolicies.put(sinkId, BroadcastingEventSink.OverflowPolicy.valueOf(policyName.toUpperCase()));
+				}
+			}
 		} catch (IllegalArgumentException exc) {
 			throw new ConfigException(exc.getLocalizedMessage(), props);
 		}
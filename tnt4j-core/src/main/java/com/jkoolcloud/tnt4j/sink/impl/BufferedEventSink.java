@@ -16,6 +16,7 @@
 package com.jkoolcloud.tnt4j.sink.impl;
 
 import java.io.IOException;
+import java.util.Collection;
 import java.util.Map;
 import java.util.ResourceBundle;
 import java.util.concurrent.TimeUnit;
@@ -54,9 +55,15 @@ public class BufferedEventSink extends TagsSet implements EventSink, IOShutdown
 	static final String KEY_FLUSH_COUNT = "buffered-flush-count";
 	static final String KEY_TOTAL_ERRORS = "buffered-errors-total";
 
+	static final boolean DEFAULT_DEFER_FORMATTING = Boolean
+			.getBoolean("tnt4j.buffered.sink.defer.formatting");
+	static final boolean DEFAULT_RECYCLE_EVENTS = Boolean.getBoolean("tnt4j.buffered.sink.recycle.events");
+
 	private long ttl = TTL.TTL_CONTEXT;
 	private long signalTimeout = TimeUnit.SECONDS.toMillis(5);
 	private boolean block = false;
+	private boolean deferFormatting = DEFAULT_DEFER_FORMATTING;
+	private boolean recycleEvents = DEFAULT_RECYCLE_EVENTS;
 	private Source source;
 	private EventSink outSink = null;
 	private BufferedEventSinkFactory factory;
@@ -119,6 +126,54 @@ public class BufferedEventSink extends TagsSet implements EventSink, IOShutdown
 		return signalTimeout;
 	}
 
+	/**
+	 * Set deferred message formatting mode. When enabled, log message arguments are not converted to strings on the
+	 * caller thread: a snapshot (shallow copy) of the argument array is queued along with raw message pattern, and
+	 * message is formatted by the pooled logger thread, only if event passes out sink filters. Arguments must not be
+	 * modified after logging call when this mode is enabled.
+	 *
+	 * @param defer
+	 *            {@code true} to defer message formatting, {@code false} - to convert arguments to strings on caller
+	 *            thread
+	 */
+	public void setDeferFormatting(boolean defer) {
+		deferFormatting = defer;
+	}
+
+	/**
+	 * Check if deferred message formatting mode is enabled.
+	 *
+	 * @return {@code true} if message formatting is deferred, {@code false} - otherwise
+	 * @see #setDeferFormatting(boolean)
+	 */
+	public boolean isDeferFormatting() {
+		return deferFormatting;
+	}
+
+	/**
+	 * Set log event recycling mode. When enabled, {@link SinkLogEvent} instances queued by this sink are taken from a
+	 * shared pool and returned back into it by pooled logger once event processing completes.
+	 *
+	 * @param recycle
+	 *            {@code true} to recycle log events, {@code false} - to create new log event for every logged object
+	 *
+	 * @see SinkLogEvent#obtain(EventSink, TrackingEvent)
+	 * @see SinkLogEvent#recycle(SinkLogEvent)
+	 */
+	public void setRecycleEvents(boolean recycle) {
+		recycleEvents = recycle;
+	}
+
+	/**
+	 * Check if log event recycling mode is enabled.
+	 *
+	 * @return {@code true} if log events are recycled, {@code false} - otherwise
+	 * @see #setRecycleEvents(boolean)
+	 */
+	public boolean isRecycleEvents() {
+		return recycleEvents;
+	}
+
 	/**
 	 * Obtain total number of events/log messages dropped since last reset.
 	 *
@@ -193,7 +248,8 @@ public class BufferedEventSink extends TagsSet implements EventSink, IOShutdown
 			if (ttl != TTL.TTL_CONTEXT) {
 				activity.setTTL(ttl);
 			}
-			SinkLogEvent sinkEvent = new SinkLogEvent(outSink, activity);
+			SinkLogEvent sinkEvent = recycleEvents ? SinkLogEvent.obtain(outSink, activity)
+					: new SinkLogEvent(outSink, activity);
 			_writeEvent(sinkEvent, block);
 		} else {
 			skipCount.incrementAndGet();
@@ -207,7 +263,8 @@ public class BufferedEventSink extends TagsSet implements EventSink, IOShutdown
 			if (ttl != TTL.TTL_CONTEXT) {
 				event.setTTL(ttl);
 			}
-			SinkLogEvent sinkEvent = new SinkLogEvent(outSink, event);
+			SinkLogEvent sinkEvent = recycleEvents ? SinkLogEvent.obtain(outSink, event)
+					: new SinkLogEvent(outSink, event);
 			_writeEvent(sinkEvent, block);
 		} else {
 			skipCount.incrementAndGet();
@@ -221,13 +278,21 @@ public class BufferedEventSink extends TagsSet implements EventSink, IOShutdown
 			if (ttl != TTL.TTL_CONTEXT) {
 				snapshot.setTTL(ttl);
 			}
-			SinkLogEvent sinkEvent = new SinkLogEvent(outSink, snapshot);
+			SinkLogEvent sinkEvent = recycleEvents ? SinkLogEvent.obtain(outSink, snapshot)
+					: new SinkLogEvent(outSink, snapshot);
 			_writeEvent(sinkEvent, block);
 		} else {
 			skipCount.incrementAndGet();
 		}
 	}
 
+	@Override
+	public void log(Collection<SinkLogEvent> events) {
+		for (SinkLogEvent event : events) {
+			AbstractEventSink.logEvent(this, event);
+		}
+	}
+
 	@Override
 	public void log(OpLevel sev, String msg, Object... args) {
 		log(source, sev, msg, args);
@@ -257,7 +322,9 @@ public class BufferedEventSink extends TagsSet implements EventSink, IOShutdown
 	public void log(long ttl_sec, Source src, OpLevel sev, ResourceBundle bundle, String key, Object... args) {
 		_checkState();
 		if (isLoggable(sev, key, args)) {
-			SinkLogEvent sinkEvent = new SinkLogEvent(outSink, src, sev, ttl_sec, bundle, key, resolveArguments(args));
+			SinkLogEvent sinkEvent = recycleEvents
+					? SinkLogEvent.obtain(outSink, src, sev, ttl_sec, bundle, key, resolveArguments(args))
+					: new SinkLogEvent(outSink, src, sev, ttl_sec, bundle, key, resolveArguments(args));
 			_writeEvent(sinkEvent, block);
 		} else {
 			skipCount.incrementAndGet();
@@ -269,8 +336,10 @@ public class BufferedEventSink extends TagsSet implements EventSink, IOShutdown
 		_checkState();
 		String txtMsg = String.valueOf(msg);
 		if (isLoggable(OpLevel.NONE, txtMsg, args)) {
-			SinkLogEvent sinkEvent = new SinkLogEvent(outSink, getSource(), OpLevel.NONE, defaultTTL(), txtMsg,
-					resolveArguments(args));
+			SinkLogEvent sinkEvent = recycleEvents
+					? SinkLogEvent.obtain(outSink, getSource(), OpLevel.NONE, defaultTTL(), null, txtMsg,
+							resolveArguments(args))
+					: new SinkLogEvent(outSink, getSource(), OpLevel.NONE, defaultTTL(), txtMsg, resolveArguments(args));
 			_writeEvent(sinkEvent, block);
 		} else {
 			skipCount.incrementAndGet();
@@ -284,11 +353,13 @@ public class BufferedEventSink extends TagsSet implements EventSink, IOShutdown
 				factory.getPooledLogger().put(sinkEvent);
 			} catch (Throwable ex) {
 				dropCount.incrementAndGet();
+				SinkLogEvent.recycle(sinkEvent);
 			}
 		} else {
 			boolean flag = factory.getPooledLogger().offer(sinkEvent);
 			if (!flag) {
 				dropCount.incrementAndGet();
+				SinkLogEvent.recycle(sinkEvent);
 			}
 		}
 	}
@@ -385,16 +456,21 @@ public class BufferedEventSink extends TagsSet implements EventSink, IOShutdown
 	}
 
 	/**
-	 * Convert object array into an array of strings
+	 * Convert object array into an array of strings. When deferred formatting is enabled, a copy of the array is
+	 * returned instead, leaving arguments to be formatted by the pooled logger thread.
 	 *
 	 * @param args
 	 *            array of objects
-	 * @return array of string objects
+	 * @return array of string objects, or copy of arguments array if formatting is deferred
+	 * @see #setDeferFormatting(boolean)
 	 */
 	protected Object[] resolveArguments(Object... args) {
 		if (args == null || args.length == 0) {
 			return null;
 		}
+		if (deferFormatting) {
+			return args.clone();
+		}
 		for (int i = 0; i < args.length; i++) {
 			if (!(args[i] instanceof Throwable)) {
 				args[i] = String.valueOf(args[i]);
@@ -46,6 +46,8 @@ public class BufferedEventSinkFactory extends AbstractEventSinkFactory {
 	String poolFactoryClass;
 	boolean blockWrites = false;
 	long signalTimeout = TimeUnit.SECONDS.toMillis(10);
+	boolean deferFormatting = BufferedEventSink.DEFAULT_DEFER_FORMATTING;
+	boolean recycleEvents = BufferedEventSink.DEFAULT_RECYCLE_EVENTS;
 	EventSinkFactory sinkFactory;
 	PooledLoggerFactory pooledFactory;
 
@@ -81,6 +83,8 @@ public class BufferedEventSinkFactory extends AbstractEventSinkFactory {
 	protected EventSink configureSink(EventSink sink) {
 		BufferedEventSink bsink = (BufferedEventSink) sink;
 		bsink.setSignalTimeout(signalTimeout);
+		bsink.setDeferFormatting(deferFormatting);
+		bsink.setRecycleEvents(recycleEvents);
 		return super.configureSink(bsink);
 	}
 
@@ -107,6 +111,8 @@ public class BufferedEventSinkFactory extends AbstractEventSinkFactory {
 				"PooledLoggerFactory.", props);
 		blockWrites = Utils.getBoolean("BlockWrites", props, blockWrites);
 		signalTimeout = Utils.getLong("SignalTimeout", props, signalTimeout);
+		deferFormatting = Utils.getBoolean("DeferFormatting", props, deferFormatting);
+		recycleEvents = Utils.getBoolean("RecycleEvents", props, recycleEvents);
 		if (sinkFactory == null) {
 			throw new ConfigException("Missing EventSinkFactory implementation", props);
 		}
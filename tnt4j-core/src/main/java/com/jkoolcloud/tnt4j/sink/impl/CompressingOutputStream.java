@@ -0,0 +1,152 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jkoolcloud.tnt4j.sink.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * <p>
+ * This class implements a zlib (deflate) compressing output stream, which sync flushes compressed data on every
+ * {@link #flush()}, so that receivers are able to decompress all data written up to the flush point without waiting for
+ * the stream to be closed. Compression dictionary is retained across flushes, so repeated content (e.g. JSON labels) is
+ * compressed efficiently even when flushed often. Receivers read the stream using {@link InflaterInputStream}.
+ * </p>
+ *
+ * <p>
+ * Stream keeps track of uncompressed and compressed byte counts and time spent compressing.
+ * </p>
+ *
+ * @version $Revision: 1 $
+ *
+ * @see SocketEventSink
+ */
+public class CompressingOutputStream extends DeflaterOutputStream {
+	private long compressNanos;
+	private long rawBytesBase;
+	private long compressedBytesBase;
+
+	/**
+	 * Create a compressing stream with a given compression level.
+	 *
+	 * @param out
+	 *            underlying output stream receiving compressed data
+	 * @param level
+	 *            compression level (0-9), {@link Deflater#DEFAULT_COMPRESSION} for default level
+	 * @param bufferSize
+	 *            size of compressed output buffer in bytes
+	 */
+	public CompressingOutputStream(OutputStream out, int level, int bufferSize) {
+		super(out, new Deflater(level), bufferSize, true);
+	}
+
+	@Override
+	protected void deflate() throws IOException {
+		int len = deflate(Deflater.NO_FLUSH);
+		if (len > 0) {
+			out.write(buf, 0, len);
+		}
+	}
+
+	@Override
+	public synchronized void flush() throws IOException {
+		if (!def.finished()) {
+			int len;
+			while ((len = deflate(Deflater.SYNC_FLUSH)) > 0) {
+				out.write(buf, 0, len);
+				if (len < buf.length) {
+					break;
+				}
+			}
+		}
+		out.flush();
+	}
+
+	/**
+	 * Compress pending input into output buffer, accounting time spent in compressor only. Writing compressed data to
+	 * the underlying stream is not included.
+	 *
+	 * @param flush
+	 *            compression flush mode
+	 * @return number of compressed bytes placed into output buffer
+	 */
+	private int deflate(int flush) {
+		long start = System.nanoTime();
+		try {
+			return def.deflate(buf, 0, buf.length, flush);
+		} finally {
+			compressNanos += System.nanoTime() - start;
+		}
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		try {
+			super.close();
+		} finally {
+			def.end();
+		}
+	}
+
+	/**
+	 * Obtain number of uncompressed bytes written to this stream.
+	 *
+	 * @return number of uncompressed bytes
+	 */
+	public synchronized long getRawBytes() {
+		return def.getBytesRead() - rawBytesBase;
+	}
+
+	/**
+	 * Obtain number of compressed bytes produced by this stream.
+	 *
+	 * @return number of compressed bytes
+	 */
+	public synchronized long getCompressedBytes() {
+		return def.getBytesWritten() - compressedBytesBase;
+	}
+
+	/**
+	 * Obtain compression ratio: uncompressed bytes divided by compressed bytes.
+	 *
+	 * @return compression ratio, {@code 0} if nothing was compressed yet
+	 */
+	public synchronized double getRatio() {
+		long compressed = getCompressedBytes();
+		return compressed == 0 ? 0.0 : (double) getRawBytes() / compressed;
+	}
+
+	/**
+	 * Obtain time spent in compressor, in microseconds. Time spent writing compressed data is not included.
+	 *
+	 * @return compression time in microseconds
+	 */
+	public synchronized long getCompressTimeUsec() {
+		return compressNanos / 1000;
+	}
+
+	/**
+	 * Reset compression statistics. Compressor state is kept, so the compressed stream is not affected.
+	 */
+	public synchronized void resetStats() {
+		rawBytesBase = def.getBytesRead();
+		compressedBytesBase = def.getBytesWritten();
+		compressNanos = 0;
+	}
+}
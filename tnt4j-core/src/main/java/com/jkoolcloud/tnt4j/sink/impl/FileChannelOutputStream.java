@@ -0,0 +1,198 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jkoolcloud.tnt4j.sink.impl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * This class implements a {@link GroupCommitOutputStream} which accumulates records in a reusable direct
+ * {@link ByteBuffer} and appends them to a file using NIO {@link FileChannel}. Two write modes are supported:
+ * </p>
+ * <ul>
+ * <li>channel - buffered records are appended using {@link FileChannel#write(ByteBuffer)}</li>
+ * <li>mapped - buffered records are copied into a sliding memory-mapped region of the file. Each region is mapped
+ * ahead of the written data, which pre-allocates file segments of a configured size. The file is truncated to the
+ * actual data size on close, so an abnormally terminated writer may leave a zero-filled tail. Such a tail is trimmed
+ * when the file is reopened in append mode.</li>
+ * </ul>
+ * <p>
+ * Neither mode forces written data to the storage device: a commit hands records to the OS page cache, and
+ * {@link #flush()} does not call {@link FileChannel#force(boolean)} or {@link MappedByteBuffer#force()}. In mapped mode
+ * in particular, committed records survive a process crash but may be lost on an OS crash or power failure until the
+ * OS writes the dirty pages back.
+ * </p>
+ *
+ * @version $Revision: 1 $
+ *
+ * @see FileSink
+ * @see GroupCommitOutputStream
+ */
+public class FileChannelOutputStream extends GroupCommitOutputStream {
+	public static final long DEFAULT_SEGMENT_SIZE = 64L * 1024 * 1024;
+
+	private final Path path;
+	private final FileChannel channel;
+	private final boolean mapped;
+	private final long segmentSize;
+
+	private MappedByteBuffer region;
+	private long position;
+
+	/**
+	 * Create a file channel stream for a given file and flush policy.
+	 *
+	 * @param path
+	 *            file path
+	 * @param append
+	 *            true to append to file, false otherwise (file recreated)
+	 * @param mapped
+	 *            true to write using memory-mapped file regions, false to write using file channel
+	 * @param flushBytes
+	 *            number of buffered bytes triggering a commit, {@code 0} to disable size based commits
+	 * @param flushInterval
+	 *            maximum time records stay buffered, {@code 0} to disable time based commits
+	 * @param unit
+	 *            flush interval time unit
+	 * @param segmentSize
+	 *            size of memory-mapped file region in bytes
+	 * @throws IOException
+	 *             if error opening file
+	 */
+	public FileChannelOutputStream(Path path, boolean append, boolean mapped, int flushBytes, long flushInterval,
+			TimeUnit unit, long segmentSize) throws IOException {
+		super(null, ByteBuffer.allocateDirect(bufferSize(flushBytes)), flushBytes, flushInterval, unit);
+		this.path = path;
+		this.mapped = mapped;
+		this.segmentSize = segmentSize > 0 ? segmentSize : DEFAULT_SEGMENT_SIZE;
+		if (mapped) {
+			this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+					StandardOpenOption.WRITE);
+			if (append) {
+				this.position = dataSize(channel);
+				channel.truncate(position);
+			} else {
+				channel.truncate(0);
+				this.position = 0;
+			}
+		} else {
+			this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+					append ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING);
+		}
+	}
+
+	/**
+	 * Determine the size of the data written to a file, excluding a zero-filled tail of a pre-allocated region left by
+	 * an abnormally terminated writer.
+	 *
+	 * @param channel
+	 *            file channel
+	 * @return size of the data in bytes
+	 * @throws IOException
+	 *             if error reading file
+	 */
+	private static long dataSize(FileChannel channel) throws IOException {
+		long size = channel.size();
+		ByteBuffer buf = ByteBuffer.allocate(8192);
+		while (size > 0) {
+			long start = Math.max(0, size - buf.capacity());
+			buf.clear().limit((int) (size - start));
+			while (buf.hasRemaining()) {
+				if (channel.read(buf, start + buf.position()) < 0) {
+					break;
+				}
+			}
+			for (int i = buf.position() - 1; i >= 0; i--) {
+				if (buf.get(i) != 0) {
+					return start + i + 1;
+				}
+			}
+			size = start;
+		}
+		return 0;
+	}
+
+	/**
+	 * Determine if this stream writes using memory-mapped file regions.
+	 *
+	 * @return true if memory-mapped file regions are used, false otherwise
+	 */
+	public boolean isMapped() {
+		return mapped;
+	}
+
+	/**
+	 * Obtain file path this stream writes to.
+	 *
+	 * @return file path
+	 */
+	public Path getPath() {
+		return path;
+	}
+
+	@Override
+	protected void writeOut(ByteBuffer src) throws IOException {
+		if (!mapped) {
+			while (src.hasRemaining()) {
+				channel.write(src);
+			}
+			return;
+		}
+		while (src.hasRemaining()) {
+			if (region == null || !region.hasRemaining()) {
+				region = channel.map(FileChannel.MapMode.READ_WRITE, position, segmentSize);
+			}
+			int len = Math.min(src.remaining(), region.remaining());
+			int limit = src.limit();
+			src.limit(src.position() + len);
+			region.put(src);
+			src.limit(limit);
+			position += len;
+		}
+	}
+
+	@Override
+	protected void flushOut() {
+		// data is handed to the OS page cache by writeOut(), storage device flush is not forced
+	}
+
+	@Override
+	protected void closeOut() throws IOException {
+		try {
+			region = null;
+			if (mapped) {
+				channel.truncate(position);
+			}
+		} finally {
+			channel.close();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() //
+				+ "{path: " + path //
+				+ ", mapped: " + mapped //
+				+ ", segment.size: " + segmentSize //
+				+ "}";
+	}
+}
@@ -16,12 +16,18 @@
 package com.jkoolcloud.tnt4j.sink.impl;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
+import com.jkoolcloud.tnt4j.core.KeyValueStats;
 import com.jkoolcloud.tnt4j.core.OpLevel;
 import com.jkoolcloud.tnt4j.core.Snapshot;
 import com.jkoolcloud.tnt4j.format.EventFormatter;
 import com.jkoolcloud.tnt4j.sink.AbstractEventSink;
 import com.jkoolcloud.tnt4j.sink.EventSink;
+import com.jkoolcloud.tnt4j.sink.SinkBatchException;
+import com.jkoolcloud.tnt4j.sink.SinkLogEvent;
 import com.jkoolcloud.tnt4j.source.Source;
 import com.jkoolcloud.tnt4j.tracker.TrackingActivity;
 import com.jkoolcloud.tnt4j.tracker.TrackingEvent;
@@ -41,8 +47,14 @@ import com.jkoolcloud.tnt4j.utils.Utils;
  * @see AbstractEventSink
  */
 public class FileEventSink extends AbstractEventSink {
+	static final String KEY_FILE_BYTES_WRITTEN = "file-bytes-written";
+	static final String KEY_FILE_FLUSH_COUNT = "file-flush-count";
+	static final String KEY_FILE_AVG_FLUSH_BATCH = "file-avg-flush-batch";
+	static final String KEY_FILE_ROLL_COUNT = "file-roll-count";
+	static final String KEY_FILE_FAILURE_COUNT = "file-failure-count";
 
 	FileSink fileSink;
+	private boolean batching = false;
 
 	/**
 	 * Create a file based event sink instance.
@@ -61,6 +73,63 @@ public class FileEventSink extends AbstractEventSink {
 		fileSink = new FileSink(fileName, append, frm);
 	}
 
+	/**
+	 * Set group commit flush policy of the underlying {@link FileSink}. Must be called before sink is opened.
+	 * 
+	 * @param bytes
+	 *            number of buffered bytes triggering a flush, {@code 0} to disable size based flushing
+	 * @param interval
+	 *            maximum time entries stay buffered, {@code 0} to disable time based flushing
+	 * @param unit
+	 *            flush interval time unit
+	 * @return itself
+	 * 
+	 * @see FileSink#setFlushPolicy(int, long, TimeUnit)
+	 */
+	public FileEventSink setFlushPolicy(int bytes, long interval, TimeUnit unit) {
+		fileSink.setFlushPolicy(bytes, interval, unit);
+		return this;
+	}
+
+	/**
+	 * Set mode used by the underlying {@link FileSink} to write entries to the file. Must be called before sink is
+	 * opened.
+	 * 
+	 * @param mode
+	 *            file write mode
+	 * @param segmentSize
+	 *            size of memory-mapped file region in bytes, used by {@link FileSink.WriteMode#MMAP} mode
+	 * @return itself
+	 * 
+	 * @see FileSink#setWriteMode(FileSink.WriteMode, long)
+	 */
+	public FileEventSink setWriteMode(FileSink.WriteMode mode, long segmentSize) {
+		fileSink.setWriteMode(mode, segmentSize);
+		return this;
+	}
+
+	/**
+	 * Set roll policy of the underlying {@link FileSink}. Must be called before sink is opened.
+	 * 
+	 * @param size
+	 *            file size in bytes triggering a roll, {@code 0} to disable size based rolling
+	 * @param interval
+	 *            maximum age of file before it is rolled, {@code 0} to disable time based rolling
+	 * @param unit
+	 *            roll interval time unit
+	 * @param maxSegments
+	 *            maximum number of rolled segments to retain, {@code 0} to retain all segments
+	 * @param compress
+	 *            true to gzip compress rolled segments, false otherwise
+	 * @return itself
+	 * 
+	 * @see FileSink#setRollPolicy(long, long, TimeUnit, int, boolean)
+	 */
+	public FileEventSink setRollPolicy(long size, long interval, TimeUnit unit, int maxSegments, boolean compress) {
+		fileSink.setRollPolicy(size, interval, unit, maxSegments, compress);
+		return this;
+	}
+
 	@Override
 	public Object getSinkHandle() {
 		return fileSink;
@@ -88,29 +157,58 @@ public class FileEventSink extends AbstractEventSink {
 
 	@Override
 	protected void _log(TrackingEvent event) throws IOException {
-		_writeLog(getEventFormatter().format(event));
+		StringBuilder line = lineBuilder();
+		getEventFormatter().format(line, event);
+		_writeLog(line);
 	}
 
 	@Override
 	protected void _log(TrackingActivity activity) throws IOException {
-		_writeLog(getEventFormatter().format(activity));
+		StringBuilder line = lineBuilder();
+		getEventFormatter().format(line, activity);
+		_writeLog(line);
+	}
+
+	@Override
+	protected void _log(Snapshot snapshot) throws IOException {
+		StringBuilder line = lineBuilder();
+		getEventFormatter().format(line, snapshot);
+		_writeLog(line);
 	}
 
 	@Override
-	protected void _log(Snapshot snapshot) {
-		_writeLog(getEventFormatter().format(snapshot));
+	protected void _log(long ttl, Source src, OpLevel sev, String msg, Object... args) throws IOException {
+		StringBuilder line = lineBuilder();
+		getEventFormatter().format(line, ttl, src, sev, msg, args);
+		_writeLog(line);
 	}
 
 	@Override
-	protected void _log(long ttl, Source src, OpLevel sev, String msg, Object... args) {
-		_writeLog(getEventFormatter().format(ttl, src, sev, msg, args));
+	protected synchronized void _log(Collection<SinkLogEvent> events) throws IOException {
+		batching = true;
+		try {
+			super._log(events);
+		} catch (SinkBatchException ex) {
+			try {
+				fileSink.commit();
+			} catch (IOException cex) {
+				// entries already handed to the sink may be lost: none of them are treated as logged
+				SinkBatchException bex = new SinkBatchException("Failed to commit event batch: sink=" + this, 0, cex);
+				bex.addSuppressed(ex);
+				throw bex;
+			}
+			throw ex;
+		} finally {
+			batching = false;
+		}
+		fileSink.commit();
 	}
 
-	protected synchronized void _writeLog(String msg) {
+	protected synchronized void _writeLog(CharSequence msg) throws IOException {
 		_checkState();
 
 		incrementBytesSent(msg.length());
-		fileSink.print_(msg);
+		fileSink.print_(msg, !batching);
 	}
 
 	@Override
@@ -120,6 +218,23 @@ public class FileEventSink extends AbstractEventSink {
 		}
 	}
 
+	@Override
+	public KeyValueStats getStats(Map<String, Object> stats) {
+		super.getStats(stats);
+		stats.put(Utils.qualify(this, KEY_FILE_BYTES_WRITTEN), fileSink.getBytesWritten());
+		stats.put(Utils.qualify(this, KEY_FILE_FLUSH_COUNT), fileSink.getFlushCount());
+		stats.put(Utils.qualify(this, KEY_FILE_AVG_FLUSH_BATCH), fileSink.getAvgFlushBatch());
+		stats.put(Utils.qualify(this, KEY_FILE_ROLL_COUNT), fileSink.getRollCount());
+		stats.put(Utils.qualify(this, KEY_FILE_FAILURE_COUNT), fileSink.getFailureCount());
+		return this;
+	}
+
+	@Override
+	public void resetStats() {
+		super.resetStats();
+		fileSink.resetStats();
+	}
+
 	@Override
 	public String toString() {
 		return super.toString()//
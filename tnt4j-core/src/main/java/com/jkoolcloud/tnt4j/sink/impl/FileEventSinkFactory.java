@@ -21,6 +21,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang3.StringUtils;
 
@@ -56,6 +57,22 @@ public class FileEventSinkFactory extends AbstractEventSinkFactory {
 			".log");
 	public static final String FILE_SINK_FACTORY_DEF_FOLDER;
 
+	public static final int FILE_SINK_FACTORY_FLUSH_BYTES = Integer
+			.getInteger("tnt4j.file.event.sink.factory.flush.bytes", 0);
+	public static final long FILE_SINK_FACTORY_FLUSH_INTERVAL_MS = Long
+			.getLong("tnt4j.file.event.sink.factory.flush.interval.ms", 0);
+	public static final String FILE_SINK_FACTORY_WRITE_MODE = System
+			.getProperty("tnt4j.file.event.sink.factory.write.mode", FileSink.WriteMode.STREAM.name());
+	public static final long FILE_SINK_FACTORY_SEGMENT_SIZE = Long.getLong(
+			"tnt4j.file.event.sink.factory.segment.size", FileChannelOutputStream.DEFAULT_SEGMENT_SIZE);
+	public static final long FILE_SINK_FACTORY_ROLL_SIZE = Long.getLong("tnt4j.file.event.sink.factory.roll.size", 0);
+	public static final long FILE_SINK_FACTORY_ROLL_INTERVAL_MS = Long
+			.getLong("tnt4j.file.event.sink.factory.roll.interval.ms", 0);
+	public static final int FILE_SINK_FACTORY_MAX_SEGMENTS = Integer
+			.getInteger("tnt4j.file.event.sink.factory.max.segments", 0);
+	public static final boolean FILE_SINK_FACTORY_COMPRESS = Boolean
+			.getBoolean("tnt4j.file.event.sink.factory.compress");
+
 	static {
 		Path defLogPath = Paths.get(TMP_DIR, Utils.getVMName());
 		FILE_SINK_FACTORY_DEF_FOLDER = System.getProperty("tnt4j.file.event.sink.factory.folder",
@@ -65,6 +82,14 @@ public class FileEventSinkFactory extends AbstractEventSinkFactory {
 	protected boolean append = true;
 	protected String fileName = FILE_SINK_FACTORY_DEF_FILE;
 	protected String logFolder = FILE_SINK_FACTORY_DEF_FOLDER;
+	protected int flushBytes = FILE_SINK_FACTORY_FLUSH_BYTES;
+	protected long flushIntervalMs = FILE_SINK_FACTORY_FLUSH_INTERVAL_MS;
+	protected FileSink.WriteMode writeMode = FileSink.WriteMode.valueOf(FILE_SINK_FACTORY_WRITE_MODE.toUpperCase());
+	protected long segmentSize = FILE_SINK_FACTORY_SEGMENT_SIZE;
+	protected long rollSize = FILE_SINK_FACTORY_ROLL_SIZE;
+	protected long rollIntervalMs = FILE_SINK_FACTORY_ROLL_INTERVAL_MS;
+	protected int maxSegments = FILE_SINK_FACTORY_MAX_SEGMENTS;
+	protected boolean compress = FILE_SINK_FACTORY_COMPRESS;
 
 	/**
 	 * Create a default sink factory with default file name based on current timestamp: yyyy-MM-dd.log.
@@ -110,6 +135,59 @@ public class FileEventSinkFactory extends AbstractEventSinkFactory {
 		return this;
 	}
 
+	/**
+	 * Set group commit flush policy for created file sinks. When both values are {@code 0} (default), every entry is
+	 * flushed to the file as soon as it is written.
+	 * 
+	 * @param bytes
+	 *            number of buffered bytes triggering a flush, {@code 0} to disable size based flushing
+	 * @param intervalMs
+	 *            maximum time in milliseconds entries stay buffered, {@code 0} to disable time based flushing
+	 * @return instance of this factory
+	 */
+	public FileEventSinkFactory setFlushPolicy(int bytes, long intervalMs) {
+		flushBytes = bytes;
+		flushIntervalMs = intervalMs;
+		return this;
+	}
+
+	/**
+	 * Set mode used by created file sinks to write entries to files.
+	 * 
+	 * @param mode
+	 *            file write mode
+	 * @param segmentSize
+	 *            size of memory-mapped file region in bytes, used by {@link FileSink.WriteMode#MMAP} mode
+	 * @return instance of this factory
+	 */
+	public FileEventSinkFactory setWriteMode(FileSink.WriteMode mode, long segmentSize) {
+		writeMode = mode;
+		this.segmentSize = segmentSize;
+		return this;
+	}
+
+	/**
+	 * Set roll policy for created file sinks. When both size and interval are {@code 0} (default), files are never
+	 * rolled.
+	 * 
+	 * @param size
+	 *            file size in bytes triggering a roll, {@code 0} to disable size based rolling
+	 * @param intervalMs
+	 *            maximum age of file in milliseconds before it is rolled, {@code 0} to disable time based rolling
+	 * @param maxSegments
+	 *            maximum number of rolled segments to retain, {@code 0} to retain all segments
+	 * @param compress
+	 *            true to gzip compress rolled segments, false otherwise
+	 * @return instance of this factory
+	 */
+	public FileEventSinkFactory setRollPolicy(long size, long intervalMs, int maxSegments, boolean compress) {
+		rollSize = size;
+		rollIntervalMs = intervalMs;
+		this.maxSegments = maxSegments;
+		this.compress = compress;
+		return this;
+	}
+
 	@Override
 	public EventSink getEventSink(String name) {
 		return getEventSink(name, System.getProperties());
@@ -126,7 +204,10 @@ public class FileEventSinkFactory extends AbstractEventSinkFactory {
 
 		String fname = (fileName != null) ? fileName : (name + FILE_SINK_FACTORY_LOG_EXT);
 		fname = Paths.get(logFolder, fname).toString();
-		return configureSink(new FileEventSink(name, fname, append, frmt));
+		return configureSink(new FileEventSink(name, fname, append, frmt)
+				.setFlushPolicy(flushBytes, flushIntervalMs, TimeUnit.MILLISECONDS)
+				.setWriteMode(writeMode, segmentSize)
+				.setRollPolicy(rollSize, rollIntervalMs, TimeUnit.MILLISECONDS, maxSegments, compress));
 	}
 
 	@Override
@@ -141,6 +222,19 @@ public class FileEventSinkFactory extends AbstractEventSinkFactory {
 		setFileName(Utils.getString("FileName", props, fileName));
 		setFolder(Utils.getString("Folder", props, logFolder));
 		setAppend(Utils.getBoolean("Append", props, append));
+		setFlushPolicy(Utils.getInt("FlushBytes", props, flushBytes),
+				Utils.getLong("FlushIntervalMs", props, flushIntervalMs));
+
+		String mode = Utils.getString("WriteMode", props, writeMode.name());
+		try {
+			setWriteMode(FileSink.WriteMode.valueOf(mode.toUpperCase()),
+					Utils.getLong("SegmentSize", props, segmentSize));
+		} catch (IllegalArgumentException exc) {
+			throw new ConfigException(exc.getLocalizedMessage(), props);
+		}
+		setRollPolicy(Utils.getLong("RollSize", props, rollSize),
+				Utils.getLong("RollIntervalMs", props, rollIntervalMs),
+				Utils.getInt("MaxSegments", props, maxSegments), Utils.getBoolean("Compress", props, compress));
 	}
 
 	/**
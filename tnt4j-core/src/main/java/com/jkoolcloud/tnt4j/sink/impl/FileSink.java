@@ -18,13 +18,13 @@ package com.jkoolcloud.tnt4j.sink.impl;
 import java.io.File;
 import java.io.IOException;
 import java.io.PrintStream;
-import java.nio.file.Files;
-import java.nio.file.StandardOpenOption;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.TimeUnit;
 
+import com.jkoolcloud.tnt4j.core.OpLevel;
 import com.jkoolcloud.tnt4j.format.DefaultFormatter;
 import com.jkoolcloud.tnt4j.format.Formatter;
+import com.jkoolcloud.tnt4j.sink.DefaultEventSinkFactory;
+import com.jkoolcloud.tnt4j.sink.EventSink;
 import com.jkoolcloud.tnt4j.sink.Sink;
 
 /**
@@ -32,21 +32,69 @@ import com.jkoolcloud.tnt4j.sink.Sink;
  * This class implements {@link Sink} with file as the underlying storage
  * </p>
  * 
+ * <p>
+ * Written entries are group committed using {@link GroupCommitOutputStream}: by default every entry is flushed to the
+ * file, while {@link #setFlushPolicy(int, long, TimeUnit)} allows entries to be buffered until a number of bytes is
+ * accumulated or a time interval elapses. Sinks writing to the same file within the JVM share a single writer, using
+ * write mode, flush and roll policies of the first sink opening the file.
+ * </p>
+ * 
+ * <p>
+ * {@link #setRollPolicy(long, long, TimeUnit, int, boolean)} enables rolling of the file once it reaches a given size
+ * or age. Rolled segments are compressed and pruned in background.
+ * </p>
+ * 
+ * <p>
+ * {@link WriteMode} selects how entries reach the file: using a regular output stream (default), or NIO
+ * {@link FileChannelOutputStream} appending through a file channel or a sliding memory-mapped file region.
+ * </p>
+ * 
  * 
  * @version $Revision: 4 $
  * 
  * @see Sink
  * @see Formatter
  * @see DefaultFormatter
+ * @see GroupCommitOutputStream
+ * @see FileChannelOutputStream
  */
 
 public class FileSink implements Sink {
+	private static final EventSink logger = DefaultEventSinkFactory.defaultEventSink(FileSink.class);
+
+	/**
+	 * Enumerates modes used to write entries to the file.
+	 */
+	public enum WriteMode {
+		/**
+		 * Write using file output stream.
+		 */
+		STREAM,
+		/**
+		 * Append using NIO file channel and direct byte buffers.
+		 */
+		CHANNEL,
+		/**
+		 * Append using sliding memory-mapped file regions, pre-allocating file segments.
+		 */
+		MMAP
+	}
 
 	protected File file = null;
 	protected PrintStream printer = null;
 	protected Formatter formatter = null;
 	protected boolean append = true;
 
+	private SharedFileWriter writer;
+	private int flushBytes = 0;
+	private long flushIntervalMs = 0;
+	private WriteMode writeMode = WriteMode.STREAM;
+	private long segmentSize = FileChannelOutputStream.DEFAULT_SEGMENT_SIZE;
+	private long rollSize = 0;
+	private long rollIntervalMs = 0;
+	private int maxSegments = 0;
+	private boolean compress = false;
+
 	/**
 	 * Create a file based sink based on given filename.
 	 * 
@@ -86,6 +134,195 @@ public class FileSink implements Sink {
 		formatter = format;
 	}
 
+	/**
+	 * Set group commit flush policy used by this sink. Must be called before sink is opened. When both values are
+	 * {@code 0} (default), every entry is flushed to the file as soon as it is written.
+	 * 
+	 * @param bytes
+	 *            number of buffered bytes triggering a flush, {@code 0} to disable size based flushing
+	 * @param interval
+	 *            maximum time entries stay buffered, {@code 0} to disable time based flushing
+	 * @param unit
+	 *            flush interval time unit
+	 * @return itself
+	 */
+	public FileSink setFlushPolicy(int bytes, long interval, TimeUnit unit) {
+		this.flushBytes = Math.max(bytes, 0);
+		this.flushIntervalMs = Math.max(unit.toMillis(interval), 0);
+		return this;
+	}
+
+	/**
+	 * Set mode used to write entries to the file. Must be called before sink is opened.
+	 * 
+	 * @param mode
+	 *            file write mode
+	 * @param segmentSize
+	 *            size of memory-mapped file region in bytes, used by {@link WriteMode#MMAP} mode
+	 * @return itself
+	 */
+	public FileSink setWriteMode(WriteMode mode, long segmentSize) {
+		this.writeMode = mode == null ? WriteMode.STREAM : mode;
+		this.segmentSize = segmentSize > 0 ? segmentSize : FileChannelOutputStream.DEFAULT_SEGMENT_SIZE;
+		return this;
+	}
+
+	/**
+	 * Set roll policy used by this sink. Must be called before sink is opened. When both size and interval are
+	 * {@code 0} (default), the file is never rolled.
+	 * 
+	 * @param size
+	 *            file size in bytes triggering a roll, {@code 0} to disable size based rolling
+	 * @param interval
+	 *            maximum age of file before it is rolled, {@code 0} to disable time based rolling
+	 * @param unit
+	 *            roll interval time unit
+	 * @param maxSegments
+	 *            maximum number of rolled segments to retain, {@code 0} to retain all segments
+	 * @param compress
+	 *            true to gzip compress rolled segments, false otherwise
+	 * @return itself
+	 */
+	public FileSink setRollPolicy(long size, long interval, TimeUnit unit, int maxSegments, boolean compress) {
+		this.rollSize = Math.max(size, 0);
+		this.rollIntervalMs = Math.max(unit.toMillis(interval), 0);
+		this.maxSegments = Math.max(maxSegments, 0);
+		this.compress = compress;
+		return this;
+	}
+
+	/**
+	 * Obtain file size in bytes triggering a roll.
+	 * 
+	 * @return roll size in bytes, {@code 0} if size based rolling is disabled
+	 */
+	public long getRollSize() {
+		return rollSize;
+	}
+
+	/**
+	 * Obtain maximum age of file before it is rolled.
+	 * 
+	 * @return roll interval in milliseconds, {@code 0} if time based rolling is disabled
+	 */
+	public long getRollIntervalMs() {
+		return rollIntervalMs;
+	}
+
+	/**
+	 * Obtain maximum number of rolled segments to retain.
+	 * 
+	 * @return maximum number of rolled segments, {@code 0} if all segments are retained
+	 */
+	public int getMaxSegments() {
+		return maxSegments;
+	}
+
+	/**
+	 * Determine if rolled segments are gzip compressed.
+	 * 
+	 * @return true if rolled segments are compressed, false otherwise
+	 */
+	public boolean isCompress() {
+		return compress;
+	}
+
+	/**
+	 * Obtain size of memory-mapped file region used by {@link WriteMode#MMAP} mode.
+	 * 
+	 * @return size of memory-mapped file region in bytes
+	 */
+	public long getSegmentSize() {
+		return segmentSize;
+	}
+
+	/**
+	 * Obtain mode used to write entries to the file.
+	 * 
+	 * @return file write mode
+	 */
+	public WriteMode getWriteMode() {
+		return writeMode;
+	}
+
+	/**
+	 * Obtain number of buffered bytes triggering a flush.
+	 * 
+	 * @return flush size in bytes, {@code 0} if size based flushing is disabled
+	 */
+	public int getFlushBytes() {
+		return flushBytes;
+	}
+
+	/**
+	 * Obtain maximum time entries stay buffered before being flushed.
+	 * 
+	 * @return flush interval in milliseconds, {@code 0} if time based flushing is disabled
+	 */
+	public long getFlushIntervalMs() {
+		return flushIntervalMs;
+	}
+
+	/**
+	 * Obtain total number of bytes written to the file since sink was opened.
+	 * 
+	 * @return number of bytes written
+	 */
+	public long getBytesWritten() {
+		SharedFileWriter fw = writer;
+		return fw != null ? fw.getBytesWritten() : 0;
+	}
+
+	/**
+	 * Obtain number of flushes performed since sink was opened.
+	 * 
+	 * @return number of flushes
+	 */
+	public long getFlushCount() {
+		SharedFileWriter fw = writer;
+		return fw != null ? fw.getFlushCount() : 0;
+	}
+
+	/**
+	 * Obtain average number of entries written to the file per flush.
+	 * 
+	 * @return average flush batch size
+	 */
+	public double getAvgFlushBatch() {
+		SharedFileWriter fw = writer;
+		return fw != null ? fw.getAvgFlushBatch() : 0.0;
+	}
+
+	/**
+	 * Obtain number of times the file was rolled since sink was opened.
+	 * 
+	 * @return number of file rolls
+	 */
+	public long getRollCount() {
+		SharedFileWriter fw = writer;
+		return fw != null ? fw.getRollCount() : 0;
+	}
+
+	/**
+	 * Obtain number of failed background flushes and segment archiving attempts since sink was opened.
+	 * 
+	 * @return number of background failures
+	 */
+	public long getFailureCount() {
+		SharedFileWriter fw = writer;
+		return fw != null ? fw.getFailureCount() : 0;
+	}
+
+	/**
+	 * Reset file write statistics.
+	 */
+	public void resetStats() {
+		SharedFileWriter fw = writer;
+		if (fw != null) {
+			fw.resetStats();
+		}
+	}
+
 	/**
 	 * Obtain underlying print stream handle
 	 * 
@@ -113,9 +350,15 @@ public class FileSink implements Sink {
 	public synchronized void close() {
 		if (printer != null) {
 			printer.flush();
-			printer.close();
+			printer = null;
+			try {
+				writer.release();
+			} catch (IOException exc) {
+				logger.log(OpLevel.ERROR, "Failed to close file: sink.file={0}", file, exc);
+			} finally {
+				writer = null;
+			}
 		}
-		printer = null;
 	}
 
 	@Override
@@ -132,8 +375,8 @@ public class FileSink implements Sink {
 		}
 
 		if (printer == null) {
-			printer = new PrintStream(Files.newOutputStream(file.toPath(), StandardOpenOption.CREATE,
-					append ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING));
+			writer = SharedFileWriter.acquire(file.toPath(), append, this);
+			printer = new PrintStream(writer.asOutputStream());
 		}
 	}
 
@@ -153,7 +396,8 @@ public class FileSink implements Sink {
 
 	@Override
 	public String toString() {
-		return super.toString() + "{file: " + file + ", append: " + append + ", is.open: " + isOpen() + "}";
+		return super.toString() + "{file: " + file + ", append: " + append + ", write.mode: " + writeMode
+				+ ", is.open: " + isOpen() + "}";
 	}
 
 	@Override
@@ -163,15 +407,23 @@ public class FileSink implements Sink {
 		}
 	}
 
-	private static Lock lock = new ReentrantLock();
-
-	void print_(String msg) {
-		lock.lock();
-		try {
-			printer.println(msg);
-		} finally {
-			printer.flush();
-			lock.unlock();
+	/**
+	 * Commit buffered entries to the file if flush policy requires it.
+	 * 
+	 * @throws IOException
+	 *             if error writing to the file
+	 */
+	void commit() throws IOException {
+		if (isOpen()) {
+			writer.commit();
 		}
 	}
+
+	void print_(CharSequence msg) throws IOException {
+		print_(msg, true);
+	}
+
+	void print_(CharSequence msg, boolean commit) throws IOException {
+		writer.writeLine(msg, commit);
+	}
 }
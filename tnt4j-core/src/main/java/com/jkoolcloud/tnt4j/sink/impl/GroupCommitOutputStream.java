@@ -0,0 +1,358 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jkoolcloud.tnt4j.sink.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * This class implements an {@link OutputStream} which accumulates written records in an internal byte buffer and
+ * commits them to the underlying stream as a group. Records are committed when buffered bytes reach the configured
+ * flush size, when the configured flush interval elapses, or when {@link #flush()} is called explicitly. When neither
+ * flush size nor flush interval is set, every record is committed as soon as it is marked complete.
+ * </p>
+ *
+ * <p>
+ * Callers should call {@link #endRecord()} after each complete record and {@link #commitIfDue()} to apply flush
+ * policy, so that the underlying stream only receives whole records on commit. Text records written using
+ * {@link #writeLine(CharSequence)} are encoded straight into the buffer without intermediate byte arrays.
+ * </p>
+ *
+ * @version $Revision: 1 $
+ *
+ * @see FileSink
+ * @see FileChannelOutputStream
+ */
+public class GroupCommitOutputStream extends OutputStream {
+	static final int DEFAULT_BUFFER_SIZE = 8192;
+	static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes();
+
+	private final OutputStream out;
+	private final int flushBytes;
+	private final long flushNanos;
+
+	protected final ByteBuffer buffer;
+	private final CharsetEncoder encoder = Charset.defaultCharset().newEncoder()
+			.onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+	private long lastCommit = System.nanoTime();
+
+	private long pendingRecords;
+	private long totalBytes;
+	private long bytesWritten;
+	private long commitCount;
+	private long committedRecords;
+
+	/**
+	 * Create a group commit stream which commits every record to the underlying stream.
+	 *
+	 * @param out
+	 *            underlying output stream
+	 */
+	public GroupCommitOutputStream(OutputStream out) {
+		this(out, 0, 0, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Create a group commit stream with a given flush policy.
+	 *
+	 * @param out
+	 *            underlying output stream
+	 * @param flushBytes
+	 *            number of buffered bytes triggering a commit, {@code 0} to disable size based commits
+	 * @param flushInterval
+	 *            maximum time records stay buffered, {@code 0} to disable time based commits
+	 * @param unit
+	 *            flush interval time unit
+	 */
+	public GroupCommitOutputStream(OutputStream out, int flushBytes, long flushInterval, TimeUnit unit) {
+		this(out, ByteBuffer.allocate(bufferSize(flushBytes)), flushBytes, flushInterval, unit);
+	}
+
+	/**
+	 * Create a group commit stream with a given buffer and flush policy. Subclasses passing {@code null} output stream
+	 * must override {@link #writeOut(ByteBuffer)}, {@link #flushOut()} and {@link #closeOut()}.
+	 *
+	 * @param out
+	 *            underlying output stream
+	 * @param buffer
+	 *            buffer used to accumulate records, heap buffer when {@code out} is used
+	 * @param flushBytes
+	 *            number of buffered bytes triggering a commit, {@code 0} to disable size based commits
+	 * @param flushInterval
+	 *            maximum time records stay buffered, {@code 0} to disable time based commits
+	 * @param unit
+	 *            flush interval time unit
+	 */
+	protected GroupCommitOutputStream(OutputStream out, ByteBuffer buffer, int flushBytes, long flushInterval,
+			TimeUnit unit) {
+		this.out = out;
+		this.buffer = buffer;
+		this.flushBytes = Math.max(flushBytes, 0);
+		this.flushNanos = Math.max(unit.toNanos(flushInterval), 0);
+	}
+
+	/**
+	 * Obtain buffer size required for a given flush size.
+	 *
+	 * @param flushBytes
+	 *            number of buffered bytes triggering a commit
+	 * @return buffer size in bytes
+	 */
+	static int bufferSize(int flushBytes) {
+		return Math.max(flushBytes, 0) + DEFAULT_BUFFER_SIZE;
+	}
+
+	@Override
+	public synchronized void write(int b) throws IOException {
+		if (!buffer.hasRemaining()) {
+			writeBuffer();
+		}
+		buffer.put((byte) b);
+	}
+
+	@Override
+	public synchronized void write(byte[] b, int off, int len) throws IOException {
+		if (len > buffer.remaining()) {
+			writeBuffer();
+		}
+		if (len >= buffer.capacity()) {
+			totalBytes += len;
+			bytesWritten += len;
+			writeOut(ByteBuffer.wrap(b, off, len));
+			return;
+		}
+		buffer.put(b, off, len);
+	}
+
+	/**
+	 * Encode a given text followed by line separator into the buffer and mark end of a record.
+	 *
+	 * @param line
+	 *            text to be written
+	 * @throws IOException
+	 *             if error writing to the underlying stream
+	 */
+	public synchronized void writeLine(CharSequence line) throws IOException {
+		CharBuffer chars = CharBuffer.wrap(line);
+		encoder.reset();
+		CoderResult result;
+		while ((result = encoder.encode(chars, buffer, true)).isOverflow()) {
+			writeBuffer();
+		}
+		if (result.isError()) {
+			result.throwException();
+		}
+		while (encoder.flush(buffer).isOverflow()) {
+			writeBuffer();
+		}
+		write(LINE_SEPARATOR, 0, LINE_SEPARATOR.length);
+		pendingRecords++;
+	}
+
+	/**
+	 * Mark end of a record written to this stream.
+	 */
+	public synchronized void endRecord() {
+		pendingRecords++;
+	}
+
+	/**
+	 * Commit buffered records if flush policy requires it.
+	 *
+	 * @return true if buffered records were committed, false otherwise
+	 * @throws IOException
+	 *             if error writing to the underlying stream
+	 */
+	public synchronized boolean commitIfDue() throws IOException {
+		if (buffer.position() == 0 && pendingRecords == 0) {
+			return false;
+		}
+		if (isDue()) {
+			flush();
+			return true;
+		}
+		return false;
+	}
+
+	private boolean isDue() {
+		if (flushBytes == 0 && flushNanos == 0) {
+			return true;
+		}
+		if (flushBytes > 0 && buffer.position() >= flushBytes) {
+			return true;
+		}
+		return flushNanos > 0 && (System.nanoTime() - lastCommit) >= flushNanos;
+	}
+
+	private void writeBuffer() throws IOException {
+		if (buffer.position() > 0) {
+			buffer.flip();
+			totalBytes += buffer.remaining();
+			bytesWritten += buffer.remaining();
+			try {
+				writeOut(buffer);
+			} finally {
+				buffer.clear();
+			}
+		}
+	}
+
+	/**
+	 * Write all remaining bytes of a given buffer to the underlying destination.
+	 *
+	 * @param src
+	 *            bytes to be written
+	 * @throws IOException
+	 *             if error writing to the underlying destination
+	 */
+	protected void writeOut(ByteBuffer src) throws IOException {
+		out.write(src.array(), src.arrayOffset() + src.position(), src.remaining());
+		src.position(src.limit());
+	}
+
+	/**
+	 * Flush the underlying destination.
+	 *
+	 * @throws IOException
+	 *             if error flushing the underlying destination
+	 */
+	protected void flushOut() throws IOException {
+		out.flush();
+	}
+
+	/**
+	 * Close the underlying destination.
+	 *
+	 * @throws IOException
+	 *             if error closing the underlying destination
+	 */
+	protected void closeOut() throws IOException {
+		out.close();
+	}
+
+	@Override
+	public synchronized void flush() throws IOException {
+		writeBuffer();
+		flushOut();
+		lastCommit = System.nanoTime();
+		if (pendingRecords > 0) {
+			commitCount++;
+			committedRecords += pendingRecords;
+			pendingRecords = 0;
+		}
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		try {
+			flush();
+		} finally {
+			closeOut();
+		}
+	}
+
+	/**
+	 * Obtain number of bytes currently held in the buffer.
+	 *
+	 * @return number of buffered bytes
+	 */
+	public synchronized int getBufferedBytes() {
+		return buffer.position();
+	}
+
+	/**
+	 * Obtain number of bytes accepted by this stream since it was created, including buffered bytes. Unlike
+	 * {@link #getBytesWritten()} this value is not affected by {@link #resetStats()}.
+	 *
+	 * @return number of bytes accepted by this stream
+	 */
+	public synchronized long getSize() {
+		return totalBytes + buffer.position();
+	}
+
+	/**
+	 * Obtain total number of bytes written to the underlying stream.
+	 *
+	 * @return number of bytes written
+	 */
+	public synchronized long getBytesWritten() {
+		return bytesWritten;
+	}
+
+	/**
+	 * Obtain number of commits performed so far.
+	 *
+	 * @return number of commits
+	 */
+	public synchronized long getCommitCount() {
+		return commitCount;
+	}
+
+	/**
+	 * Obtain number of records committed so far.
+	 *
+	 * @return number of committed records
+	 */
+	public synchronized long getCommittedRecords() {
+		return committedRecords;
+	}
+
+	/**
+	 * Obtain average number of records per commit.
+	 *
+	 * @return average commit batch size
+	 */
+	public synchronized double getAvgBatchSize() {
+		return commitCount == 0 ? 0.0 : (double) committedRecords / commitCount;
+	}
+
+	/**
+	 * Obtain number of buffered bytes triggering a commit.
+	 *
+	 * @return flush size in bytes, {@code 0} if size based commits are disabled
+	 */
+	public int getFlushBytes() {
+		return flushBytes;
+	}
+
+	/**
+	 * Obtain maximum time records stay buffered.
+	 *
+	 * @param unit
+	 *            time unit
+	 * @return flush interval, {@code 0} if time based commits are disabled
+	 */
+	public long getFlushInterval(TimeUnit unit) {
+		return unit.convert(flushNanos, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Reset write and commit statistics.
+	 */
+	public synchronized void resetStats() {
+		bytesWritten = 0;
+		commitCount = 0;
+		committedRecords = 0;
+	}
+}
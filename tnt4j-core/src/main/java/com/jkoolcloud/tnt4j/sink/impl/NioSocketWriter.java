@@ -0,0 +1,577 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jkoolcloud.tnt4j.sink.impl;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.*;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import com.jkoolcloud.tnt4j.utils.NamedThreadFactory;
+
+/**
+ * <p>
+ * This class implements a non-blocking socket writer used by {@link SocketEventSink}. Lines are encoded straight into
+ * reusable direct {@link ByteBuffer}s, which are sent using gathering writes on a non-blocking {@link SocketChannel}.
+ * When socket send buffer is full, remaining data is sent by a shared selector thread, while writers keep appending
+ * to outbound buffers. Outbound buffers are bounded: writers block once the configured number of pending bytes is
+ * reached, until the selector thread drains them or write timeout elapses.
+ * </p>
+ *
+ * <p>
+ * Write failures detected by the selector thread are reported by the next write, flush or close call.
+ * </p>
+ *
+ * @version $Revision: 1 $
+ *
+ * @see SocketEventSink
+ */
+public class NioSocketWriter {
+	public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+	public static final long DEFAULT_MAX_PENDING_BYTES = 4L * 1024 * 1024;
+	public static final long DEFAULT_WRITE_TIMEOUT_MS = TimeUnit.SECONDS.toMillis(30);
+
+	private static final byte[] NEW_LINE = { '\n' };
+	private static SelectorLoop selectorLoop;
+
+	private final SocketChannel channel;
+	private final int bufferSize;
+	private final int maxBuffers;
+	private final long writeTimeoutMs;
+	private final CharsetEncoder encoder = Charset.defaultCharset().newEncoder()
+			.onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+	private final ArrayDeque<ByteBuffer> pending = new ArrayDeque<>();
+	private final ArrayDeque<ByteBuffer> free = new ArrayDeque<>();
+	private final ByteBuffer[] gather;
+	private ByteBuffer current;
+	private int allocated;
+	private boolean inFlight;
+	private IOException error;
+	private SelectionKey key;
+
+	private long bytesWritten;
+	private long writeCount;
+	private long partialWrites;
+	private long backpressureWaits;
+
+	/**
+	 * Create a non-blocking socket writer connected to a given address.
+	 *
+	 * @param address
+	 *            socket address to connect to
+	 * @param bufferSize
+	 *            size of a single outbound buffer in bytes
+	 * @param maxPendingBytes
+	 *            maximum number of bytes held in outbound buffers before writers block
+	 * @param writeTimeoutMs
+	 *            maximum time in milliseconds writers block waiting for outbound buffer space
+	 * @throws IOException
+	 *             if error connecting to a given address
+	 */
+	public NioSocketWriter(InetSocketAddress address, int bufferSize, long maxPendingBytes, long writeTimeoutMs)
+			throws IOException {
+		this.bufferSize = bufferSize > 0 ? bufferSize : DEFAULT_BUFFER_SIZE;
+		long maxPending = maxPendingBytes > 0 ? maxPendingBytes : DEFAULT_MAX_PENDING_BYTES;
+		this.maxBuffers = (int) Math.max(2, Math.min(1024, (maxPending + this.bufferSize - 1) / this.bufferSize));
+		this.writeTimeoutMs = writeTimeoutMs > 0 ? writeTimeoutMs : DEFAULT_WRITE_TIMEOUT_MS;
+		this.gather = new ByteBuffer[maxBuffers];
+
+		channel = SocketChannel.open();
+		try {
+			channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+			channel.connect(address);
+			channel.configureBlocking(false);
+		} catch (IOException exc) {
+			channel.close();
+			throw exc;
+		}
+	}
+
+	/**
+	 * Obtain underlying socket channel.
+	 *
+	 * @return socket channel
+	 */
+	public SocketChannel getChannel() {
+		return channel;
+	}
+
+	/**
+	 * Determine if underlying socket channel is open and connected.
+	 *
+	 * @return true if socket channel is open and connected, false otherwise
+	 */
+	public boolean isOpen() {
+		return channel.isOpen() && channel.isConnected();
+	}
+
+	/**
+	 * Encode a given text into outbound buffers, optionally followed by a new line.
+	 *
+	 * @param msg
+	 *            text to be written
+	 * @param newLine
+	 *            true to append a new line after text
+	 * @return number of bytes written into outbound buffers
+	 * @throws IOException
+	 *             if error writing to socket or write timed out
+	 */
+	public synchronized int write(CharSequence msg, boolean newLine) throws IOException {
+		checkError();
+		long start = bytesBuffered();
+		try {
+			CharBuffer chars = CharBuffer.wrap(msg);
+			encoder.reset();
+			CoderResult result;
+			while ((result = encoder.encode(chars, buffer(), true)).isOverflow()) {
+				seal();
+			}
+			if (result.isError()) {
+				result.throwException();
+			}
+			while (encoder.flush(buffer()).isOverflow()) {
+				seal();
+			}
+			if (newLine) {
+				if (!buffer().hasRemaining()) {
+					seal();
+				}
+				buffer().put(NEW_LINE);
+			}
+		} catch (IOException exc) {
+			discard(start);
+			throw exc;
+		}
+		return (int) (bytesBuffered() - start);
+	}
+
+	/**
+	 * Copy given bytes into outbound buffers.
+	 *
+	 * @param b
+	 *            bytes to be written
+	 * @param off
+	 *            offset of the first byte to be written
+	 * @param len
+	 *            number of bytes to be written
+	 * @throws IOException
+	 *             if error writing to socket or write timed out
+	 */
+	public synchronized void write(byte[] b, int off, int len) throws IOException {
+		checkError();
+		long start = bytesBuffered();
+		try {
+			while (len > 0) {
+				ByteBuffer buf = buffer();
+				if (!buf.hasRemaining()) {
+					seal();
+					continue;
+				}
+				int n = Math.min(len, buf.remaining());
+				buf.put(b, off, n);
+				off += n;
+				len -= n;
+			}
+		} catch (IOException exc) {
+			discard(start);
+			throw exc;
+		}
+	}
+
+	/**
+	 * Obtain output stream view of this writer. Flushing returned stream calls {@link #flush()}, closing it does not
+	 * close this writer.
+	 *
+	 * @return output stream writing into outbound buffers of this writer
+	 */
+	public OutputStream getOutputStream() {
+		return new OutputStream() {
+			@Override
+			public void write(int b) throws IOException {
+				NioSocketWriter.this.write(new byte[] { (byte) b }, 0, 1);
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) throws IOException {
+				NioSocketWriter.this.write(b, off, len);
+			}
+
+			@Override
+			public void flush() throws IOException {
+				NioSocketWriter.this.flush();
+			}
+		};
+	}
+
+	/**
+	 * Send buffered data. Data which does not fit into socket send buffer is sent asynchronously by selector thread.
+	 *
+	 * @throws IOException
+	 *             if error writing to socket
+	 */
+	public synchronized void flush() throws IOException {
+		checkError();
+		if (!inFlight) {
+			send();
+		}
+	}
+
+	/**
+	 * Send all buffered data, waiting up to write timeout for pending data to be sent, and close socket channel.
+	 *
+	 * @throws IOException
+	 *             if error writing to or closing socket
+	 */
+	public synchronized void close() throws IOException {
+		try {
+			if (channel.isOpen() && error == null) {
+				flush();
+				long deadline = System.currentTimeMillis() + writeTimeoutMs;
+				while (inFlight && error == null) {
+					long wait = deadline - System.currentTimeMillis();
+					if (wait <= 0) {
+						break;
+					}
+					wait(wait);
+				}
+				checkError();
+			}
+		} catch (InterruptedException exc) {
+			Thread.currentThread().interrupt();
+		} finally {
+			inFlight = false;
+			channel.close();
+		}
+	}
+
+	private long bytesBuffered() {
+		return bytesWritten + pendingBytes();
+	}
+
+	private int pendingBytes() {
+		int bytes = current != null ? current.position() : 0;
+		for (ByteBuffer buf : pending) {
+			bytes += buf.remaining();
+		}
+		return bytes;
+	}
+
+	private void checkError() throws IOException {
+		if (error != null) {
+			IOException exc = error;
+			throw new IOException(exc.getMessage(), exc);
+		}
+	}
+
+	private ByteBuffer buffer() throws IOException {
+		if (current != null) {
+			return current;
+		}
+		current = free.poll();
+		if (current == null && allocated < maxBuffers) {
+			current = ByteBuffer.allocateDirect(bufferSize);
+			allocated++;
+		}
+		if (current == null) {
+			awaitBuffer();
+		}
+		return current;
+	}
+
+	private void awaitBuffer() throws IOException {
+		backpressureWaits++;
+		long deadline = System.currentTimeMillis() + writeTimeoutMs;
+		try {
+			while ((current = free.poll()) == null) {
+				checkError();
+				if (!inFlight) {
+					send();
+					continue;
+				}
+				long wait = deadline - System.currentTimeMillis();
+				if (wait <= 0) {
+					error = new IOException(
+							"Socket write timed out: timeout.ms=" + writeTimeoutMs + ", channel=" + channel);
+					throw error;
+				}
+				wait(wait);
+			}
+		} catch (InterruptedException exc) {
+			Thread.currentThread().interrupt();
+			InterruptedIOException ioe = new InterruptedIOException("Interrupted waiting for socket write");
+			ioe.initCause(exc);
+			throw ioe;
+		}
+	}
+
+	/**
+	 * Discard data buffered past a given mark, which has not been sent yet, so that partially written message is never
+	 * sent.
+	 *
+	 * @param mark
+	 *            number of bytes buffered before message was written
+	 */
+	private void discard(long mark) {
+		long excess = bytesBuffered() - mark;
+		if (current != null && excess > 0) {
+			int n = (int) Math.min(excess, current.position());
+			current.position(current.position() - n);
+			excess -= n;
+		}
+		for (Iterator<ByteBuffer> it = pending.descendingIterator(); excess > 0 && it.hasNext();) {
+			ByteBuffer buf = it.next();
+			int n = (int) Math.min(excess, buf.remaining());
+			buf.limit(buf.limit() - n);
+			excess -= n;
+			if (!buf.hasRemaining()) {
+				it.remove();
+				buf.clear();
+				free.add(buf);
+			}
+		}
+	}
+
+	private void seal() throws IOException {
+		if (current != null && current.position() > 0) {
+			current.flip();
+			pending.add(current);
+			current = null;
+		}
+		if (!inFlight) {
+			send();
+		}
+	}
+
+	/**
+	 * Send buffered data using non-blocking gathering writes, scheduling remaining data to be sent by selector thread.
+	 */
+	private void send() throws IOException {
+		if (current != null && current.position() > 0) {
+			current.flip();
+			pending.add(current);
+			current = null;
+		}
+		if (!drain()) {
+			inFlight = true;
+			getSelectorLoop().schedule(this);
+		}
+	}
+
+	/**
+	 * Write pending buffers until all data is sent or socket send buffer is full.
+	 *
+	 * @return true if all pending data was sent, false otherwise
+	 */
+	private boolean drain() throws IOException {
+		try {
+			while (!pending.isEmpty()) {
+				int count = 0;
+				for (ByteBuffer buf : pending) {
+					gather[count++] = buf;
+				}
+				long n = channel.write(gather, 0, count);
+				bytesWritten += n;
+				writeCount++;
+				for (Iterator<ByteBuffer> it = pending.iterator(); it.hasNext();) {
+					ByteBuffer buf = it.next();
+					if (buf.hasRemaining()) {
+						break;
+					}
+					it.remove();
+					buf.clear();
+					free.add(buf);
+				}
+				if (!pending.isEmpty()) {
+					partialWrites++;
+					return false;
+				}
+			}
+			return true;
+		} catch (IOException exc) {
+			error = exc;
+			throw exc;
+		} finally {
+			Arrays.fill(gather, null);
+		}
+	}
+
+	/**
+	 * Called by selector thread when socket channel is writable.
+	 */
+	private synchronized void onWritable() {
+		try {
+			if (drain()) {
+				inFlight = false;
+				if (current != null && current.position() > 0) {
+					send();
+				}
+			}
+		} catch (IOException exc) {
+			error = exc;
+			inFlight = false;
+		} finally {
+			if (!inFlight && key != null && key.isValid()) {
+				key.interestOps(0);
+			}
+			notifyAll();
+		}
+	}
+
+	private synchronized void register(Selector selector) {
+		try {
+			if (!inFlight || !channel.isOpen()) {
+				return;
+			}
+			if (key == null || !key.isValid()) {
+				key = channel.register(selector, SelectionKey.OP_WRITE, this);
+			} else {
+				key.interestOps(SelectionKey.OP_WRITE);
+			}
+		} catch (ClosedChannelException exc) {
+			error = exc;
+			inFlight = false;
+			notifyAll();
+		}
+	}
+
+	private static synchronized SelectorLoop getSelectorLoop() throws IOException {
+		if (selectorLoop == null) {
+			selectorLoop = new SelectorLoop();
+		}
+		return selectorLoop;
+	}
+
+	/**
+	 * Obtain total number of bytes written to socket.
+	 *
+	 * @return number of bytes written
+	 */
+	public synchronized long getBytesWritten() {
+		return bytesWritten;
+	}
+
+	/**
+	 * Obtain number of gathering writes issued to socket.
+	 *
+	 * @return number of socket writes
+	 */
+	public synchronized long getWriteCount() {
+		return writeCount;
+	}
+
+	/**
+	 * Obtain number of socket writes which did not send all pending data.
+	 *
+	 * @return number of partial socket writes
+	 */
+	public synchronized long getPartialWrites() {
+		return partialWrites;
+	}
+
+	/**
+	 * Obtain number of times writers blocked waiting for outbound buffer space.
+	 *
+	 * @return number of backpressure waits
+	 */
+	public synchronized long getBackpressureWaits() {
+		return backpressureWaits;
+	}
+
+	/**
+	 * Obtain number of bytes held in outbound buffers.
+	 *
+	 * @return number of pending bytes
+	 */
+	public synchronized int getPendingBytes() {
+		return pendingBytes();
+	}
+
+	/**
+	 * Reset write statistics.
+	 */
+	public synchronized void resetStats() {
+		bytesWritten = 0;
+		writeCount = 0;
+		partialWrites = 0;
+		backpressureWaits = 0;
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() //
+				+ "{channel: " + channel //
+				+ ", buffer.size: " + bufferSize //
+				+ ", max.buffers: " + maxBuffers //
+				+ ", write.timeout.ms: " + writeTimeoutMs //
+				+ "}";
+	}
+
+	/**
+	 * Selector thread shared by all non-blocking socket writers, completing writes which did not fit into socket send
+	 * buffers.
+	 */
+	private static final class SelectorLoop implements Runnable {
+		private final Selector selector;
+		private final Queue<NioSocketWriter> scheduled = new ConcurrentLinkedQueue<>();
+
+		SelectorLoop() throws IOException {
+			selector = Selector.open();
+			new NamedThreadFactory("SocketEventSink/selector-").newThread(this).start();
+		}
+
+		void schedule(NioSocketWriter writer) {
+			scheduled.add(writer);
+			selector.wakeup();
+		}
+
+		@Override
+		public void run() {
+			while (selector.isOpen()) {
+				try {
+					selector.select();
+					NioSocketWriter writer;
+					while ((writer = scheduled.poll()) != null) {
+						writer.register(selector);
+					}
+					for (Iterator<SelectionKey> it = selector.selectedKeys().iterator(); it.hasNext();) {
+						SelectionKey sKey = it.next();
+						it.remove();
+						if (sKey.isValid() && sKey.isWritable()) {
+							((NioSocketWriter) sKey.attachment()).onWritable();
+						}
+					}
+				} catch (IOException | CancelledKeyException exc) {
+					// keep selector running, writer errors are reported by writers
+				}
+			}
+		}
+	}
+}
@@ -17,19 +17,18 @@ package com.jkoolcloud.tnt4j.sink.impl;
 
 import java.io.IOException;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.LockSupport;
 
 import com.jkoolcloud.tnt4j.core.KeyValueStats;
 import com.jkoolcloud.tnt4j.core.OpLevel;
-import com.jkoolcloud.tnt4j.core.Snapshot;
 import com.jkoolcloud.tnt4j.limiter.DefaultLimiterFactory;
 import com.jkoolcloud.tnt4j.limiter.Limiter;
 import com.jkoolcloud.tnt4j.sink.*;
-import com.jkoolcloud.tnt4j.tracker.TrackingActivity;
-import com.jkoolcloud.tnt4j.tracker.TrackingEvent;
 import com.jkoolcloud.tnt4j.utils.NamedThreadFactory;
 import com.jkoolcloud.tnt4j.utils.Utils;
 
@@ -40,6 +39,14 @@ import com.jkoolcloud.tnt4j.utils.Utils;
  * underlying sinks are not guaranteed. The sinks must handle events coming out of sequence. Event time stamps are
  * preserved and should be used to sequence events properly.
  * </p>
+ * <p>
+ * When created with {@link ShardMode#SINK} or {@link ShardMode#SOURCE}, pooled logger maintains a dedicated queue per
+ * logging thread and routes every event to a queue by its event sink identity or event source name. All events
+ * routed to the same queue are logged by a single thread in the order they were enqueued. Each queue may hold up to
+ * full logger capacity, while capacity is enforced on the total number of queued events. In {@link ShardMode#SOURCE}
+ * mode events of a sink are spread across queues, so sink signals (e.g. flush, close) are enqueued to every queue and
+ * processed once all queues reach them, after all events enqueued before the signal.
+ * </p>
  *
  *
  * @version $Revision: 1 $
@@ -54,10 +61,14 @@ public class PooledLogger implements KeyValueStats, IOShutdown {
 			.parseDouble(System.getProperty("tnt4j.pooled.logger.error.rate", "0.1"));
 	protected static final long REOPEN_FREQ = Long.getLong("tnt4j.pooled.logger.reopen.freq.ms",
 			TimeUnit.SECONDS.toMillis(10));
+	protected static final int BATCH_SIZE = Integer.getInteger("tnt4j.pooled.logger.batch.size", 1);
+	protected static final long BATCH_TIME_USEC = Long.getLong("tnt4j.pooled.logger.batch.time.usec", 0);
 
 	static final String KEY_Q_SIZE = "pooled-queue-size";
 	static final String KEY_Q_TASKS = "pooled-queue-tasks";
 	static final String KEY_Q_CAPACITY = "pooled-queue-capacity";
+	static final String KEY_Q_TYPE = "pooled-queue-type";
+	static final String KEY_SHARD_MODE = "pooled-shard-mode";
 	static final String KEY_DQ_SIZE = "pooled-delay-size";
 	static final String KEY_OBJECTS_DROPPED = "pooled-objects-dropped";
 	static final String KEY_OBJECTS_SKIPPED = "pooled-objects-skipped";
@@ -66,6 +77,9 @@ public class PooledLogger implements KeyValueStats, IOShutdown {
 	static final String KEY_OBJECTS_COUNT = "pooled-objects-total";
 	static final String KEY_EXCEPTION_COUNT = "pooled-exceptions";
 	static final String KEY_SIGNAL_COUNT = "pooled-signals";
+	static final String KEY_BATCH_SIZE = "pooled-batch-size";
+	static final String KEY_BATCH_COUNT = "pooled-batch-count";
+	static final String KEY_BATCH_OBJECTS = "pooled-batch-objects";
 	static final String KEY_RECOVERY_COUNT = "pooled-recovery-count";
 	static final String KEY_LAST_SERVICE_TIME_USEC = "pooled-last-service-time-usec";
 	static final String KEY_TOTAL_TIME_USEC = "pooled-total-time-usec";
@@ -73,11 +87,17 @@ public class PooledLogger implements KeyValueStats, IOShutdown {
 
 	String poolName;
 	int poolSize, capacity;
+	QueueType qType;
+	ShardMode shardMode;
 	long retryInterval = REOPEN_FREQ; // time in milliseconds
+	int batchSize = BATCH_SIZE;
+	long batchTimeNanos = TimeUnit.MICROSECONDS.toNanos(BATCH_TIME_USEC);
 	boolean dropOnError = false;
 	ExecutorService threadPool;
 	Limiter errorLimiter;
 	BlockingQueue<SinkLogEvent> eventQ;
+	BlockingQueue<SinkLogEvent>[] shardQs;
+	final Map<SinkLogEvent, AtomicInteger> signalBarriers = new ConcurrentHashMap<>();
 	DelayQueue<DelayedElement<SinkLogEvent>> delayQ;
 
 	volatile boolean started = false, shutdown = false, terminated = false;
@@ -93,6 +113,8 @@ public class PooledLogger implements KeyValueStats, IOShutdown {
 	AtomicLong totalUsec = new AtomicLong(0);
 	AtomicLong lastServiceUsec = new AtomicLong(0);
 	AtomicLong totalServiceUsec = new AtomicLong(0);
+	AtomicLong batchCount = new AtomicLong(0);
+	AtomicLong batchObjects = new AtomicLong(0);
 
 	/**
 	 * Create a pooled logger instance.
@@ -105,14 +127,90 @@ public class PooledLogger implements KeyValueStats, IOShutdown {
 	 *            maximum queue capacity to hold incoming events, exceeding capacity will drop incoming events.
 	 */
 	public PooledLogger(String name, int threadPoolSize, int maxCapacity) {
+		this(name, threadPoolSize, maxCapacity, QueueType.BLOCKING, WaitStrategy.PARK);
+	}
+
+	/**
+	 * Create a pooled logger instance.
+	 *
+	 * @param name
+	 *            pool name to set
+	 * @param threadPoolSize
+	 *            number of threads that will be used to log all enqueued events.
+	 * @param maxCapacity
+	 *            maximum queue capacity to hold incoming events, exceeding capacity will drop incoming events.
+	 * @param queueType
+	 *            type of queue engine used to hold incoming events
+	 * @param waitStrategy
+	 *            strategy used to wait on {@link QueueType#RING} queue while it is full or empty
+	 */
+	public PooledLogger(String name, int threadPoolSize, int maxCapacity, QueueType queueType,
+			WaitStrategy waitStrategy) {
+		this(name, threadPoolSize, maxCapacity, queueType, waitStrategy, ShardMode.NONE);
+	}
+
+	/**
+	 * Create a pooled logger instance.
+	 *
+	 * @param name
+	 *            pool name to set
+	 * @param threadPoolSize
+	 *            number of threads that will be used to log all enqueued events.
+	 * @param maxCapacity
+	 *            maximum queue capacity to hold incoming events, exceeding capacity will drop incoming events.
+	 * @param queueType
+	 *            type of queue engine used to hold incoming events
+	 * @param waitStrategy
+	 *            strategy used to wait on {@link QueueType#RING} queue while it is full or empty
+	 * @param shardMode
+	 *            mode of routing events to per thread queues
+	 */
+	public PooledLogger(String name, int threadPoolSize, int maxCapacity, QueueType queueType,
+			WaitStrategy waitStrategy, ShardMode shardMode) {
 		poolName = name;
 		poolSize = threadPoolSize;
 		capacity = maxCapacity;
-		eventQ = new ArrayBlockingQueue<>(capacity);
+		qType = queueType == null ? QueueType.BLOCKING : queueType;
+		this.shardMode = shardMode == null ? ShardMode.NONE : shardMode;
+		if (this.shardMode == ShardMode.NONE || poolSize <= 1) {
+			eventQ = createQueue(qType, capacity, waitStrategy);
+		} else {
+			shardQs = newQueueArray(poolSize);
+			for (int i = 0; i < poolSize; i++) {
+				shardQs[i] = createQueue(qType, capacity, waitStrategy);
+			}
+			eventQ = shardQs[0];
+		}
 		delayQ = new DelayQueue<>();
 		errorLimiter = DefaultLimiterFactory.getInstance().newLimiter(PooledLogger.ERROR_RATE, Limiter.MAX_RATE);
 	}
 
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static BlockingQueue<SinkLogEvent>[] newQueueArray(int size) {
+		return new BlockingQueue[size];
+	}
+
+	/**
+	 * Create event queue instance for a given queue type.
+	 *
+	 * @param queueType
+	 *            type of queue engine
+	 * @param capacity
+	 *            maximum queue capacity
+	 * @param waitStrategy
+	 *            strategy used to wait on {@link QueueType#RING} queue while it is full or empty
+	 * @return event queue instance
+	 */
+	protected BlockingQueue<SinkLogEvent> createQueue(QueueType queueType, int capacity, WaitStrategy waitStrategy) {
+		switch (queueType) {
+		case RING:
+			return new RingBufferQueue<>(capacity, waitStrategy);
+		case BLOCKING:
+		default:
+			return new ArrayBlockingQueue<>(capacity);
+		}
+	}
+
 	@Override
 	public void shutdown(Throwable ex) {
 		if (shutdown) {
@@ -125,7 +223,7 @@ public class PooledLogger implements KeyValueStats, IOShutdown {
 		if (ex == null) {
 			SinkLogEvent dieEvent = new SinkLogEvent(this, Thread.currentThread(), SinkLogEvent.SIGNAL_TERMINATE);
 			for (int i = 0; i < poolSize; i++) {
-				eventQ.offer(dieEvent);
+				getQueue(i).offer(dieEvent);
 			}
 			delayQ.offer(new DelayedElement<>(dieEvent, 0));
 		}
@@ -146,7 +244,13 @@ public class PooledLogger implements KeyValueStats, IOShutdown {
 
 		terminated = true;
 
-		eventQ.clear();
+		if (shardQs != null) {
+			for (BlockingQueue<SinkLogEvent> shardQ : shardQs) {
+				shardQ.clear();
+			}
+		} else {
+			eventQ.clear();
+		}
 		delayQ.clear();
 
 		stop();
@@ -170,9 +274,11 @@ public class PooledLogger implements KeyValueStats, IOShutdown {
 
 	@Override
 	public KeyValueStats getStats(Map<String, Object> stats) {
-		stats.put(Utils.qualify(this, poolName, KEY_Q_SIZE), eventQ.size());
+		stats.put(Utils.qualify(this, poolName, KEY_Q_SIZE), getQSize());
 		stats.put(Utils.qualify(this, poolName, KEY_DQ_SIZE), delayQ.size());
 		stats.put(Utils.qualify(this, poolName, KEY_Q_CAPACITY), capacity);
+		stats.put(Utils.qualify(this, poolName, KEY_Q_TYPE), qType.name());
+		stats.put(Utils.qualify(this, poolName, KEY_SHARD_MODE), shardMode.name());
 		stats.put(Utils.qualify(this, poolName, KEY_Q_TASKS), poolSize);
 		stats.put(Utils.qualify(this, poolName, KEY_OBJECTS_DROPPED), dropCount.get());
 		stats.put(Utils.qualify(this, poolName, KEY_OBJECTS_SKIPPED), skipCount.get());
@@ -182,9 +288,13 @@ public class PooledLogger implements KeyValueStats, IOShutdown {
 		stats.put(Utils.qualify(this, poolName, KEY_EXCEPTION_COUNT), exceptionCount.get());
 		stats.put(Utils.qualify(this, poolName, KEY_RECOVERY_COUNT), recoveryCount.get());
 		stats.put(Utils.qualify(this, poolName, KEY_SIGNAL_COUNT), signalCount.get());
+		stats.put(Utils.qualify(this, poolName, KEY_BATCH_SIZE), batchSize);
+		stats.put(Utils.qualify(this, poolName, KEY_BATCH_COUNT), batchCount.get());
+		stats.put(Utils.qualify(this, poolName, KEY_BATCH_OBJECTS), batchObjects.get());
 		stats.put(Utils.qualify(this, poolName, KEY_LAST_SERVICE_TIME_USEC), lastServiceUsec.get());
 		stats.put(Utils.qualify(this, poolName, KEY_TOTAL_TIME_USEC), totalUsec.get());
 		stats.put(Utils.qualify(this, poolName, KEY_TOTAL_SERVICE_TIME_USEC), totalServiceUsec.get());
+		SinkLogEvent.getPoolStats(stats, this);
 		return this;
 	}
 
@@ -201,6 +311,8 @@ public class PooledLogger implements KeyValueStats, IOShutdown {
 		totalUsec.set(0);
 		recoveryCount.set(0);
 		exceptionCount.set(0);
+		batchCount.set(0);
+		batchObjects.set(0);
 	}
 
 	/**
@@ -277,13 +389,29 @@ public class PooledLogger implements KeyValueStats, IOShutdown {
 		return totalUsec.get();
 	}
 
+	/**
+	 * Obtain type of queue engine used by this logger.
+	 *
+	 * @return queue type
+	 */
+	public QueueType getQueueType() {
+		return qType;
+	}
+
 	/**
 	 * Obtain total number of events buffered in a queue waiting to be flushed
 	 *
 	 * @return total number of messages waiting to be flushed
 	 */
 	public int getQSize() {
-		return eventQ.size();
+		if (shardQs == null) {
+			return eventQ.size();
+		}
+		int size = 0;
+		for (BlockingQueue<SinkLogEvent> shardQ : shardQs) {
+			size += shardQ.size();
+		}
+		return size;
 	}
 
 	/**
@@ -310,7 +438,7 @@ public class PooledLogger implements KeyValueStats, IOShutdown {
 	 * @return {@code true} if event queue is full, {@code false} otherwise
 	 */
 	public boolean isQFull() {
-		return eventQ.size() >= getCapacity();
+		return getQSize() >= getCapacity();
 	}
 
 	/**
@@ -319,7 +447,7 @@ public class PooledLogger implements KeyValueStats, IOShutdown {
 	 * @return {@code true} if event queue is empty, {@code false} otherwise
 	 */
 	public boolean isEmpty() {
-		return eventQ.size() <= 0;
+		return getQSize() <= 0;
 	}
 
 	/**
@@ -341,7 +469,11 @@ public class PooledLogger implements KeyValueStats, IOShutdown {
 	public boolean offer(SinkLogEvent event) {
 		boolean flag = false;
 		if (!shutdown || (event.getSignal() != null)) {
-			flag = eventQ.offer(event);
+			if (isBarrier(event)) {
+				flag = offerBarrier(event);
+			} else if (shardQs == null || event.getSignal() != null || getQSize() < capacity) {
+				flag = getQueue(event).offer(event);
+			}
 		}
 		if (!flag) {
 			dropCount.incrementAndGet();
@@ -359,13 +491,93 @@ public class PooledLogger implements KeyValueStats, IOShutdown {
 	 */
 	public void put(SinkLogEvent event) throws InterruptedException {
 		if (!shutdown || (event.getSignal() != null)) {
-			eventQ.put(event);
+			if (isBarrier(event)) {
+				AtomicInteger barrier = new AtomicInteger(shardQs.length + 1);
+				signalBarriers.put(event, barrier);
+				int accepted = 0;
+				try {
+					for (BlockingQueue<SinkLogEvent> shardQ : shardQs) {
+						shardQ.put(event);
+						accepted++;
+					}
+				} finally {
+					if (barrier.addAndGet(accepted - shardQs.length - 1) == 0) {
+						signalBarriers.remove(event);
+						if (accepted > 0) {
+							getQueue(event).offer(event);
+						}
+					}
+				}
+			} else {
+				getQueue(event).put(event);
+			}
 		} else {
 			dropCount.incrementAndGet();
 			throw new InterruptedException("Unable to accept events: " + getName() + " is shutdown");
 		}
 	}
 
+	/**
+	 * Determine if a given event is a sink signal which must be enqueued to every shard queue, since events of a sink
+	 * are spread across shard queues in {@link ShardMode#SOURCE} mode.
+	 *
+	 * @param event
+	 *            logging event
+	 * @return {@code true} if event is a sink signal to be enqueued to every shard queue, {@code false} otherwise
+	 */
+	private boolean isBarrier(SinkLogEvent event) {
+		return shardQs != null && shardMode == ShardMode.SOURCE && event.getSignal() != null
+				&& event.getSignalType() != SinkLogEvent.SIGNAL_TERMINATE;
+	}
+
+	/**
+	 * Offer a given signal event to every shard queue. Calling thread holds one extra barrier slot until all queues
+	 * have been offered the signal, so the signal is never processed before it is enqueued everywhere. If the signal
+	 * is rejected by some shard queues and all accepting threads have already passed it, the signal is enqueued once
+	 * more without a barrier to get it processed.
+	 *
+	 * @param event
+	 *            signal event
+	 * @return {@code true} if signal was enqueued, {@code false} otherwise
+	 */
+	private boolean offerBarrier(SinkLogEvent event) {
+		AtomicInteger barrier = new AtomicInteger(shardQs.length + 1);
+		signalBarriers.put(event, barrier);
+		int accepted = 0;
+		for (BlockingQueue<SinkLogEvent> shardQ : shardQs) {
+			if (shardQ.offer(event)) {
+				accepted++;
+			} else {
+				barrier.decrementAndGet();
+			}
+		}
+		if (barrier.decrementAndGet() > 0) {
+			return true;
+		}
+		signalBarriers.remove(event);
+		return accepted > 0 && getQueue(event).offer(event);
+	}
+
+	/**
+	 * Record arrival of a logging thread at a given signal event. Signal enqueued to every shard queue is processed
+	 * only by the last logging thread reaching it.
+	 *
+	 * @param event
+	 *            signal event
+	 * @return {@code true} if signal should be processed by calling thread, {@code false} otherwise
+	 */
+	private boolean arrive(SinkLogEvent event) {
+		AtomicInteger barrier = signalBarriers.get(event);
+		if (barrier == null) {
+			return true;
+		}
+		if (barrier.decrementAndGet() > 0) {
+			return false;
+		}
+		signalBarriers.remove(event);
+		return true;
+	}
+
 	/**
 	 * Checks if logger is started.
 	 *
@@ -414,6 +626,99 @@ public class PooledLogger implements KeyValueStats, IOShutdown {
 		this.retryInterval = retryInterval;
 	}
 
+	/**
+	 * Set maximum number of events drained from the queue and written to a sink at once by a single logging task.
+	 * Batch size of {@code 1} disables batching.
+	 *
+	 * @param batchSize
+	 *            maximum number of events in a batch
+	 */
+	public void setBatchSize(int batchSize) {
+		this.batchSize = Math.max(1, batchSize);
+	}
+
+	/**
+	 * Obtain maximum number of events drained from the queue and written to a sink at once by a single logging task.
+	 *
+	 * @return maximum number of events in a batch
+	 */
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	/**
+	 * Set maximum time logging task spends waiting for events to fill up a batch. Zero means batch contains only events
+	 * already available in the queue.
+	 *
+	 * @param duration
+	 *            time duration
+	 * @param unit
+	 *            time unit for duration
+	 */
+	public void setBatchTime(long duration, TimeUnit unit) {
+		this.batchTimeNanos = unit.toNanos(Math.max(0, duration));
+	}
+
+	/**
+	 * Obtain total number of event batches processed since last reset.
+	 *
+	 * @return total number of processed event batches
+	 */
+	public long getBatchCount() {
+		return batchCount.get();
+	}
+
+	/**
+	 * Obtain shard mode used by this logger.
+	 *
+	 * @return shard mode
+	 */
+	public ShardMode getShardMode() {
+		return shardMode;
+	}
+
+	/**
+	 * Obtain queue associated with a given logging thread index. All threads share the same queue unless logger is
+	 * sharded.
+	 *
+	 * @param shard
+	 *            logging thread index
+	 * @return event queue
+	 */
+	protected BlockingQueue<SinkLogEvent> getQueue(int shard) {
+		return shardQs == null ? eventQ : shardQs[shard % shardQs.length];
+	}
+
+	/**
+	 * Obtain queue a given event should be routed to.
+	 *
+	 * @param event
+	 *            logging event
+	 * @return event queue
+	 */
+	protected BlockingQueue<SinkLogEvent> getQueue(SinkLogEvent event) {
+		return shardQs == null ? eventQ : shardQs[shardOf(event)];
+	}
+
+	/**
+	 * Compute queue index a given event should be routed to. Events are routed by event source fully qualified name
+	 * when {@link ShardMode#SOURCE} is used and event source is available, by event sink identity otherwise.
+	 *
+	 * @param event
+	 *            logging event
+	 * @return queue index
+	 */
+	protected int shardOf(SinkLogEvent event) {
+		int hash;
+		if (shardMode == ShardMode.SOURCE && event.getEventSource() != null) {
+			hash = event.getEventSource().getFQName().hashCode();
+		} else {
+			hash = System.identityHashCode(event.getSource());
+		}
+		hash ^= (hash >>> 16);
+		return (hash & Integer.MAX_VALUE) % shardQs.length;
+	}
+
 	/**
 	 * Obtain event message from the queue
 	 *
@@ -425,6 +730,54 @@ public class PooledLogger implements KeyValueStats, IOShutdown {
 		return eventQ.take();
 	}
 
+	/**
+	 * Obtain event message from the queue associated with a given logging thread index
+	 *
+	 * @param shard
+	 *            logging thread index
+	 * @return sink event instance
+	 * @throws InterruptedException
+	 *             if interrupted while waiting
+	 */
+	protected SinkLogEvent takeEvent(int shard) throws InterruptedException {
+		return getQueue(shard).take();
+	}
+
+	/**
+	 * Drain available events from the queue associated with a given logging thread index into a given batch until the
+	 * batch reaches configured batch size, batch time expires or a signal event is drained. Signal event is always the
+	 * last event in the batch.
+	 *
+	 * @param shard
+	 *            logging thread index
+	 * @param batch
+	 *            list of events to fill up
+	 * @return number of events drained into the batch
+	 * @throws InterruptedException
+	 *             if interrupted while waiting
+	 *
+	 * @see #setBatchSize(int)
+	 * @see #setBatchTime(long, TimeUnit)
+	 */
+	protected int drainEvents(int shard, List<SinkLogEvent> batch) throws InterruptedException {
+		BlockingQueue<SinkLogEvent> queue = getQueue(shard);
+		int count = 0;
+		long deadline = System.nanoTime() + batchTimeNanos;
+		while (batch.size() < batchSize) {
+			long remaining = deadline - System.nanoTime();
+			SinkLogEvent event = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+			if (event == null) {
+				break;
+			}
+			batch.add(event);
+			count++;
+			if (event.getSignal() != null) {
+				break;
+			}
+		}
+		return count;
+	}
+
 	/**
 	 * Obtain a delayed event message from a delay queue
 	 *
@@ -459,6 +812,7 @@ public class PooledLogger implements KeyValueStats, IOShutdown {
 	 */
 	public void putDelayed(SinkLogEvent event, long delay, TimeUnit unit) {
 		reQCount.incrementAndGet();
+		event.retain();
 		delayQ.put(new DelayedElement<>(event, unit.toMillis(delay)));
 	}
 
@@ -489,9 +843,25 @@ public class PooledLogger implements KeyValueStats, IOShutdown {
 	 *            exception
 	 */
 	private void eventError(SinkLogEvent event, Throwable err) {
+		eventError(event, err, true);
+	}
+
+	/**
+	 * Handle event error during event processing
+	 *
+	 * @param event
+	 *            event instance
+	 * @param err
+	 *            exception
+	 * @param skip
+	 *            flag indicating whether event was not logged and shall be handled as skipped
+	 */
+	private void eventError(SinkLogEvent event, Throwable err, boolean skip) {
 		try {
 			exceptionCount.incrementAndGet();
-			skipEvent(event, err);
+			if (skip) {
+				skipEvent(event, err);
+			}
 			boolean errorPermit = errorLimiter.tryObtain(1, 0);
 			if (errorPermit) {
 				logger.log(OpLevel.ERROR,
@@ -572,6 +942,9 @@ public class PooledLogger implements KeyValueStats, IOShutdown {
 	 * @throws IOException
 	 */
 	private void onEvent(SinkLogEvent event) throws IOException {
+		if (event.getSignal() != null && !arrive(event)) {
+			return;
+		}
 		totalCount.incrementAndGet();
 		if (event.getSignal() != null) {
 			handleSignal(event);
@@ -589,23 +962,30 @@ public class PooledLogger implements KeyValueStats, IOShutdown {
 	 *            event instance
 	 */
 	private void sendEvent(SinkLogEvent event) {
-		Object sinkObject = event.getSinkObject();
-		EventSink outSink = event.getEventSink();
-
-		if (sinkObject instanceof TrackingEvent) {
-			outSink.log((TrackingEvent) sinkObject);
-		} else if (sinkObject instanceof TrackingActivity) {
-			outSink.log((TrackingActivity) sinkObject);
-		} else if (sinkObject instanceof Snapshot) {
-			outSink.log((Snapshot) sinkObject);
-		} else if (event.getEventSource() != null) {
-			outSink.log(event.getTTL(), event.getEventSource(), event.getSeverity(), event.getResourceBundle(),
-					String.valueOf(sinkObject), event.getArguments());
+		AbstractEventSink.logEvent(event.getEventSink(), event);
+		loggedCount.incrementAndGet();
+	}
+
+	/**
+	 * Write a batch of events targeting the same event sink
+	 *
+	 * @param batch
+	 *            list of events targeting the same event sink
+	 * @throws IOException
+	 */
+	private void sendBatch(List<SinkLogEvent> batch) throws IOException {
+		totalCount.addAndGet(batch.size());
+		EventSink outSink = batch.get(0).getEventSink();
+		if (isLoggable(outSink)) {
+			outSink.log(batch);
+			loggedCount.addAndGet(batch.size());
+			batchCount.incrementAndGet();
+			batchObjects.addAndGet(batch.size());
 		} else {
-			outSink.log(event.getTTL(), outSink.getSource(), event.getSeverity(), event.getResourceBundle(),
-					String.valueOf(sinkObject), event.getArguments());
+			for (SinkLogEvent event : batch) {
+				skipEvent(event, null);
+			}
 		}
-		loggedCount.incrementAndGet();
 	}
 
 	/**
@@ -645,6 +1025,7 @@ public class PooledLogger implements KeyValueStats, IOShutdown {
 		totalServiceUsec.addAndGet(event.complete() / 1000);
 		lastServiceUsec.set(elapsedUsec);
 		totalUsec.addAndGet(elapsedUsec);
+		SinkLogEvent.recycle(event);
 		return elapsedUsec;
 	}
 
@@ -665,6 +1046,96 @@ public class PooledLogger implements KeyValueStats, IOShutdown {
 		}
 	}
 
+	/**
+	 * Fully process a batch of events. Consecutive events targeting the same event sink are written to that sink as a
+	 * single batch, while signal events are processed one by one preserving their order within the batch.
+	 *
+	 * @param events
+	 *            list of events to process
+	 */
+	protected void processEvents(List<SinkLogEvent> events) {
+		int size = events.size();
+		int runStart = 0;
+		for (int i = 0; i < size; i++) {
+			SinkLogEvent event = events.get(i);
+			if (event.getSignal() != null) {
+				processBatch(events.subList(runStart, i));
+				processEvent(event);
+				runStart = i + 1;
+			} else if (event.getEventSink() != events.get(runStart).getEventSink()) {
+				processBatch(events.subList(runStart, i));
+				runStart = i;
+			}
+		}
+		processBatch(events.subList(runStart, size));
+	}
+
+	/**
+	 * Fully process a batch of events targeting the same event sink
+	 *
+	 * @param batch
+	 *            list of events targeting the same event sink
+	 */
+	private void processBatch(List<SinkLogEvent> batch) {
+		if (batch.isEmpty()) {
+			return;
+		}
+		if (batch.size() == 1) {
+			processEvent(batch.get(0));
+			return;
+		}
+		long start = System.nanoTime();
+		try {
+			sendBatch(batch);
+		} catch (Throwable err) {
+			batchError(batch, err);
+		} finally {
+			batchComplete(start, batch);
+		}
+	}
+
+	/**
+	 * Handle batch error during batch processing. Only batch events not yet handed to the sink are handled as skipped,
+	 * so events already written are not logged again.
+	 *
+	 * @param batch
+	 *            list of events targeting the same event sink
+	 * @param err
+	 *            exception
+	 */
+	private void batchError(List<SinkLogEvent> batch, Throwable err) {
+		int logged = err instanceof SinkBatchException
+				? Math.max(0, Math.min(((SinkBatchException) err).getLoggedCount(), batch.size())) : 0;
+		if (logged > 0) {
+			loggedCount.addAndGet(logged);
+		}
+		if (logged == batch.size()) {
+			eventError(batch.get(logged - 1), err, false);
+		}
+		for (int i = logged; i < batch.size(); i++) {
+			eventError(batch.get(i), err);
+		}
+	}
+
+	/**
+	 * Batch processing completed
+	 *
+	 * @param start
+	 *            timer in nanoseconds
+	 * @param batch
+	 *            list of processed events
+	 */
+	private long batchComplete(long start, List<SinkLogEvent> batch) {
+		long elapsedUsec = (System.nanoTime() - start) / 1000;
+		for (SinkLogEvent event : batch) {
+			totalServiceUsec.addAndGet(event.complete() / 1000);
+			SinkLogEvent.recycle(event);
+		}
+		lastServiceUsec.set(elapsedUsec);
+		totalUsec.addAndGet(elapsedUsec);
+		return elapsedUsec;
+	}
+
 	/**
 	 * Start the thread pool and all threads in this pooled logger.
 	 */
@@ -676,7 +1147,7 @@ public class PooledLogger implements KeyValueStats, IOShutdown {
 				"PooledLoggingTask(" + poolName + "," + poolSize + "," + capacity + ")/task-");
 		threadPool = Executors.newFixedThreadPool((poolSize + 1), tFactory);
 		for (int i = 0; i < poolSize; i++) {
-			threadPool.execute(new PooledLoggingTask(this));
+			threadPool.execute(new PooledLoggingTask(this, i));
 		}
 		threadPool.execute(new DelayedLoggingTask(this));
 		started = true;
@@ -699,4 +1170,38 @@ public class PooledLogger implements KeyValueStats, IOShutdown {
 			started = false;
 		}
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Enumerates queue engines available to hold events enqueued into {@link PooledLogger}.
+	 */
+	public enum QueueType {
+		/**
+		 * Lock based {@link ArrayBlockingQueue}.
+		 */
+		BLOCKING,
+		/**
+		 * Pre-allocated lock-free {@link RingBufferQueue}.
+		 */
+		RING
+	}
+
+	/**
+	 * Enumerates modes of routing events enqueued into {@link PooledLogger} to logging threads.
+	 */
+	public enum ShardMode {
+		/**
+		 * All logging threads share a single queue.
+		 */
+		NONE,
+		/**
+		 * Each logging thread has its own queue, events are routed by event sink identity, so every event sink is
+		 * written by a single thread.
+		 */
+		SINK,
+		/**
+		 * Each logging thread has its own queue, events are routed by event source name, so events from the same
+		 * source are written in order by a single thread.
+		 */
+		SOURCE
+	}
+}
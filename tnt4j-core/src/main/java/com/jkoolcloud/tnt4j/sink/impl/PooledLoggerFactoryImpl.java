@@ -43,6 +43,14 @@ public class PooledLoggerFactoryImpl implements PooledLoggerFactory, Configurabl
 	private static final long RETRY_INTERVAL = Long.getLong("tnt4j.pooled.logger.retry.interval",
 			TimeUnit.SECONDS.toMillis(5));
 	private static final boolean DROP_ON_EXCEPTION = Boolean.getBoolean("tnt4j.pooled.logger.drop.on.error");
+	private static final int BATCH_SIZE = Integer.getInteger("tnt4j.pooled.logger.batch.size", 1);
+	private static final long BATCH_TIME_USEC = Long.getLong("tnt4j.pooled.logger.batch.time.usec", 0);
+	private static final String QUEUE_TYPE = System.getProperty("tnt4j.pooled.logger.queue.type",
+			PooledLogger.QueueType.BLOCKING.name());
+	private static final String SHARD_MODE = System.getProperty("tnt4j.pooled.logger.shard.mode",
+			PooledLogger.ShardMode.NONE.name());
+	private static final String WAIT_STRATEGY = System.getProperty("tnt4j.pooled.logger.wait.strategy",
+			WaitStrategy.PARK.name());
 
 	private static final ConcurrentMap<String, PooledLogger> POOLED_LOGGERS = new ConcurrentHashMap<>();
 
@@ -50,7 +58,12 @@ public class PooledLoggerFactoryImpl implements PooledLoggerFactory, Configurabl
 	int capacity = MAX_CAPACITY;
 	long retryInterval = RETRY_INTERVAL;
 	boolean dropOnError = DROP_ON_EXCEPTION;
+	int batchSize = BATCH_SIZE;
+	long batchTimeUsec = BATCH_TIME_USEC;
 	String poolName = DEFAULT_POOL_NAME;
+	PooledLogger.QueueType queueType = PooledLogger.QueueType.valueOf(QUEUE_TYPE.toUpperCase());
+	WaitStrategy waitStrategy = WaitStrategy.valueOf(WAIT_STRATEGY.toUpperCase());
+	PooledLogger.ShardMode shardMode = PooledLogger.ShardMode.valueOf(SHARD_MODE.toUpperCase());
 	protected Map<String, ?> props;
 
 	/**
@@ -97,10 +110,25 @@ public class PooledLoggerFactoryImpl implements PooledLoggerFactory, Configurabl
 		capacity = Utils.getInt("Capacity", settings, MAX_CAPACITY);
 		retryInterval = Utils.getLong("RetryInterval", settings, RETRY_INTERVAL);
 		dropOnError = Utils.getBoolean("DropOnError", settings, DROP_ON_EXCEPTION);
+		batchSize = Utils.getInt("BatchSize", settings, BATCH_SIZE);
+		batchTimeUsec = Utils.getLong("BatchTimeUsec", settings, BATCH_TIME_USEC);
+		String qTypeName = Utils.getString("QueueType", settings, QUEUE_TYPE);
+		String wStrategyName = Utils.getString("WaitStrategy", settings, WAIT_STRATEGY);
+		String shardModeName = Utils.getString("ShardMode", settings, SHARD_MODE);
+		try {
+			queueType = PooledLogger.QueueType.valueOf(qTypeName.toUpperCase());
+			waitStrategy = WaitStrategy.valueOf(wStrategyName.toUpperCase());
+			shardMode = PooledLogger.ShardMode.valueOf(shardModeName.toUpperCase());
+		} catch (IllegalArgumentException exc) {
+			throw new ConfigException(exc.getLocalizedMessage(), settings);
+		}
 		// create and register pooled logger instance if not yet available
-		PooledLogger pooledLogger = new PooledLogger(poolName, poolSize, capacity);
+		PooledLogger pooledLogger = new PooledLogger(poolName, poolSize, capacity, queueType, waitStrategy,
+				shardMode);
 		pooledLogger.dropOnError(dropOnError);
 		pooledLogger.setRetryInterval(retryInterval);
+		pooledLogger.setBatchSize(batchSize);
+		pooledLogger.setBatchTime(batchTimeUsec, TimeUnit.MICROSECONDS);
 		if (POOLED_LOGGERS.putIfAbsent(poolName, pooledLogger) == null) {
 			pooledLogger.start();
 		}
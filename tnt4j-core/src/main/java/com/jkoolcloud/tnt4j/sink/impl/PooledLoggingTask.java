@@ -15,6 +15,9 @@
  */
 package com.jkoolcloud.tnt4j.sink.impl;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import com.jkoolcloud.tnt4j.core.OpLevel;
 import com.jkoolcloud.tnt4j.sink.SinkLogEvent;
 
@@ -23,23 +26,34 @@ import com.jkoolcloud.tnt4j.sink.SinkLogEvent;
  *
  * @version $Revision: 1 $
  * 
- * @see com.jkoolcloud.tnt4j.sink.impl.PooledLogger#takeEvent()
+ * @see com.jkoolcloud.tnt4j.sink.impl.PooledLogger#takeEvent(int)
  * @see com.jkoolcloud.tnt4j.sink.impl.PooledLogger#processEvent(com.jkoolcloud.tnt4j.sink.SinkLogEvent)
+ * @see com.jkoolcloud.tnt4j.sink.impl.PooledLogger#processEvents(java.util.List)
  */
 class PooledLoggingTask extends AbstractPoolLoggingTask {
+	private final int shard;
+
 	protected PooledLoggingTask(PooledLogger logger) {
+		this(logger, 0);
+	}
+
+	protected PooledLoggingTask(PooledLogger logger, int shard) {
 		super(logger);
+		this.shard = shard;
 	}
 
 	@Override
 	public void run() {
+		List<SinkLogEvent> batch = new ArrayList<>(pooledLogger.getBatchSize());
 		try {
 			while (!isCanceled()) {
-				SinkLogEvent event = pooledLogger.takeEvent();
+				SinkLogEvent event = pooledLogger.takeEvent(shard);
 				if (event.getSignalType() == SinkLogEvent.SIGNAL_TERMINATE) {
 					cancel();
-				} else {
+				} else if (pooledLogger.getBatchSize() <= 1 || event.getSignal() != null) {
 					pooledLogger.processEvent(event);
+				} else {
+					processBatch(event, batch);
 				}
 			}
 		} catch (Throwable e) {
@@ -47,4 +61,30 @@ class PooledLoggingTask extends AbstractPoolLoggingTask {
 					pooledLogger.exceptionCount.get(), e);
 		}
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Drains a batch of events starting with a given event and processes it. Task gets canceled if terminate signal is
+	 * drained.
+	 *
+	 * @param first
+	 *            first event of the batch
+	 * @param batch
+	 *            reusable batch list
+	 * @throws InterruptedException
+	 *             if interrupted while waiting for events
+	 */
+	private void processBatch(SinkLogEvent first, List<SinkLogEvent> batch) throws InterruptedException {
+		try {
+			batch.add(first);
+			pooledLogger.drainEvents(shard, batch);
+			SinkLogEvent last = batch.get(batch.size() - 1);
+			if (last.getSignalType() == SinkLogEvent.SIGNAL_TERMINATE) {
+				batch.remove(batch.size() - 1);
+				cancel();
+			}
+			pooledLogger.processEvents(batch);
+		} finally {
+			batch.clear();
+		}
+	}
+}
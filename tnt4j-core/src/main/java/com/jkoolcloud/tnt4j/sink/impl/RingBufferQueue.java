@@ -0,0 +1,279 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jkoolcloud.tnt4j.sink.impl;
+
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * <p>
+ * This class implements a bounded, pre-allocated, lock-free multi-producer/multi-consumer ring buffer exposed as a
+ * {@link BlockingQueue}. Producers and consumers claim slots using CAS on separate head/tail sequences, so there is no
+ * lock shared between {@code offer()} and {@code take()} as in {@link java.util.concurrent.ArrayBlockingQueue}.
+ * Blocking operations wait using a configured {@link WaitStrategy}.
+ * </p>
+ *
+ * <p>
+ * Iteration is weakly consistent and does not support element removal.
+ * </p>
+ *
+ * @param <E>
+ *            the type of elements held in this queue
+ *
+ * @version $Revision: 1 $
+ *
+ * @see WaitStrategy
+ * @see PooledLogger
+ */
+public class RingBufferQueue<E> extends AbstractQueue<E> implements BlockingQueue<E> {
+	private final int capacity;
+	private final int mask;
+	private final AtomicReferenceArray<E> buffer;
+	private final AtomicLongArray sequences;
+	private final AtomicLong head = new AtomicLong(0);
+	private final AtomicLong tail = new AtomicLong(0);
+	private final WaitStrategy waitStrategy;
+
+	/**
+	 * Create a ring buffer queue with a given capacity and {@link WaitStrategy#PARK} wait strategy.
+	 *
+	 * @param capacity
+	 *            maximum number of elements held by this queue
+	 */
+	public RingBufferQueue(int capacity) {
+		this(capacity, WaitStrategy.PARK);
+	}
+
+	/**
+	 * Create a ring buffer queue with a given capacity and wait strategy.
+	 *
+	 * @param capacity
+	 *            maximum number of elements held by this queue
+	 * @param strategy
+	 *            strategy used to wait while queue is full or empty
+	 */
+	public RingBufferQueue(int capacity, WaitStrategy strategy) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Capacity must be positive: capacity=" + capacity);
+		}
+		int size = ringSize(capacity);
+		this.capacity = capacity;
+		this.mask = size - 1;
+		this.buffer = new AtomicReferenceArray<>(size);
+		this.sequences = new AtomicLongArray(size);
+		for (int i = 0; i < size; i++) {
+			sequences.set(i, i);
+		}
+		this.waitStrategy = strategy == null ? WaitStrategy.PARK : strategy;
+	}
+
+	private static int ringSize(int capacity) {
+		int size = Integer.highestOneBit(capacity);
+		return size == capacity ? size : size << 1;
+	}
+
+	/**
+	 * Obtain wait strategy used by this queue.
+	 *
+	 * @return wait strategy
+	 */
+	public WaitStrategy getWaitStrategy() {
+		return waitStrategy;
+	}
+
+	/**
+	 * Obtain maximum capacity of this queue.
+	 *
+	 * @return maximum capacity of this queue
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	@Override
+	public boolean offer(E e) {
+		Objects.requireNonNull(e);
+		long pos = tail.get();
+		for (;;) {
+			int idx = (int) pos & mask;
+			long diff = sequences.get(idx) - pos;
+			if (diff == 0) {
+				if (pos - head.get() >= capacity) {
+					return false;
+				}
+				if (tail.compareAndSet(pos, pos + 1)) {
+					buffer.lazySet(idx, e);
+					sequences.lazySet(idx, pos + 1);
+					return true;
+				}
+				pos = tail.get();
+			} else if (diff < 0) {
+				return false;
+			} else {
+				pos = tail.get();
+			}
+		}
+	}
+
+	@Override
+	public E poll() {
+		long pos = head.get();
+		for (;;) {
+			int idx = (int) pos & mask;
+			long diff = sequences.get(idx) - (pos + 1);
+			if (diff == 0) {
+				if (head.compareAndSet(pos, pos + 1)) {
+					E e = buffer.get(idx);
+					buffer.lazySet(idx, null);
+					sequences.lazySet(idx, pos + mask + 1);
+					return e;
+				}
+				pos = head.get();
+			} else if (diff < 0) {
+				return null;
+			} else {
+				pos = head.get();
+			}
+		}
+	}
+
+	@Override
+	public E peek() {
+		long pos = head.get();
+		int idx = (int) pos & mask;
+		return sequences.get(idx) == pos + 1 ? buffer.get(idx) : null;
+	}
+
+	@Override
+	public void put(E e) throws InterruptedException {
+		int counter = 0;
+		while (!offer(e)) {
+			checkInterrupted();
+			counter = waitStrategy.idle(counter);
+		}
+	}
+
+	@Override
+	public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+		long deadline = System.nanoTime() + unit.toNanos(timeout);
+		int counter = 0;
+		while (!offer(e)) {
+			checkInterrupted();
+			if (System.nanoTime() - deadline >= 0) {
+				return false;
+			}
+			counter = waitStrategy.idle(counter);
+		}
+		return true;
+	}
+
+	@Override
+	public E take() throws InterruptedException {
+		int counter = 0;
+		E e;
+		while ((e = poll()) == null) {
+			checkInterrupted();
+			counter = waitStrategy.idle(counter);
+		}
+		return e;
+	}
+
+	@Override
+	public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+		long deadline = System.nanoTime() + unit.toNanos(timeout);
+		int counter = 0;
+		E e;
+		while ((e = poll()) == null) {
+			checkInterrupted();
+			if (System.nanoTime() - deadline >= 0) {
+				return null;
+			}
+			counter = waitStrategy.idle(counter);
+		}
+		return e;
+	}
+
+	private static void checkInterrupted() throws InterruptedException {
+		if (Thread.interrupted()) {
+			throw new InterruptedException();
+		}
+	}
+
+	@Override
+	public int size() {
+		long h = head.get();
+		long size = tail.get() - h;
+		return size <= 0 ? 0 : (int) Math.min(size, capacity);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return tail.get() == head.get();
+	}
+
+	@Override
+	public int remainingCapacity() {
+		return capacity - size();
+	}
+
+	@Override
+	public int drainTo(Collection<? super E> c) {
+		return drainTo(c, Integer.MAX_VALUE);
+	}
+
+	@Override
+	public int drainTo(Collection<? super E> c, int maxElements) {
+		Objects.requireNonNull(c);
+		if (c == this) {
+			throw new IllegalArgumentException();
+		}
+		int count = 0;
+		E e;
+		while (count < maxElements && (e = poll()) != null) {
+			c.add(e);
+			count++;
+		}
+		return count;
+	}
+
+	@Override
+	public Iterator<E> iterator() {
+		List<E> snapshot = new ArrayList<>(size());
+		long pos = head.get();
+		long end = tail.get();
+		for (; pos < end; pos++) {
+			int idx = (int) pos & mask;
+			E e = buffer.get(idx);
+			if (e != null) {
+				snapshot.add(e);
+			}
+		}
+		return Collections.unmodifiableList(snapshot).iterator();
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() //
+				+ "{capacity: " + capacity //
+				+ ", size: " + size() //
+				+ ", wait.strategy: " + waitStrategy //
+				+ "}";
+	}
+}
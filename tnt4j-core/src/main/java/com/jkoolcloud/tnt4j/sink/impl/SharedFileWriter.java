@@ -0,0 +1,592 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jkoolcloud.tnt4j.sink.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.text.SimpleDateFormat;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPOutputStream;
+
+import com.jkoolcloud.tnt4j.core.OpLevel;
+import com.jkoolcloud.tnt4j.limiter.DefaultLimiterFactory;
+import com.jkoolcloud.tnt4j.limiter.Limiter;
+import com.jkoolcloud.tnt4j.sink.DefaultEventSinkFactory;
+import com.jkoolcloud.tnt4j.sink.EventSink;
+import com.jkoolcloud.tnt4j.utils.NamedThreadFactory;
+
+/**
+ * <p>
+ * This class implements a file writer shared by all {@link FileSink} instances writing to the same file within the
+ * JVM. Writes are serialized using a single per-file lock and go through a single {@link GroupCommitOutputStream}, so
+ * entries of all sinks are group committed together. Write mode, flush and roll policies of the first sink opening
+ * the file are used.
+ * </p>
+ *
+ * <p>
+ * When roll policy is set, the file is rolled by the writing thread once it reaches a configured size or age: current
+ * stream is closed, file is renamed to a time stamped segment and a new stream is opened in its place. The new stream
+ * replaces the current one only once it is open. If it can't be opened, the segment is moved back and the file is
+ * reopened in place; if that fails too, reopening is retried by the next write. Rolled segments are optionally gzip
+ * compressed and pruned to a configured number of retained segments by a low priority background thread, so
+ * compression never blocks writers.
+ * </p>
+ *
+ * <p>
+ * Failures of background flushes and segment archiving are counted and logged at a limited rate, see
+ * {@link #getFailureCount()}.
+ * </p>
+ *
+ * @version $Revision: 1 $
+ *
+ * @see FileSink
+ * @see GroupCommitOutputStream
+ */
+final class SharedFileWriter {
+	private static final EventSink logger = DefaultEventSinkFactory.defaultEventSink(SharedFileWriter.class);
+	private static final double ERROR_RATE = Double
+			.parseDouble(System.getProperty("tnt4j.file.sink.error.rate", "0.1"));
+
+	static final String COMPRESSED_EXT = ".gz";
+
+	private static final Map<Path, SharedFileWriter> OPEN_FILES = new HashMap<>();
+	private static ScheduledExecutorService flusher;
+	private static ExecutorService archiver;
+
+	private final Path path;
+	private final Lock lock = new ReentrantLock();
+	private final FileSink.WriteMode writeMode;
+	private final int flushBytes;
+	private final long flushIntervalMs;
+	private final long segmentSize;
+	private final long rollSize;
+	private final long rollIntervalMs;
+	private final int maxSegments;
+	private final boolean compress;
+
+	private final Limiter errorLimiter = DefaultLimiterFactory.getInstance().newLimiter(ERROR_RATE, Limiter.MAX_RATE);
+	private final AtomicLong failureCount = new AtomicLong();
+
+	private GroupCommitOutputStream stream;
+	private ScheduledFuture<?> flushTask;
+	private long openTime;
+	private long baseSize;
+	private int refCount;
+	private boolean reopen;
+
+	private long rollCount;
+	private long rolledBytes;
+	private long rolledCommits;
+	private long rolledRecords;
+
+	private SharedFileWriter(Path path, FileSink sink) {
+		this.path = path;
+		this.writeMode = sink.getWriteMode();
+		this.flushBytes = sink.getFlushBytes();
+		this.flushIntervalMs = sink.getFlushIntervalMs();
+		this.segmentSize = sink.getSegmentSize();
+		this.rollSize = sink.getRollSize();
+		this.rollIntervalMs = sink.getRollIntervalMs();
+		this.maxSegments = sink.getMaxSegments();
+		this.compress = sink.isCompress();
+	}
+
+	/**
+	 * Obtain a shared writer for a file of a given sink, opening the file if it is not yet open by this JVM.
+	 *
+	 * @param path
+	 *            file path
+	 * @param append
+	 *            true to append to file, false otherwise (file recreated)
+	 * @param sink
+	 *            file sink defining write mode, flush and roll policies
+	 * @return shared file writer
+	 * @throws IOException
+	 *             if error opening file
+	 */
+	static SharedFileWriter acquire(Path path, boolean append, FileSink sink) throws IOException {
+		Path key = path.toAbsolutePath().normalize();
+		synchronized (OPEN_FILES) {
+			SharedFileWriter writer = OPEN_FILES.get(key);
+			if (writer == null) {
+				writer = new SharedFileWriter(key, sink);
+				writer.open(append);
+				OPEN_FILES.put(key, writer);
+			}
+			writer.refCount++;
+			return writer;
+		}
+	}
+
+	/**
+	 * Release this writer. File is closed when the last sink releases the writer.
+	 *
+	 * @throws IOException
+	 *             if error closing file
+	 */
+	void release() throws IOException {
+		boolean last;
+		synchronized (OPEN_FILES) {
+			last = --refCount == 0;
+			if (last) {
+				OPEN_FILES.remove(path);
+			}
+		}
+		if (!last) {
+			flush();
+			return;
+		}
+		if (flushTask != null) {
+			flushTask.cancel(false);
+		}
+		lock.lock();
+		try {
+			stream.close();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void open(boolean append) throws IOException {
+		stream = openStream(append);
+		seed(append);
+		if (flushIntervalMs > 0) {
+			flushTask = getFlusher().scheduleWithFixedDelay(this::flushIfDue, flushIntervalMs, flushIntervalMs,
+					TimeUnit.MILLISECONDS);
+		}
+	}
+
+	private GroupCommitOutputStream openStream(boolean append) throws IOException {
+		if (writeMode == FileSink.WriteMode.STREAM) {
+			return new GroupCommitOutputStream(
+					Files.newOutputStream(path, StandardOpenOption.CREATE,
+							append ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING),
+					flushBytes, flushIntervalMs, TimeUnit.MILLISECONDS);
+		} else {
+			return new FileChannelOutputStream(path, append, writeMode == FileSink.WriteMode.MMAP, flushBytes,
+					flushIntervalMs, TimeUnit.MILLISECONDS, segmentSize);
+		}
+	}
+
+	/**
+	 * Seed size and age of the file used by roll policy. When appending, data already present in the file counts
+	 * towards roll size and file age is counted from its creation, so restarts do not postpone rolling.
+	 *
+	 * @param append
+	 *            true if stream appends to existing file data, false otherwise
+	 */
+	private void seed(boolean append) {
+		openTime = System.currentTimeMillis();
+		baseSize = 0;
+		if (append) {
+			try {
+				BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+				if (attrs.size() > 0) {
+					baseSize = attrs.size();
+					openTime = Math.min(openTime, attrs.creationTime().toMillis());
+				}
+			} catch (IOException exc) {
+				// file size and age are then counted from open
+			}
+		}
+	}
+
+	/**
+	 * Replace current stream with a given newly opened one, keeping statistics of the replaced stream.
+	 *
+	 * @param next
+	 *            newly opened stream
+	 * @param seed
+	 *            true to seed roll size and age from the file, false to count them from now on
+	 */
+	private void swap(GroupCommitOutputStream next, boolean seed) {
+		rolledBytes += stream.getBytesWritten();
+		rolledCommits += stream.getCommitCount();
+		rolledRecords += stream.getCommittedRecords();
+		stream = next;
+		if (seed) {
+			seed(true);
+		} else {
+			openTime = System.currentTimeMillis();
+			baseSize = 0;
+		}
+		reopen = false;
+	}
+
+	/**
+	 * Reopen the file in place after a failed roll. If the file can't be reopened, reopening is retried by the next
+	 * write. Next roll is attempted once the file grows by roll size or ages by roll interval from now.
+	 *
+	 * @param error
+	 *            roll failure, to which a reopen failure is added as suppressed exception
+	 */
+	private void reopen(IOException error) {
+		try {
+			swap(openStream(true), false);
+		} catch (IOException exc) {
+			error.addSuppressed(exc);
+			reopen = true;
+		}
+	}
+
+	private void ensureOpen() throws IOException {
+		if (reopen) {
+			swap(openStream(true), false);
+		}
+	}
+
+	private static synchronized ScheduledExecutorService getFlusher() {
+		if (flusher == null) {
+			flusher = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("FileSink/flusher-"));
+		}
+		return flusher;
+	}
+
+	private static synchronized ExecutorService getArchiver() {
+		if (archiver == null) {
+			ThreadFactory factory = new NamedThreadFactory("FileSink/archiver-");
+			archiver = Executors.newSingleThreadExecutor(r -> {
+				Thread thread = factory.newThread(r);
+				thread.setPriority(Thread.MIN_PRIORITY);
+				return thread;
+			});
+		}
+		return archiver;
+	}
+
+	/**
+	 * Write a given entry as a line and apply flush and roll policies.
+	 *
+	 * @param line
+	 *            entry to be written
+	 * @param commit
+	 *            true to commit entry if flush policy requires it, false to only buffer it
+	 * @throws IOException
+	 *             if error writing to file
+	 */
+	void writeLine(CharSequence line, boolean commit) throws IOException {
+		lock.lock();
+		try {
+			ensureOpen();
+			stream.writeLine(line);
+			if (commit) {
+				stream.commitIfDue();
+				rollIfDue();
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Commit buffered entries if flush policy requires it and roll file if roll policy requires it.
+	 *
+	 * @throws IOException
+	 *             if error writing to file
+	 */
+	void commit() throws IOException {
+		lock.lock();
+		try {
+			ensureOpen();
+			stream.commitIfDue();
+			rollIfDue();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Flush all buffered entries to file.
+	 *
+	 * @throws IOException
+	 *             if error writing to file
+	 */
+	void flush() throws IOException {
+		lock.lock();
+		try {
+			ensureOpen();
+			stream.flush();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void flushIfDue() {
+		lock.lock();
+		try {
+			if (!reopen) {
+				stream.commitIfDue();
+			}
+		} catch (IOException exc) {
+			failed("Failed to flush file", exc);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void failed(String msg, IOException exc) {
+		long count = failureCount.incrementAndGet();
+		if (errorLimiter.tryObtain(1, 0)) {
+			logger.log(OpLevel.ERROR, "{0}: file={1}, failure.count={2}", msg, path, count, exc);
+		}
+	}
+
+	/**
+	 * Obtain output stream writing to this shared file. Closing returned stream does not close the file.
+	 *
+	 * @return output stream writing to this shared file
+	 */
+	OutputStream asOutputStream() {
+		return new OutputStream() {
+			@Override
+			public void write(int b) throws IOException {
+				lock.lock();
+				try {
+					ensureOpen();
+					stream.write(b);
+				} finally {
+					lock.unlock();
+				}
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) throws IOException {
+				lock.lock();
+				try {
+					ensureOpen();
+					stream.write(b, off, len);
+				} finally {
+					lock.unlock();
+				}
+			}
+
+			@Override
+			public void flush() throws IOException {
+				SharedFileWriter.this.flush();
+			}
+		};
+	}
+
+	private void rollIfDue() throws IOException {
+		if ((rollSize > 0 && baseSize + stream.getSize() >= rollSize)
+				|| (rollIntervalMs > 0 && System.currentTimeMillis() - openTime >= rollIntervalMs)) {
+			roll();
+		}
+	}
+
+	private void roll() throws IOException {
+		Path segment = segmentPath();
+		try {
+			stream.close();
+			move(path, segment);
+		} catch (IOException exc) {
+			reopen(exc);
+			throw exc;
+		}
+		GroupCommitOutputStream next;
+		try {
+			next = openStream(true);
+		} catch (IOException exc) {
+			try {
+				move(segment, path);
+			} catch (IOException mexc) {
+				exc.addSuppressed(mexc);
+			}
+			reopen(exc);
+			throw exc;
+		}
+		swap(next, true);
+		rollCount++;
+		getArchiver().execute(() -> archive(segment));
+	}
+
+	private static void move(Path source, Path target) throws IOException {
+		try {
+			Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException exc) {
+			Files.move(source, target);
+		}
+	}
+
+	private Path segmentPath() {
+		String stamp = new SimpleDateFormat("yyyyMMdd-HHmmss-SSS").format(new Date());
+		Path segment = path.resolveSibling(path.getFileName() + "." + stamp);
+		for (int i = 1; Files.exists(segment) || Files.exists(compressedPath(segment)); i++) {
+			segment = path.resolveSibling(path.getFileName() + "." + stamp + "-" + i);
+		}
+		return segment;
+	}
+
+	private static Path compressedPath(Path segment) {
+		return segment.resolveSibling(segment.getFileName() + COMPRESSED_EXT);
+	}
+
+	private void archive(Path segment) {
+		try {
+			if (compress) {
+				compress(segment);
+			}
+			if (maxSegments > 0) {
+				prune();
+			}
+		} catch (IOException exc) {
+			// segment is left uncompressed, pruning is retried after next roll
+			failed("Failed to archive file segment " + segment, exc);
+		}
+	}
+
+	private static void compress(Path segment) throws IOException {
+		Path target = compressedPath(segment);
+		Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+		byte[] buf = new byte[GroupCommitOutputStream.DEFAULT_BUFFER_SIZE];
+		try (InputStream in = Files.newInputStream(segment);
+				OutputStream out = new GZIPOutputStream(Files.newOutputStream(tmp), buf.length)) {
+			int n;
+			while ((n = in.read(buf)) > 0) {
+				out.write(buf, 0, n);
+			}
+		} catch (IOException exc) {
+			Files.deleteIfExists(tmp);
+			throw exc;
+		}
+		Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+		Files.delete(segment);
+	}
+
+	private void prune() throws IOException {
+		String prefix = path.getFileName() + ".";
+		List<Path> segments = new ArrayList<>();
+		try (DirectoryStream<Path> dir = Files.newDirectoryStream(path.toAbsolutePath().getParent())) {
+			for (Path segment : dir) {
+				String name = segment.getFileName().toString();
+				if (name.length() > prefix.length() && name.startsWith(prefix)
+						&& Character.isDigit(name.charAt(prefix.length())) && !name.endsWith(".tmp")) {
+					segments.add(segment);
+				}
+			}
+		}
+		if (segments.size() <= maxSegments) {
+			return;
+		}
+		segments.sort(Comparator.comparing(p -> p.getFileName().toString()));
+		for (int i = 0; i < segments.size() - maxSegments; i++) {
+			Files.deleteIfExists(segments.get(i));
+		}
+	}
+
+	/**
+	 * Obtain total number of bytes written to file segments since file was opened.
+	 *
+	 * @return number of bytes written
+	 */
+	long getBytesWritten() {
+		lock.lock();
+		try {
+			return rolledBytes + stream.getBytesWritten();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Obtain number of flushes performed since file was opened.
+	 *
+	 * @return number of flushes
+	 */
+	long getFlushCount() {
+		lock.lock();
+		try {
+			return rolledCommits + stream.getCommitCount();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Obtain average number of entries written to file per flush.
+	 *
+	 * @return average flush batch size
+	 */
+	double getAvgFlushBatch() {
+		lock.lock();
+		try {
+			long commits = rolledCommits + stream.getCommitCount();
+			return commits == 0 ? 0.0 : (double) (rolledRecords + stream.getCommittedRecords()) / commits;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Obtain number of times file was rolled since it was opened.
+	 *
+	 * @return number of file rolls
+	 */
+	long getRollCount() {
+		lock.lock();
+		try {
+			return rollCount;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Obtain number of failed background flushes and segment archiving attempts since file was opened.
+	 *
+	 * @return number of background failures
+	 */
+	long getFailureCount() {
+		return failureCount.get();
+	}
+
+	/**
+	 * Reset write, flush, roll and failure statistics.
+	 */
+	void resetStats() {
+		lock.lock();
+		try {
+			failureCount.set(0);
+			rollCount = 0;
+			rolledBytes = 0;
+			rolledCommits = 0;
+			rolledRecords = 0;
+			stream.resetStats();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() //
+				+ "{path: " + path //
+				+ ", write.mode: " + writeMode //
+				+ ", roll.size: " + rollSize //
+				+ ", roll.interval.ms: " + rollIntervalMs //
+				+ ", max.segments: " + maxSegments //
+				+ ", compress: " + compress //
+				+ ", refs: " + refCount //
+				+ "}";
+	}
+}
@@ -15,18 +15,32 @@
  */
 package com.jkoolcloud.tnt4j.sink.impl;
 
+import java.io.BufferedOutputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.InetSocketAddress;
 import java.net.Proxy;
 import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.Collection;
+import java.util.Map;
+import java.util.zip.Deflater;
 
 import org.apache.commons.lang3.StringUtils;
 
+import com.jkoolcloud.tnt4j.core.KeyValueStats;
 import com.jkoolcloud.tnt4j.core.OpLevel;
 import com.jkoolcloud.tnt4j.format.EventFormatter;
 import com.jkoolcloud.tnt4j.sink.EventSink;
 import com.jkoolcloud.tnt4j.sink.LoggedEventSink;
+import com.jkoolcloud.tnt4j.sink.SinkBatchException;
+import com.jkoolcloud.tnt4j.sink.SinkLogEvent;
 import com.jkoolcloud.tnt4j.tracker.TrackingActivity;
 import com.jkoolcloud.tnt4j.tracker.TrackingEvent;
 import com.jkoolcloud.tnt4j.utils.Utils;
@@ -40,6 +54,14 @@ import com.jkoolcloud.tnt4j.utils.Utils;
  * <li>{@code java.net.socks.username} - proxy user name</li>
  * <li>{@code java.net.socks.password} - proxy user password</li>
  * </ul>
+ * <p>
+ * {@link IoMode#NIO} mode sends events using {@link NioSocketWriter}: non-blocking socket channel with bounded direct
+ * outbound buffers, gathering writes and a shared selector thread. SOCKS proxies are not supported by socket channels,
+ * so sinks configured with a proxy always use {@link IoMode#BLOCKING} mode.
+ * <p>
+ * {@link Compression#DEFLATE} compression sends events as a zlib stream using {@link CompressingOutputStream}, sync
+ * flushed after each event or batch of events. Receivers read the stream using
+ * {@link java.util.zip.InflaterInputStream}.
  *
  *
  * @version $Revision: 16 $
@@ -49,13 +71,62 @@ import com.jkoolcloud.tnt4j.utils.Utils;
  * @see OpLevel
  * @see EventSink
  * @see EventFormatter
+ * @see NioSocketWriter
  */
 public class SocketEventSink extends LoggedEventSink {
+	static final String KEY_SOCKET_BYTES_WRITTEN = "socket-bytes-written";
+	static final String KEY_SOCKET_WRITES = "socket-writes";
+	static final String KEY_SOCKET_PARTIAL_WRITES = "socket-partial-writes";
+	static final String KEY_SOCKET_BACKPRESSURE_WAITS = "socket-backpressure-waits";
+	static final String KEY_SOCKET_PENDING_BYTES = "socket-pending-bytes";
+	static final String KEY_COMPRESS_RAW_BYTES = "socket-compress-raw-bytes";
+	static final String KEY_COMPRESS_BYTES = "socket-compress-bytes";
+	static final String KEY_COMPRESS_RATIO = "socket-compress-ratio";
+	static final String KEY_COMPRESS_TIME = "socket-compress-time-usec";
+
+	/**
+	 * Enumerates socket I/O modes.
+	 */
+	public enum IoMode {
+		/**
+		 * Write using blocking socket stream.
+		 */
+		BLOCKING,
+		/**
+		 * Write using non-blocking socket channel.
+		 */
+		NIO
+	}
+
+	/**
+	 * Enumerates socket stream compression modes.
+	 */
+	public enum Compression {
+		/**
+		 * Send events uncompressed.
+		 */
+		NONE,
+		/**
+		 * Send events as zlib stream, sync flushed after each event or batch of events.
+		 */
+		DEFLATE
+	}
 
 	private Socket socketSink = null;
+	private NioSocketWriter nioWriter = null;
+	private CompressingOutputStream compressor = null;
 	private DataOutputStream outStream = null;
+	private CharsetEncoder lineEncoder = null;
+	private ByteBuffer lineBytes = null;
 	private String hostName = "localhost";
 	private int portNo = 6400;
+	private boolean batching = false;
+	private IoMode ioMode = IoMode.BLOCKING;
+	private int bufferSize = NioSocketWriter.DEFAULT_BUFFER_SIZE;
+	private long maxPendingBytes = NioSocketWriter.DEFAULT_MAX_PENDING_BYTES;
+	private long writeTimeoutMs = NioSocketWriter.DEFAULT_WRITE_TIMEOUT_MS;
+	private Compression compression = Compression.NONE;
+	private int compressionLevel = Deflater.DEFAULT_COMPRESSION;
 
 	protected InetSocketAddress proxyAddr;
 	protected Proxy proxy = Proxy.NO_PROXY; // default to direct connection
@@ -110,13 +181,70 @@ public class SocketEventSink extends LoggedEventSink {
 		}
 	}
 
+	/**
+	 * Set socket I/O mode and {@link IoMode#NIO} mode outbound buffering options. Must be called before sink is opened.
+	 *
+	 * @param mode
+	 *            socket I/O mode
+	 * @param bufferSize
+	 *            size of a single outbound buffer in bytes
+	 * @param maxPendingBytes
+	 *            maximum number of bytes held in outbound buffers before writers block
+	 * @param writeTimeoutMs
+	 *            maximum time in milliseconds writers block waiting for outbound buffer space
+	 * @return itself
+	 */
+	public SocketEventSink setIoMode(IoMode mode, int bufferSize, long maxPendingBytes, long writeTimeoutMs) {
+		this.ioMode = mode == null ? IoMode.BLOCKING : mode;
+		this.bufferSize = bufferSize;
+		this.maxPendingBytes = maxPendingBytes;
+		this.writeTimeoutMs = writeTimeoutMs;
+		return this;
+	}
+
+	/**
+	 * Set compression of the socket stream. Must be called before sink is opened.
+	 *
+	 * @param compression
+	 *            socket stream compression mode
+	 * @param level
+	 *            compression level (0-9), {@link Deflater#DEFAULT_COMPRESSION} for default level
+	 * @return itself
+	 */
+	public SocketEventSink setCompression(Compression compression, int level) {
+		this.compression = compression == null ? Compression.NONE : compression;
+		this.compressionLevel = level;
+		return this;
+	}
+
+	/**
+	 * Obtain compression of the socket stream.
+	 *
+	 * @return socket stream compression mode
+	 */
+	public Compression getCompression() {
+		return compression;
+	}
+
+	/**
+	 * Obtain socket I/O mode used by this sink. Sinks configured with a proxy always use {@link IoMode#BLOCKING} mode.
+	 *
+	 * @return socket I/O mode
+	 */
+	public IoMode getIoMode() {
+		return proxy == Proxy.NO_PROXY ? ioMode : IoMode.BLOCKING;
+	}
+
 	@Override
 	public Object getSinkHandle() {
-		return socketSink;
+		return nioWriter != null ? nioWriter.getChannel() : socketSink;
 	}
 
 	@Override
 	public boolean isOpen() {
+		if (nioWriter != null) {
+			return nioWriter.isOpen();
+		}
 		return socketSink != null && socketSink.isConnected();// && outStream != null;
 	}
 
@@ -127,9 +255,23 @@ public class SocketEventSink extends LoggedEventSink {
 				_close();
 			}
 			setErrorState(null);
-			socketSink = new Socket(proxy);
-			socketSink.connect(new InetSocketAddress(hostName, portNo));
-			outStream = new DataOutputStream(socketSink.getOutputStream());
+			OutputStream out;
+			if (getIoMode() == IoMode.NIO) {
+				nioWriter = new NioSocketWriter(new InetSocketAddress(hostName, portNo), bufferSize, maxPendingBytes,
+						writeTimeoutMs);
+				out = nioWriter.getOutputStream();
+			} else {
+				socketSink = new Socket(proxy);
+				socketSink.connect(new InetSocketAddress(hostName, portNo));
+				out = new BufferedOutputStream(socketSink.getOutputStream());
+			}
+			if (compression == Compression.DEFLATE) {
+				compressor = new CompressingOutputStream(out, compressionLevel, NioSocketWriter.DEFAULT_BUFFER_SIZE);
+				out = compressor;
+			}
+			if (nioWriter == null || compressor != null) {
+				outStream = new DataOutputStream(out);
+			}
 
 			super._open();
 		} catch (Throwable e) {
@@ -146,7 +288,16 @@ public class SocketEventSink extends LoggedEventSink {
 	@Override
 	protected synchronized void _close() throws IOException {
 		Utils.close(outStream);
+		if (nioWriter != null) {
+			try {
+				nioWriter.close();
+			} catch (IOException exc) {
+				// writer is closed anyway, pending data is lost
+			}
+		}
 		Utils.close(socketSink);
+		nioWriter = null;
+		compressor = null;
 		outStream = null;
 		socketSink = null;
 
@@ -156,7 +307,45 @@ public class SocketEventSink extends LoggedEventSink {
 	@Override
 	public synchronized void flush() throws IOException {
 		if (isOpen()) {
-			outStream.flush();
+			if (outStream != null) {
+				outStream.flush();
+			} else {
+				nioWriter.flush();
+			}
+		}
+	}
+
+	@Override
+	public KeyValueStats getStats(Map<String, Object> stats) {
+		super.getStats(stats);
+		NioSocketWriter writer = nioWriter;
+		if (writer != null) {
+			stats.put(Utils.qualify(this, KEY_SOCKET_BYTES_WRITTEN), writer.getBytesWritten());
+			stats.put(Utils.qualify(this, KEY_SOCKET_WRITES), writer.getWriteCount());
+			stats.put(Utils.qualify(this, KEY_SOCKET_PARTIAL_WRITES), writer.getPartialWrites());
+			stats.put(Utils.qualify(this, KEY_SOCKET_BACKPRESSURE_WAITS), writer.getBackpressureWaits());
+			stats.put(Utils.qualify(this, KEY_SOCKET_PENDING_BYTES), writer.getPendingBytes());
+		}
+		CompressingOutputStream cStream = compressor;
+		if (cStream != null) {
+			stats.put(Utils.qualify(this, KEY_COMPRESS_RAW_BYTES), cStream.getRawBytes());
+			stats.put(Utils.qualify(this, KEY_COMPRESS_BYTES), cStream.getCompressedBytes());
+			stats.put(Utils.qualify(this, KEY_COMPRESS_RATIO), cStream.getRatio());
+			stats.put(Utils.qualify(this, KEY_COMPRESS_TIME), cStream.getCompressTimeUsec());
+		}
+		return this;
+	}
+
+	@Override
+	public void resetStats() {
+		super.resetStats();
+		NioSocketWriter writer = nioWriter;
+		if (writer != null) {
+			writer.resetStats();
+		}
+		CompressingOutputStream cStream = compressor;
+		if (cStream != null) {
+			cStream.resetStats();
 		}
 	}
 
@@ -166,30 +355,68 @@ public class SocketEventSink extends LoggedEventSink {
 				+ "{host: " + hostName //
 				+ ", port: " + portNo //
 				+ ", socket: " + socketSink //
+				+ ", io.mode: " + getIoMode() //
+				+ ", compression: " + compression //
 				+ ", proxy: " + proxy //
 				+ "}";
 	}
 
+	@Override
+	protected synchronized void _log(Collection<SinkLogEvent> events) throws IOException {
+		batching = true;
+		try {
+			super._log(events);
+		} catch (SinkBatchException ex) {
+			try {
+				flush();
+			} catch (IOException cex) {
+				// entries already handed to the sink may be lost: none of them are treated as logged
+				SinkBatchException bex = new SinkBatchException("Failed to commit event batch: sink=" + this, 0, cex);
+				bex.addSuppressed(ex);
+				throw bex;
+			}
+			throw ex;
+		} finally {
+			batching = false;
+		}
+		flush();
+	}
+
 	@Override
 	protected void writeLine(String msg) throws IOException {
 		writeLine(msg, false);
 	}
 
-	private synchronized void writeLine(String msg, boolean retrying) throws IOException {
-		if (Utils.isEmpty(msg)) {
+	@Override
+	protected void writeLine(CharSequence msg) throws IOException {
+		writeLine(msg, false);
+	}
+
+	private synchronized void writeLine(CharSequence msg, boolean retrying) throws IOException {
+		if (msg == null || msg.length() == 0) {
 			return;
 		}
 
 		_checkState();
 
+		boolean newLine = msg.charAt(msg.length() - 1) != '\n';
 		try {
-			byte[] bytes = msg.getBytes();
-			incrementBytesSent(bytes.length);
-			outStream.write(bytes, 0, bytes.length);
-			if (!msg.endsWith("\n")) {
+			if (outStream == null) {
+				incrementBytesSent(nioWriter.write(msg, newLine));
+				if (!batching) {
+					nioWriter.flush();
+				}
+				return;
+			}
+			ByteBuffer bytes = encodeLine(msg);
+			incrementBytesSent(bytes.position());
+			outStream.write(bytes.array(), 0, bytes.position());
+			if (newLine) {
 				outStream.write('\n');
 			}
-			outStream.flush();
+			if (!batching) {
+				outStream.flush();
+			}
 		} catch (IOException e) {
 			if (retrying) {
 				throw e;
@@ -199,13 +426,42 @@ public class SocketEventSink extends LoggedEventSink {
 		}
 	}
 
-	private void retryWrite(String msg, Throwable e) throws IOException {
+	private ByteBuffer encodeLine(CharSequence msg) throws IOException {
+		if (lineEncoder == null) {
+			lineEncoder = Charset.defaultCharset().newEncoder().onMalformedInput(CodingErrorAction.REPLACE)
+					.onUnmappableCharacter(CodingErrorAction.REPLACE);
+			lineBytes = ByteBuffer.allocate(Math.max(bufferSize, 1024));
+		}
+		CharBuffer chars = CharBuffer.wrap(msg);
+		lineEncoder.reset();
+		lineBytes.clear();
+		CoderResult result;
+		while ((result = lineEncoder.encode(chars, lineBytes, true)).isOverflow()) {
+			growLineBytes();
+		}
+		if (result.isError()) {
+			result.throwException();
+		}
+		while (lineEncoder.flush(lineBytes).isOverflow()) {
+			growLineBytes();
+		}
+		return lineBytes;
+	}
+
+	private void growLineBytes() {
+		ByteBuffer grown = ByteBuffer.allocate(lineBytes.capacity() * 2);
+		lineBytes.flip();
+		lineBytes = grown.put(lineBytes);
+	}
+
+	private void retryWrite(CharSequence msg, Throwable e) throws IOException {
 		try {
+			String retryMsg = msg.toString(); // message buffer may be reused while reopening
 			reopen();
-			writeLine(msg, true);
+			writeLine(retryMsg, true);
 		} catch (IOException ioe) {
 			if (e != null) {
-				ioe.initCause(e);
+				ioe.addSuppressed(e);
 			}
 			throw ioe;
 		}
@@ -17,6 +17,7 @@ package com.jkoolcloud.tnt4j.sink.impl;
 
 import java.util.Map;
 import java.util.Properties;
+import java.util.zip.Deflater;
 
 import org.apache.commons.lang3.StringUtils;
 
@@ -50,6 +51,20 @@ public class SocketEventSinkFactory extends LoggedEventSinkFactory {
 	private int proxyPort = 0;
 	private String proxyUser;
 	private String proxyPass;
+	private SocketEventSink.IoMode ioMode = SocketEventSink.IoMode.valueOf(
+			System.getProperty("tnt4j.sink.factory.socket.io.mode", SocketEventSink.IoMode.BLOCKING.name())
+					.toUpperCase());
+	private int bufferSize = Integer.getInteger("tnt4j.sink.factory.socket.buffer.size",
+			NioSocketWriter.DEFAULT_BUFFER_SIZE);
+	private long maxPendingBytes = Long.getLong("tnt4j.sink.factory.socket.max.pending.bytes",
+			NioSocketWriter.DEFAULT_MAX_PENDING_BYTES);
+	private long writeTimeoutMs = Long.getLong("tnt4j.sink.factory.socket.write.timeout.ms",
+			NioSocketWriter.DEFAULT_WRITE_TIMEOUT_MS);
+	private SocketEventSink.Compression compression = SocketEventSink.Compression.valueOf(
+			System.getProperty("tnt4j.sink.factory.socket.compression", SocketEventSink.Compression.NONE.name())
+					.toUpperCase());
+	private int compressionLevel = Integer.getInteger("tnt4j.sink.factory.socket.compression.level",
+			Deflater.DEFAULT_COMPRESSION);
 
 	/**
 	 * Create a socket event sink factory. Same as {@code SocketEventSinkFactory("localhost", 6400)}.
@@ -115,7 +130,9 @@ public class SocketEventSinkFactory extends LoggedEventSinkFactory {
 	 * @see EventFormatter
 	 */
 	public EventSink getEventSink(String name, Properties props, EventFormatter frmt, EventSink pipedSink) {
-		return configureSink(new SocketEventSink(name, hostName, port, proxyHost, proxyPort, frmt, pipedSink));
+		return configureSink(new SocketEventSink(name, hostName, port, proxyHost, proxyPort, frmt, pipedSink)
+				.setIoMode(ioMode, bufferSize, maxPendingBytes, writeTimeoutMs)
+				.setCompression(compression, compressionLevel));
 	}
 
 	@Override
@@ -142,6 +159,23 @@ public class SocketEventSinkFactory extends LoggedEventSinkFactory {
 		proxyPort = Utils.getInt("ProxyPort", settings, proxyPort);
 		proxyUser = Utils.getString("ProxyUser", settings, proxyUser);
 		proxyPass = Utils.getString("ProxyPass", settings, proxyPass);
+		bufferSize = Utils.getInt("BufferSize", settings, bufferSize);
+		maxPendingBytes = Utils.getLong("MaxPendingBytes", settings, maxPendingBytes);
+		writeTimeoutMs = Utils.getLong("WriteTimeoutMs", settings, writeTimeoutMs);
+		compressionLevel = Utils.getInt("CompressionLevel", settings, compressionLevel);
+
+		String mode = Utils.getString("IoMode", settings, ioMode.name());
+		String compressionName = Utils.getString("Compression", settings, compression.name());
+		try {
+			ioMode = SocketEventSink.IoMode.valueOf(mode.toUpperCase());
+			compression = SocketEventSink.Compression.valueOf(compressionName.toUpperCase());
+		} catch (IllegalArgumentException exc) {
+			throw new ConfigException(exc.getLocalizedMessage(), settings);
+		}
+		if (compressionLevel < Deflater.DEFAULT_COMPRESSION || compressionLevel > Deflater.BEST_COMPRESSION) {
+			throw new ConfigException("CompressionLevel must be between " + Deflater.DEFAULT_COMPRESSION + " and "
+					+ Deflater.BEST_COMPRESSION + ": CompressionLevel=" + compressionLevel, settings);
+		}
 	}
 
 	@Override
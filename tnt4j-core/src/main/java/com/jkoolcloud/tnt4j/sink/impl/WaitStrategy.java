@@ -0,0 +1,96 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jkoolcloud.tnt4j.sink.impl;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Enumerates strategies used by {@link RingBufferQueue} producers and consumers to wait while the ring buffer is full
+ * or empty. Strategies trade CPU usage for latency: {@link #BUSY_SPIN} gives the lowest latency and burns a core per
+ * waiting thread, {@link #PARK} is the most CPU friendly.
+ *
+ * @version $Revision: 1 $
+ *
+ * @see RingBufferQueue
+ */
+public enum WaitStrategy {
+	/**
+	 * Spin on the CPU using {@link Thread#onSpinWait()} hints.
+	 */
+	BUSY_SPIN {
+		@Override
+		public int idle(int counter) {
+			Thread.onSpinWait();
+			return next(counter);
+		}
+	},
+	/**
+	 * Spin for a short while and then yield CPU to other threads using {@link Thread#yield()}.
+	 */
+	YIELD {
+		@Override
+		public int idle(int counter) {
+			if (counter < SPIN_TRIES) {
+				Thread.onSpinWait();
+			} else {
+				Thread.yield();
+			}
+			return next(counter);
+		}
+	},
+	/**
+	 * Spin, then yield and finally park the waiting thread for {@code tnt4j.pooled.logger.park.nanos} nanoseconds.
+	 */
+	PARK {
+		@Override
+		public int idle(int counter) {
+			if (counter < SPIN_TRIES) {
+				Thread.onSpinWait();
+			} else if (counter < SPIN_TRIES + YIELD_TRIES) {
+				Thread.yield();
+			} else {
+				LockSupport.parkNanos(PARK_NANOS);
+			}
+			return next(counter);
+		}
+	};
+
+	static final int SPIN_TRIES = 100;
+	static final int YIELD_TRIES = 100;
+	static final long PARK_NANOS = Long.getLong("tnt4j.pooled.logger.park.nanos", TimeUnit.MICROSECONDS.toNanos(100));
+	static final int MAX_TRIES = SPIN_TRIES + YIELD_TRIES;
+
+	/**
+	 * Advance idle cycle counter, capped at {@link #MAX_TRIES} so that long waits never overflow it.
+	 *
+	 * @param counter
+	 *            number of idle cycles the calling thread already waited
+	 * @return next idle cycle counter value
+	 */
+	static int next(int counter) {
+		return Math.min(counter + 1, MAX_TRIES);
+	}
+
+	/**
+	 * Wait for a single idle cycle while ring buffer is not ready for the calling thread.
+	 *
+	 * @param counter
+	 *            number of idle cycles the calling thread already waited
+	 * @return counter value to be used for the next idle cycle, never greater than {@link #MAX_TRIES}
+	 */
+	public abstract int idle(int counter);
+}
@@ -98,14 +98,14 @@ public class DefaultActivityListener implements ActivityListener {
 		PropertySnapshot cpu = new PropertySnapshot(DEFAULT_SNAPSHOT_CATEGORY, SNAPSHOT_CPU, activity.getSeverity());
 		double load = ManagementFactory.getOperatingSystemMXBean().getSystemLoadAverage();
 		if (load >= 0) {
-			cpu.add(new Property(DEFAULT_PROPERTY_LOAD_AVG, load, ValueTypes.VALUE_TYPE_GAUGE));
+			cpu.add(Property.ofDouble(DEFAULT_PROPERTY_LOAD_AVG, load, ValueTypes.VALUE_TYPE_GAUGE));
 		}
 		if (ctx != null && cpuTimingSupported) {
 			cpu.add(DEFAULT_PROPERTY_COUNT, ManagementFactory.getOperatingSystemMXBean().getAvailableProcessors());
-			cpu.add(new Property(DEFAULT_PROPERTY_CPU_TIME,
+			cpu.add(Property.ofDouble(DEFAULT_PROPERTY_CPU_TIME,
 					((double) tmbean.getThreadCpuTime(ctx.ownerThread.getThreadId()) / 1000.0d),
 					ValueTypes.VALUE_TYPE_AGE_USEC));
-			cpu.add(new Property(DEFAULT_PROPERTY_TOTAL_USER_TIME,
+			cpu.add(Property.ofDouble(DEFAULT_PROPERTY_TOTAL_USER_TIME,
 					((double) tmbean.getThreadUserTime(ctx.ownerThread.getThreadId()) / 1000.0d),
 					ValueTypes.VALUE_TYPE_AGE_USEC));
 		}
@@ -116,19 +116,19 @@ public class DefaultActivityListener implements ActivityListener {
 		thread.add(new Property(DEFAULT_PROPERTY_COUNT, tmbean.getThreadCount(), ValueTypes.VALUE_TYPE_GAUGE));
 		thread.add(new Property(DEFAULT_PROPERTY_DAEMON_COUNT, tmbean.getDaemonThreadCount(),
 				ValueTypes.VALUE_TYPE_GAUGE));
-		thread.add(new Property(DEFAULT_PROPERTY_STARTED_COUNT, tmbean.getTotalStartedThreadCount(),
+		thread.add(Property.ofLong(DEFAULT_PROPERTY_STARTED_COUNT, tmbean.getTotalStartedThreadCount(),
 				ValueTypes.VALUE_TYPE_COUNTER));
 		thread.add(new Property(DEFAULT_PROPERTY_PEAK_COUNT, tmbean.getPeakThreadCount(), ValueTypes.VALUE_TYPE_GAUGE));
 		if (ctx != null) {
-			thread.add(new Property(DEFAULT_PROPERTY_BLOCKED_COUNT, ctx.ownerThread.getBlockedCount(),
+			thread.add(Property.ofLong(DEFAULT_PROPERTY_BLOCKED_COUNT, ctx.ownerThread.getBlockedCount(),
 					ValueTypes.VALUE_TYPE_COUNTER));
-			thread.add(new Property(DEFAULT_PROPERTY_WAITED_COUNT, ctx.ownerThread.getWaitedCount(),
+			thread.add(Property.ofLong(DEFAULT_PROPERTY_WAITED_COUNT, ctx.ownerThread.getWaitedCount(),
 					ValueTypes.VALUE_TYPE_COUNTER));
 		}
 		if (ctx != null && contTimingSupported) {
-			thread.add(new Property(DEFAULT_PROPERTY_BLOCKED_TIME, ctx.ownerThread.getBlockedTime() * 1000,
+			thread.add(Property.ofLong(DEFAULT_PROPERTY_BLOCKED_TIME, ctx.ownerThread.getBlockedTime() * 1000,
 					ValueTypes.VALUE_TYPE_AGE_USEC));
-			thread.add(new Property(DEFAULT_PROPERTY_WAITED_TIME, ctx.ownerThread.getWaitedTime() * 1000,
+			thread.add(Property.ofLong(DEFAULT_PROPERTY_WAITED_TIME, ctx.ownerThread.getWaitedTime() * 1000,
 					ValueTypes.VALUE_TYPE_AGE_USEC));
 		}
 		activity.add(thread);
@@ -136,22 +136,22 @@ public class DefaultActivityListener implements ActivityListener {
 		PropertySnapshot mem = new PropertySnapshot(DEFAULT_SNAPSHOT_CATEGORY, SNAPSHOT_MEMORY, activity.getSeverity());
 		long usedMem = Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
 		double memPct = (double) ((double) usedMem / (double) Runtime.getRuntime().totalMemory());
-		mem.add(new Property(DEFAULT_PROPERTY_MAX_BYTES, Runtime.getRuntime().maxMemory(),
+		mem.add(Property.ofLong(DEFAULT_PROPERTY_MAX_BYTES, Runtime.getRuntime().maxMemory(),
 				ValueTypes.VALUE_TYPE_SIZE_BYTE));
-		mem.add(new Property(DEFAULT_PROPERTY_TOTAL_BYTES, Runtime.getRuntime().totalMemory(),
+		mem.add(Property.ofLong(DEFAULT_PROPERTY_TOTAL_BYTES, Runtime.getRuntime().totalMemory(),
 				ValueTypes.VALUE_TYPE_SIZE_BYTE));
-		mem.add(new Property(DEFAULT_PROPERTY_FREE_BYTES, Runtime.getRuntime().freeMemory(),
+		mem.add(Property.ofLong(DEFAULT_PROPERTY_FREE_BYTES, Runtime.getRuntime().freeMemory(),
 				ValueTypes.VALUE_TYPE_SIZE_BYTE));
-		mem.add(new Property(DEFAULT_PROPERTY_USED_BYTES, usedMem, ValueTypes.VALUE_TYPE_SIZE_BYTE));
-		mem.add(new Property(DEFAULT_PROPERTY_USAGE, memPct, ValueTypes.VALUE_TYPE_PERCENT));
+		mem.add(Property.ofLong(DEFAULT_PROPERTY_USED_BYTES, usedMem, ValueTypes.VALUE_TYPE_SIZE_BYTE));
+		mem.add(Property.ofDouble(DEFAULT_PROPERTY_USAGE, memPct, ValueTypes.VALUE_TYPE_PERCENT));
 		activity.add(mem);
 
 		List<GarbageCollectorMXBean> gcList = ManagementFactory.getGarbageCollectorMXBeans();
 		for (GarbageCollectorMXBean gc : gcList) {
 			PropertySnapshot gcSnap = new PropertySnapshot(SNAPSHOT_CATEGORY_GC, gc.getName(), activity.getSeverity());
-			gcSnap.add(new Property(DEFAULT_PROPERTY_COUNT, gc.getCollectionCount(), ValueTypes.VALUE_TYPE_COUNTER));
-			gcSnap.add(new Property(DEFAULT_PROPERTY_TIME, gc.getCollectionTime(), ValueTypes.VALUE_TYPE_AGE_MSEC));
-			gcSnap.add(new Property(DEFAULT_PROPERTY_VALID, gc.isValid()));
+			gcSnap.add(Property.ofLong(DEFAULT_PROPERTY_COUNT, gc.getCollectionCount(), ValueTypes.VALUE_TYPE_COUNTER));
+			gcSnap.add(Property.ofLong(DEFAULT_PROPERTY_TIME, gc.getCollectionTime(), ValueTypes.VALUE_TYPE_AGE_MSEC));
+			gcSnap.add(Property.ofBoolean(DEFAULT_PROPERTY_VALID, gc.isValid()));
 			activity.add(gcSnap);
 		}
 
@@ -161,24 +161,24 @@ public class DefaultActivityListener implements ActivityListener {
 			if (cpuTimingSupported) {
 				long cpuUsed = getUsedCpuTimeNanos(ctx);
 				double cpuUsec = ((double) cpuUsed / 1000.0d);
-				snapshot.add(new Property(DEFAULT_PROPERTY_CPU_TIME, cpuUsec));
+				snapshot.add(Property.ofDouble(DEFAULT_PROPERTY_CPU_TIME, cpuUsec));
 				long slackTime = (long) (activity.getElapsedTimeUsec() - activity.getWaitTimeUsec() - cpuUsec);
-				snapshot.add(new Property(DEFAULT_PROPERTY_SLACK_TIME, slackTime, ValueTypes.VALUE_TYPE_AGE_USEC));
-				snapshot.add(new Property(DEFAULT_PROPERTY_WALL_TIME, (cpuUsec + activity.getWaitTimeUsec()),
+				snapshot.add(Property.ofLong(DEFAULT_PROPERTY_SLACK_TIME, slackTime, ValueTypes.VALUE_TYPE_AGE_USEC));
+				snapshot.add(Property.ofDouble(DEFAULT_PROPERTY_WALL_TIME, (cpuUsec + activity.getWaitTimeUsec()),
 						ValueTypes.VALUE_TYPE_AGE_USEC));
 			}
-			snapshot.add(new Property(DEFAULT_PROPERTY_BLOCKED_COUNT, (ctx.stopBlockCount - ctx.startBlockCount),
+			snapshot.add(Property.ofLong(DEFAULT_PROPERTY_BLOCKED_COUNT, (ctx.stopBlockCount - ctx.startBlockCount),
 					ValueTypes.VALUE_TYPE_GAUGE));
-			snapshot.add(new Property(DEFAULT_PROPERTY_WAITED_COUNT, (ctx.stopWaitCount - ctx.startWaitCount),
+			snapshot.add(Property.ofLong(DEFAULT_PROPERTY_WAITED_COUNT, (ctx.stopWaitCount - ctx.startWaitCount),
 					ValueTypes.VALUE_TYPE_GAUGE));
 			if (contTimingSupported) {
-				snapshot.add(new Property(DEFAULT_PROPERTY_BLOCKED_TIME,
+				snapshot.add(Property.ofLong(DEFAULT_PROPERTY_BLOCKED_TIME,
 						((ctx.stopBlockTime - ctx.startBlockTime) * 1000), ValueTypes.VALUE_TYPE_AGE_USEC));
-				snapshot.add(new Property(DEFAULT_PROPERTY_WAITED_TIME, ((ctx.stopWaitTime - ctx.startWaitTime) * 1000),
-						ValueTypes.VALUE_TYPE_AGE_USEC));
+				snapshot.add(Property.ofLong(DEFAULT_PROPERTY_WAITED_TIME,
+						((ctx.stopWaitTime - ctx.startWaitTime) * 1000), ValueTypes.VALUE_TYPE_AGE_USEC));
 			}
 			ctx.overHeadTimeNano += (System.nanoTime() - start);
-			snapshot.add(new Property(DEFAULT_PROPERTY_OVERHEAD_TIME, ((double) ctx.overHeadTimeNano / 1000.0d),
+			snapshot.add(Property.ofDouble(DEFAULT_PROPERTY_OVERHEAD_TIME, ((double) ctx.overHeadTimeNano / 1000.0d),
 					ValueTypes.VALUE_TYPE_AGE_USEC));
 			activity.add(snapshot);
 		}
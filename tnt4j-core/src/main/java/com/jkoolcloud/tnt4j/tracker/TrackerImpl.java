@@ -29,6 +29,8 @@ import com.jkoolcloud.tnt4j.selector.TrackingSelector;
 import com.jkoolcloud.tnt4j.sink.*;
 import com.jkoolcloud.tnt4j.source.Source;
 import com.jkoolcloud.tnt4j.utils.LightStack;
+import com.jkoolcloud.tnt4j.utils.MessageFormatCache;
+import com.jkoolcloud.tnt4j.utils.Useconds;
 import com.jkoolcloud.tnt4j.utils.Utils;
 import com.jkoolcloud.tnt4j.uuid.DefaultUUIDFactory;
 
@@ -327,6 +329,8 @@ public class TrackerImpl implements Tracker, SinkErrorListener, AutoCloseable {
 		stats.put(Utils.qualify(this, KEY_ACTIVITIES_STOPPED), popCount.get());
 		stats.put(Utils.qualify(this, KEY_STACK_DEPTH), getStackSize());
 		stats.put(Utils.qualify(this, KEY_OVERHEAD_USEC), overheadNanos.get() / 1000);
+		MessageFormatCache.getStats(stats, this);
+		Useconds.CURRENT.getStats(stats, this);
 		if (eventSink != null) {
 			eventSink.getStats(stats);
 		}
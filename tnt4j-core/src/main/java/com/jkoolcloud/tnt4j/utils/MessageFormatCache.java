@@ -0,0 +1,248 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jkoolcloud.tnt4j.utils;
+
+import java.text.DateFormat;
+import java.text.MessageFormat;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+/**
+ * <p>
+ * Bounded concurrent cache of compiled {@link MessageFormat} patterns, used by
+ * {@link Utils#format(String, Object...)} to avoid parsing message pattern on every formatted message. Patterns
+ * consisting of literals and plain {@code {n}} elements are compiled into literal and argument index steps, formatting
+ * arguments the same way {@link MessageFormat} does. Patterns having element formats (e.g. {@code {0,number,#.##}})
+ * are cached as {@link MessageFormat} prototypes cloned for every formatting call, since {@link MessageFormat} is not
+ * thread safe.
+ * </p>
+ * <p>
+ * Cache capacity is defined by {@code tnt4j.format.cache.size} system property (default {@code 1024}), least recently
+ * used patterns are evicted when capacity is exceeded. Capacity of {@code 0} disables caching.
+ * </p>
+ *
+ * @version $Revision: 1 $
+ *
+ * @see Utils#format(String, Object...)
+ */
+public final class MessageFormatCache {
+	public static final String KEY_CACHE_HITS = "format-cache-hits";
+	public static final String KEY_CACHE_MISSES = "format-cache-misses";
+	public static final String KEY_CACHE_EVICTIONS = "format-cache-evictions";
+	public static final String KEY_CACHE_SIZE = "format-cache-size";
+
+	public static final int CACHE_CAPACITY = Integer.getInteger("tnt4j.format.cache.size", 1024);
+
+	private static final int MAX_INDEX_DIGITS = 9;
+
+	private static final Cache<String, Template> TEMPLATES = CACHE_CAPACITY > 0 ? CacheBuilder.newBuilder()
+			.concurrencyLevel(Runtime.getRuntime().availableProcessors()).maximumSize(CACHE_CAPACITY).recordStats()
+			.build() : null;
+
+	private static final ThreadLocal<ArgFormats> ARG_FORMATS = ThreadLocal.withInitial(ArgFormats::new);
+
+	private MessageFormatCache() {
+	}
+
+	/**
+	 * Format a given string pattern and a list of arguments as defined by {@link MessageFormat}, using cached compiled
+	 * pattern.
+	 *
+	 * @param pattern
+	 *            format string
+	 * @param args
+	 *            arguments for format
+	 * @return formatted string
+	 * @throws IllegalArgumentException
+	 *             if pattern is invalid, or argument is not of the type expected by the pattern element format
+	 */
+	public static String format(String pattern, Object... args) {
+		if (TEMPLATES == null) {
+			return MessageFormat.format(pattern, args);
+		}
+		Template template = TEMPLATES.getIfPresent(pattern);
+		if (template == null) {
+			template = new Template(pattern);
+			TEMPLATES.put(pattern, template);
+		}
+		return template.format(args);
+	}
+
+	/**
+	 * Puts message format cache statistics into a given map, with keys qualified by a given object.
+	 *
+	 * @param stats
+	 *            map to put statistics
+	 * @param owner
+	 *            object used to qualify statistics keys
+	 * @return map containing statistics
+	 *
+	 * @see Utils#qualify(Object, String)
+	 */
+	public static Map<String, Object> getStats(Map<String, Object> stats, Object owner) {
+		if (TEMPLATES != null) {
+			CacheStats cStats = TEMPLATES.stats();
+			stats.put(Utils.qualify(owner, KEY_CACHE_HITS), cStats.hitCount());
+			stats.put(Utils.qualify(owner, KEY_CACHE_MISSES), cStats.missCount());
+			stats.put(Utils.qualify(owner, KEY_CACHE_EVICTIONS), cStats.evictionCount());
+			stats.put(Utils.qualify(owner, KEY_CACHE_SIZE), TEMPLATES.size());
+		}
+		return stats;
+	}
+
+	/**
+	 * Removes all cached patterns.
+	 */
+	public static void clear() {
+		if (TEMPLATES != null) {
+			TEMPLATES.invalidateAll();
+		}
+	}
+
+	private static final class Template {
+		/*
+		 * Literal (String) and argument index (Integer) steps, null if pattern has element formats
+		 */
+		private final Object[] steps;
+		private final MessageFormat prototype;
+		private final int length;
+
+		Template(String pattern) {
+			steps = compile(pattern);
+			prototype = steps == null ? new MessageFormat(pattern) : null;
+			length = pattern.length();
+		}
+
+		String format(Object[] args) {
+			if (steps == null) {
+				return ((MessageFormat) prototype.clone()).format(args);
+			}
+			StringBuilder sb = new StringBuilder(length + 16 * args.length);
+			for (Object step : steps) {
+				if (step instanceof String) {
+					sb.append((String) step);
+				} else {
+					int index = (Integer) step;
+					if (index >= args.length) {
+						sb.append('{').append(index).append('}');
+					} else {
+						ARG_FORMATS.get().append(sb, args[index]);
+					}
+				}
+			}
+			return sb.toString();
+		}
+
+		private static Object[] compile(String pattern) {
+			List<Object> steps = new ArrayList<>();
+			StringBuilder literal = new StringBuilder();
+			boolean quoted = false;
+			int len = pattern.length();
+			for (int i = 0; i < len; i++) {
+				char c = pattern.charAt(i);
+				if (c == '\'') {
+					if (i + 1 < len && pattern.charAt(i + 1) == '\'') {
+						literal.append(c);
+						i++;
+					} else {
+						quoted = !quoted;
+					}
+				} else if (c == '{' && !quoted) {
+					int end = pattern.indexOf('}', i);
+					int index = parseIndex(pattern, i + 1, end);
+					if (index < 0) {
+						return null;
+					}
+					if (literal.length() > 0) {
+						steps.add(literal.toString());
+						literal.setLength(0);
+					}
+					steps.add(index);
+					i = end;
+				} else {
+					literal.append(c);
+				}
+			}
+			if (literal.length() > 0) {
+				steps.add(literal.toString());
+			}
+			return steps.toArray();
+		}
+
+		private static int parseIndex(String pattern, int start, int end) {
+			if (end <= start || end - start > MAX_INDEX_DIGITS) {
+				return -1;
+			}
+			int index = 0;
+			for (int i = start; i < end; i++) {
+				char c = pattern.charAt(i);
+				if (c < '0' || c > '9') {
+					return -1;
+				}
+				index = index * 10 + (c - '0');
+			}
+			return index;
+		}
+	}
+
+	/*
+	 * Per thread argument formats, same as used by MessageFormat for elements having no format defined
+	 */
+	private static final class ArgFormats {
+		private Locale locale;
+		private NumberFormat numberFormat;
+		private DateFormat dateFormat;
+
+		void append(StringBuilder sb, Object arg) {
+			if (arg == null) {
+				sb.append("null");
+			} else if (arg instanceof String) {
+				sb.append((String) arg);
+			} else if (arg instanceof Number) {
+				checkLocale();
+				if (numberFormat == null) {
+					numberFormat = NumberFormat.getInstance(locale);
+				}
+				sb.append(numberFormat.format(arg));
+			} else if (arg instanceof Date) {
+				checkLocale();
+				if (dateFormat == null) {
+					dateFormat = DateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.SHORT, locale);
+				}
+				sb.append(dateFormat.format(arg));
+			} else {
+				sb.append(arg.toString());
+			}
+		}
+
+		private void checkLocale() {
+			Locale current = Locale.getDefault(Locale.Category.FORMAT);
+			if (!current.equals(locale)) {
+				locale = current;
+				numberFormat = null;
+				dateFormat = null;
+			}
+		}
+	}
+}
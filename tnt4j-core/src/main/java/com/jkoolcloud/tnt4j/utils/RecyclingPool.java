@@ -0,0 +1,243 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jkoolcloud.tnt4j.utils;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalNotification;
+import com.jkoolcloud.tnt4j.core.OpLevel;
+import com.jkoolcloud.tnt4j.sink.DefaultEventSinkFactory;
+import com.jkoolcloud.tnt4j.sink.EventSink;
+
+/**
+ * <p>
+ * Bounded, striped pool of reusable objects. Objects are acquired using {@link #acquire(Supplier)}, which creates a new
+ * object if pool is empty, and returned using {@link #release(Object)}, which resets object state and puts it back into
+ * the pool, unless pool is full. Objects are pooled into a number of stripes selected by thread, so threads acquiring
+ * and releasing objects do not contend on a single lock. When own stripe is empty (or full), other stripes are tried,
+ * so objects released by consumer threads can be reused by producer threads.
+ * </p>
+ * <p>
+ * In debug mode ({@code tnt4j.recycling.pool.debug=true} system property), pool tracks acquired objects using weak
+ * references along with acquisition stack traces: objects released twice or not acquired from this pool are rejected,
+ * and objects garbage collected without being released are reported as leaks.
+ * </p>
+ *
+ * @param <T>
+ *            type of pooled objects
+ *
+ * @version $Revision: 1 $
+ */
+public class RecyclingPool<T> {
+	public static final String KEY_POOL_HITS = "recycle-pool-hits";
+	public static final String KEY_POOL_MISSES = "recycle-pool-misses";
+	public static final String KEY_POOL_RECYCLED = "recycle-pool-recycled";
+	public static final String KEY_POOL_DISCARDED = "recycle-pool-discarded";
+	public static final String KEY_POOL_SIZE = "recycle-pool-size";
+	public static final String KEY_POOL_CAPACITY = "recycle-pool-capacity";
+	public static final String KEY_POOL_OUTSTANDING = "recycle-pool-outstanding";
+	public static final String KEY_POOL_LEAKS = "recycle-pool-leaks";
+	public static final String KEY_POOL_REJECTED = "recycle-pool-rejected";
+
+	public static final boolean DEBUG = Boolean.getBoolean("tnt4j.recycling.pool.debug");
+
+	private final String name;
+	private final int capacity;
+	private final Consumer<T> resetter;
+	private final ArrayBlockingQueue<T>[] stripes;
+	private final int stripeMask;
+	private final Cache<T, Throwable> outstanding;
+
+	private final AtomicLong hitCount = new AtomicLong(0);
+	private final AtomicLong missCount = new AtomicLong(0);
+	private final AtomicLong recycleCount = new AtomicLong(0);
+	private final AtomicLong discardCount = new AtomicLong(0);
+	private final AtomicLong leakCount = new AtomicLong(0);
+	private final AtomicLong rejectCount = new AtomicLong(0);
+
+	/**
+	 * Create a new pool with a given capacity.
+	 *
+	 * @param name
+	 *            pool name used to qualify statistics keys
+	 * @param capacity
+	 *            maximum number of pooled objects
+	 * @param resetter
+	 *            function resetting object state before it is put back into the pool
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public RecyclingPool(String name, int capacity, Consumer<T> resetter) {
+		this.name = name;
+		this.resetter = resetter;
+		int stripeCount = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()));
+		int stripeCapacity = Math.max(1, capacity / stripeCount);
+		this.capacity = stripeCapacity * stripeCount;
+		this.stripeMask = stripeCount - 1;
+		this.stripes = new ArrayBlockingQueue[stripeCount];
+		for (int i = 0; i < stripeCount; i++) {
+			stripes[i] = new ArrayBlockingQueue<>(stripeCapacity);
+		}
+		this.outstanding = DEBUG ? CacheBuilder.newBuilder().weakKeys()
+				.removalListener((RemovalNotification<T, Throwable> n) -> onRemoval(n)).build() : null;
+	}
+
+	/**
+	 * Obtain pool name.
+	 *
+	 * @return pool name
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Obtain maximum number of pooled objects.
+	 *
+	 * @return pool capacity
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Obtain number of objects currently pooled.
+	 *
+	 * @return number of pooled objects
+	 */
+	public int size() {
+		int size = 0;
+		for (ArrayBlockingQueue<T> stripe : stripes) {
+			size += stripe.size();
+		}
+		return size;
+	}
+
+	/**
+	 * Take an object from the pool, or create a new one if pool is empty.
+	 *
+	 * @param factory
+	 *            factory creating new object when pool is empty
+	 * @return pooled or newly created object
+	 */
+	public T acquire(Supplier<T> factory) {
+		int start = stripeIndex();
+		T obj = null;
+		for (int i = 0; i <= stripeMask && obj == null; i++) {
+			obj = stripes[(start + i) & stripeMask].poll();
+		}
+		if (obj != null) {
+			hitCount.incrementAndGet();
+		} else {
+			missCount.incrementAndGet();
+			obj = factory.get();
+		}
+		if (outstanding != null) {
+			outstanding.put(obj, new Throwable("Acquired from pool=" + name));
+		}
+		return obj;
+	}
+
+	/**
+	 * Reset a given object and put it back into the pool. Object must not be used by the caller after this call.
+	 *
+	 * @param obj
+	 *            object to be returned into the pool
+	 * @return {@code true} if object was put back into the pool, {@code false} - if pool is full or object was rejected
+	 */
+	public boolean release(T obj) {
+		if (outstanding != null) {
+			if (outstanding.asMap().remove(obj) == null) {
+				rejectCount.incrementAndGet();
+				getLogger().log(OpLevel.ERROR, "Object released twice or not acquired from pool={0}, object={1}",
+						name, Utils.quote(obj), new Throwable("Released to pool=" + name));
+				return false;
+			}
+		}
+		resetter.accept(obj);
+		int start = stripeIndex();
+		for (int i = 0; i <= stripeMask; i++) {
+			if (stripes[(start + i) & stripeMask].offer(obj)) {
+				recycleCount.incrementAndGet();
+				return true;
+			}
+		}
+		discardCount.incrementAndGet();
+		return false;
+	}
+
+	/**
+	 * Detach a given acquired object from this pool, when object is retained by the caller and never released back. In
+	 * debug mode detached object is no longer tracked, so it is not reported as a leak.
+	 *
+	 * @param obj
+	 *            object acquired from this pool
+	 */
+	public void detach(T obj) {
+		if (outstanding != null) {
+			outstanding.invalidate(obj);
+		}
+	}
+
+	/**
+	 * Puts pool statistics into a given map, with keys qualified by a given object and pool name.
+	 *
+	 * @param stats
+	 *            map to put statistics
+	 * @param owner
+	 *            object used to qualify statistics keys
+	 * @return map containing statistics
+	 *
+	 * @see Utils#qualify(Object, String, String)
+	 */
+	public Map<String, Object> getStats(Map<String, Object> stats, Object owner) {
+		stats.put(Utils.qualify(owner, name, KEY_POOL_HITS), hitCount.get());
+		stats.put(Utils.qualify(owner, name, KEY_POOL_MISSES), missCount.get());
+		stats.put(Utils.qualify(owner, name, KEY_POOL_RECYCLED), recycleCount.get());
+		stats.put(Utils.qualify(owner, name, KEY_POOL_DISCARDED), discardCount.get());
+		stats.put(Utils.qualify(owner, name, KEY_POOL_SIZE), size());
+		stats.put(Utils.qualify(owner, name, KEY_POOL_CAPACITY), capacity);
+		if (outstanding != null) {
+			outstanding.cleanUp();
+			stats.put(Utils.qualify(owner, name, KEY_POOL_OUTSTANDING), outstanding.size());
+			stats.put(Utils.qualify(owner, name, KEY_POOL_LEAKS), leakCount.get());
+			stats.put(Utils.qualify(owner, name, KEY_POOL_REJECTED), rejectCount.get());
+		}
+		return stats;
+	}
+
+	private int stripeIndex() {
+		return (int) Thread.currentThread().getId() & stripeMask;
+	}
+
+	private void onRemoval(RemovalNotification<T, Throwable> notification) {
+		if (notification.getCause() == RemovalCause.COLLECTED) {
+			leakCount.incrementAndGet();
+			getLogger().log(OpLevel.WARNING, "Pooled object was not released before garbage collection: pool={0}",
+					name, notification.getValue());
+		}
+	}
+
+	private static EventSink getLogger() {
+		return DefaultEventSinkFactory.defaultEventSink(RecyclingPool.class);
+	}
+}
@@ -17,6 +17,8 @@ package com.jkoolcloud.tnt4j.utils;
 
 import java.io.IOException;
 import java.net.InetAddress;
+import java.time.Clock;
+import java.time.Instant;
 import java.util.Date;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -34,6 +36,9 @@ import com.jkoolcloud.tnt4j.sink.EventSink;
  * {@link TimeService#currentTimeMillis()} instead of calling {@link System#currentTimeMillis()} to obtain synchronized
  * and adjusted current time. To enable NTP time synchronization set the following property:
  * {@code tnt4j.time.server=ntp-server:port}, otherwise {@link System#currentTimeMillis()} is returned.
+ * <p>
+ * NTP clock adjustment and its update time are published together as a single immutable snapshot, so readers never
+ * observe partially applied update.
  *
  * @version $Revision: 1 $
  */
@@ -50,8 +55,8 @@ public class TimeService {
 	static boolean verbose = TIME_SERVER_VERBOSE;
 	static long timeOverheadNanos = 0;
 	static long timeOverheadMillis = 0;
-	static long adjustment = 0;
-	static long updatedTime = 0;
+	static volatile TimeAdjustment timeAdjustment = new TimeAdjustment(0, 0);
+	private static final Clock UTC_CLOCK = Clock.systemUTC();
 	private static ScheduledExecutorService scheduler;
 	static ClockDriftMonitorTask clockSyncTask = null;
 
@@ -114,7 +119,7 @@ public class TimeService {
 	 * @return time stamp when NTP was updated
 	 */
 	public static long getLastUpdatedMillis() {
-		return updatedTime;
+		return timeAdjustment.updatedTime;
 	}
 
 	/**
@@ -140,8 +145,8 @@ public class TimeService {
 			timeInfo = pair.length < 2 ? timeServer.getTime(hostAddr)
 					: timeServer.getTime(hostAddr, Integer.parseInt(pair[1]));
 			timeInfo.computeDetails();
-			adjustment = timeInfo.getOffset() - timeOverheadMillis;
-			updatedTime = currentTimeMillis();
+			long adjustment = timeInfo.getOffset() - timeOverheadMillis;
+			timeAdjustment = new TimeAdjustment(adjustment, System.currentTimeMillis() + adjustment);
 			if (verbose) {
 				logger.log(OpLevel.DEBUG,
 						"Time server={0}, timeout.ms={1}, offset.ms={2}, delay.ms={3}, clock.adjust.ms={4}, overhead.nsec={5}",
@@ -176,16 +181,18 @@ public class TimeService {
 	 * @return current NTP synchronized time in milliseconds
 	 */
 	public static long currentTimeMillis() {
-		return System.currentTimeMillis() + adjustment;
+		return System.currentTimeMillis() + timeAdjustment.adjustment;
 	}
 
 	/**
-	 * Obtain NTP synchronized current time in microseconds precision (but necessarily accuracy).
+	 * Obtain NTP synchronized current time in microseconds precision (but necessarily accuracy). Uses high resolution
+	 * system {@link Clock}, so microseconds fraction is available where supported by platform.
 	 *
 	 * @return current NTP synchronized time in microseconds
 	 */
 	public static long currentTimeUsecs() {
-		return (System.currentTimeMillis() + adjustment) * ONE_K;
+		Instant now = UTC_CLOCK.instant();
+		return (now.getEpochSecond() * ONE_K + timeAdjustment.adjustment) * ONE_K + now.getNano() / ONE_K;
 	}
 
 	/**
@@ -244,6 +251,19 @@ public class TimeService {
 		setVerbose(true);
 		Thread.sleep(Long.parseLong(args[0]));
 	}
+
+	/*
+	 * Immutable NTP clock adjustment snapshot
+	 */
+	static final class TimeAdjustment {
+		final long adjustment;
+		final long updatedTime;
+
+		TimeAdjustment(long adjustment, long updatedTime) {
+			this.adjustment = adjustment;
+			this.updatedTime = updatedTime;
+		}
+	}
 }
 
 class TimeServiceThreadFactory implements ThreadFactory {
@@ -266,7 +286,7 @@ class ClockDriftMonitorTask implements Runnable {
 	private static final long TIME_CLOCK_DRIFT_SAMPLE = Integer.getInteger("tnt4j.time.server.drift.sample.ms", 10000);
 	private static final long TIME_CLOCK_DRIFT_LIMIT = Integer.getInteger("tnt4j.time.server.drift.limit.ms", 1);
 
-	long interval, drift, updateCount = 0, totalDrift;
+	volatile long interval, drift, updateCount = 0, totalDrift;
 	EventSink logger;
 
 	ClockDriftMonitorTask(EventSink lg) {
@@ -15,16 +15,37 @@
  */
 package com.jkoolcloud.tnt4j.utils;
 
+import java.util.Map;
+
 /**
  * This class generates microsecond precision current timestamp based on NTP.
  * <p>
+ * Timestamps are computed from {@link System#nanoTime()} elapsed since last clock synchronization with
+ * {@link TimeService#currentTimeUsecs()}. Synchronization base is published as a single immutable snapshot, so
+ * concurrent {@link #get()} calls never observe partially updated base. Synchronization never steps clock backwards:
+ * forward corrections are applied at once, while backward ones are slewed by running clock slower by
+ * {@code 1/tnt4j.time.usec.slew.ratio} (default {@code 1/20}) until correction is absorbed, keeping clock monotonic.
+ * <p>
  * Example: {@code Useconds.CURRENT.get();}
+ *
+ * @version $Revision: 2 $
+ *
+ * @see TimeService
  */
 public enum Useconds {
 	CURRENT;
 
-	private long startUsecs;
-	private long startNanos;
+	public static final String KEY_CLOCK_OVERHEAD_NSEC = "clock-overhead-nsec";
+	public static final String KEY_CLOCK_SYNC_COUNT = "clock-sync-count";
+	public static final String KEY_CLOCK_ADJUST_USEC = "clock-adjust-usec";
+
+	private static final long SLEW_RATIO = Math.max(2, Long.getLong("tnt4j.time.usec.slew.ratio", 20));
+	private static final int OVERHEAD_RUNS = 1000;
+
+	private volatile ClockBase base;
+	private volatile long overheadNanos = -1;
+	private volatile long syncCount;
+	private volatile long lastAdjustUsecs;
 
 	private Useconds() {
 		sync();
@@ -36,15 +57,116 @@ public enum Useconds {
 	 * @return synchronized microsecond timestamp
 	 */
 	public long get() {
-		long microSeconds = (System.nanoTime() - this.startNanos) / 1000;
-		return this.startUsecs + microSeconds;
+		return base.get(System.nanoTime());
 	}
 
 	/**
 	 * Synchronized NTP millisecond clock and nanosecond/usec clocks to reduce clock drift and improve accuracy.
 	 */
-	public void sync() {
-		this.startUsecs = TimeService.currentTimeUsecs();
-		this.startNanos = System.nanoTime();
+	public synchronized void sync() {
+		ClockBase oldBase = base;
+		long startNanos = System.nanoTime();
+		long startUsecs = TimeService.currentTimeUsecs();
+		long slewUsecs = 0;
+		if (oldBase != null) {
+			long curUsecs = oldBase.get(startNanos);
+			long adjust = startUsecs - curUsecs;
+			if (adjust < 0) {
+				startUsecs = curUsecs;
+				slewUsecs = adjust;
+			}
+			lastAdjustUsecs = adjust;
+		}
+		base = new ClockBase(startUsecs, startNanos, slewUsecs);
+		syncCount++;
+		overheadNanos = -1;
+	}
+
+	/**
+	 * Obtain measured overhead of calling {@link #get()} in nanoseconds. Overhead is measured on first call after each
+	 * clock synchronization.
+	 *
+	 * @return measured overhead in nanoseconds
+	 */
+	public long getOverheadNanos() {
+		long overhead = overheadNanos;
+		if (overhead < 0) {
+			overhead = calculateOverhead(OVERHEAD_RUNS);
+			overheadNanos = overhead;
+		}
+		return overhead;
+	}
+
+	/**
+	 * Obtain number of times clock has been synchronized.
+	 *
+	 * @return number of clock synchronizations
+	 */
+	public long getSyncCount() {
+		return syncCount;
+	}
+
+	/**
+	 * Obtain clock adjustment measured on last synchronization in microseconds.
+	 *
+	 * @return last clock adjustment in microseconds
+	 */
+	public long getLastAdjustUsecs() {
+		return lastAdjustUsecs;
+	}
+
+	/**
+	 * Calculate overhead of {@link #get()} based on a given number of iterations.
+	 *
+	 * @param runs
+	 *            number of iterations
+	 * @return calculated overhead of getting timestamp in nanoseconds
+	 */
+	public long calculateOverhead(long runs) {
+		long start = System.nanoTime();
+		long sum = 0;
+		for (long i = 0; i < runs; i++) {
+			sum += get();
+		}
+		long elapsed = System.nanoTime() - start;
+		return sum == 0 ? elapsed : elapsed / runs;
+	}
+
+	/**
+	 * Puts clock statistics into a given map, with keys qualified by a given object.
+	 *
+	 * @param stats
+	 *            map to put statistics
+	 * @param owner
+	 *            object used to qualify statistics keys
+	 * @return map containing statistics
+	 *
+	 * @see Utils#qualify(Object, String)
+	 */
+	public Map<String, Object> getStats(Map<String, Object> stats, Object owner) {
+		stats.put(Utils.qualify(owner, KEY_CLOCK_OVERHEAD_NSEC), getOverheadNanos());
+		stats.put(Utils.qualify(owner, KEY_CLOCK_SYNC_COUNT), syncCount);
+		stats.put(Utils.qualify(owner, KEY_CLOCK_ADJUST_USEC), lastAdjustUsecs);
+		return stats;
+	}
+
+	/*
+	 * Immutable clock synchronization base, slewing a negative correction over time
+	 */
+	private static final class ClockBase {
+		final long startUsecs;
+		final long startNanos;
+		final long slewUsecs;
+
+		ClockBase(long startUsecs, long startNanos, long slewUsecs) {
+			this.startUsecs = startUsecs;
+			this.startNanos = startNanos;
+			this.slewUsecs = slewUsecs;
+		}
+
+		long get(long nanos) {
+			long elapsedUsecs = (nanos - startNanos) / 1000;
+			return startUsecs + elapsedUsecs + Math.max(slewUsecs, -elapsedUsecs / SLEW_RATIO);
+		}
 	}
-}
\ No newline at end of file
+}
@@ -120,8 +120,6 @@ public class Utils {
 	public static final Pattern REP_CFG_PATTERN = Pattern
 			.compile("\"(\\s*(?:[^\"\\\\]|\\\\.)+\\s*)\"->\"(\\s*(?:[^\"\\\\]|\\\\.)*\\s*)\"");
 
-	private static final Pattern MSG_FORMAT_ELEMENT_PATTERN = Pattern.compile("\\{\\d+");
-
 	private static int initClientCodeStackIndex() {
 		int index = 0;
 		StackTraceElement[] stack = Thread.currentThread().getStackTrace();
@@ -435,7 +433,9 @@ public class Utils {
 	}
 
 	/**
-	 * Format a given string pattern and a list of arguments as defined by {@link MessageFormat}
+	 * Format a given string pattern and a list of arguments as defined by {@link MessageFormat}. Pattern is returned as
+	 * is when there are no arguments or pattern has no {@code {n}} elements, otherwise compiled pattern is obtained from
+	 * {@link MessageFormatCache}.
 	 *
 	 * @param pattern
 	 *            format string
@@ -445,14 +445,24 @@ public class Utils {
 	 */
 	public static String format(String pattern, Object... args) {
 		if (ArrayUtils.isNotEmpty(args) && isMsgPattern(pattern)) {
-			return MessageFormat.format(pattern, args);
+			return MessageFormatCache.format(pattern, args);
 		} else {
 			return pattern;
 		}
 	}
 
 	private static boolean isMsgPattern(String pattern) {
-		return pattern != null && MSG_FORMAT_ELEMENT_PATTERN.matcher(pattern).find();
+		if (pattern == null) {
+			return false;
+		}
+		int last = pattern.length() - 1;
+		for (int i = pattern.indexOf('{'); i >= 0 && i < last; i = pattern.indexOf('{', i + 1)) {
+			char c = pattern.charAt(i + 1);
+			if (c >= '0' && c <= '9') {
+				return true;
+			}
+		}
+		return false;
 	}
 
 	/**
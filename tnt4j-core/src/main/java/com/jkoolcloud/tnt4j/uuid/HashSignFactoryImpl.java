@@ -15,10 +15,19 @@
  */
 package com.jkoolcloud.tnt4j.uuid;
 
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Map;
 
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import com.google.common.io.BaseEncoding;
 import com.jkoolcloud.tnt4j.config.ConfigException;
 import com.jkoolcloud.tnt4j.config.Configurable;
 import com.jkoolcloud.tnt4j.core.Message;
@@ -26,15 +35,60 @@ import com.jkoolcloud.tnt4j.utils.Utils;
 
 /**
  * Implements a hash based signature factory which returns signatures based on specified hash algorithm: MD5 SHA, etc.
+ * <p>
+ * Message digests are created once per thread, cloned from a shared prototype, and message characters are UTF-8
+ * encoded into a reusable per thread buffer. Signature is digest bytes encoded using {@link Encoding#HEX} (default) or
+ * {@link Encoding#BASE64}.
+ * <p>
+ * Non-cryptographic {@value #FAST_HASH_ALGO} hash may be used instead of message digest, when signatures are used
+ * only to detect duplicates.
+ * <p>
+ * Configuration properties:
+ * <ul>
+ * <li>Algorithm - message digest algorithm name, or {@value #FAST_HASH_ALGO}. Default {@value #DEFAULT_HASH_ALGO}.</li>
+ * <li>Encoding - signature encoding: {@code HEX} or {@code BASE64}. Default {@code HEX}.</li>
+ * </ul>
  *
- * @version $Revision: 1 $
+ * @version $Revision: 2 $
  */
 public class HashSignFactoryImpl implements SignFactory, Configurable {
 	public static final String DEFAULT_HASH_ALGO = "MD5";
+	public static final String FAST_HASH_ALGO = "MURMUR3_128";
+
+	private static final int BUFFER_SIZE = 1024;
+
+	/**
+	 * Signature string encodings.
+	 */
+	public enum Encoding {
+		HEX(BaseEncoding.base16().lowerCase()), BASE64(BaseEncoding.base64());
+
+		private final BaseEncoding encoding;
+
+		Encoding(BaseEncoding encoding) {
+			this.encoding = encoding;
+		}
+
+		/**
+		 * Encodes given bytes into string.
+		 *
+		 * @param bytes
+		 *            bytes to encode
+		 * @return encoded string
+		 */
+		public String encode(byte[] bytes) {
+			return encoding.encode(bytes);
+		}
+	}
 
 	private String algo = DEFAULT_HASH_ALGO;
+	private Encoding encoding = Encoding.HEX;
 	private Map<String, ?> settings;
 
+	private volatile HashFunction fastHash;
+	private volatile MessageDigest prototype;
+	private volatile ThreadLocal<DigestState> digests = new ThreadLocal<>();
+
 	/**
 	 * Create a new signature factory using MD5 algorithm
 	 * 
@@ -51,15 +105,74 @@ public class HashSignFactoryImpl implements SignFactory, Configurable {
 	 * 
 	 */
 	public HashSignFactoryImpl(String alg) {
+		this(alg, Encoding.HEX);
+	}
+
+	/**
+	 * Create a new signature factory using a specified digest algorithm and signature encoding.
+	 *
+	 * @param alg
+	 *            digest algorithm (e.g. MD5), or {@value #FAST_HASH_ALGO}
+	 * @param enc
+	 *            signature encoding
+	 */
+	public HashSignFactoryImpl(String alg, Encoding enc) {
+		setAlgorithm(alg);
+		this.encoding = enc;
+	}
+
+	/**
+	 * Obtain hash algorithm name used by this factory.
+	 *
+	 * @return hash algorithm name
+	 */
+	public String getAlgorithm() {
+		return algo;
+	}
+
+	/**
+	 * Obtain signature encoding used by this factory.
+	 *
+	 * @return signature encoding
+	 */
+	public Encoding getEncoding() {
+		return encoding;
+	}
+
+	private void setAlgorithm(String alg) {
 		this.algo = alg;
+		this.fastHash = FAST_HASH_ALGO.equalsIgnoreCase(alg) ? Hashing.murmur3_128() : null;
+		this.prototype = null;
+		this.digests = new ThreadLocal<>();
 	}
 
 	@Override
 	public String sign(Object obj) throws NoSuchAlgorithmException {
-		MessageDigest mdigest = MessageDigest.getInstance(algo);
 		String msg = String.valueOf(obj);
-		mdigest.update(msg.getBytes(), 0, msg.length());
-		return mdigest.toString();
+		HashFunction hashFunc = fastHash;
+		if (hashFunc != null) {
+			return encoding.encode(hashFunc.hashUnencodedChars(msg).asBytes());
+		}
+		ThreadLocal<DigestState> states = digests;
+		DigestState state = states.get();
+		if (state == null) {
+			state = new DigestState(newDigest());
+			states.set(state);
+		}
+		return encoding.encode(state.digest(msg));
+	}
+
+	private MessageDigest newDigest() throws NoSuchAlgorithmException {
+		MessageDigest proto = prototype;
+		if (proto == null) {
+			proto = MessageDigest.getInstance(algo);
+			prototype = proto;
+		}
+		try {
+			return (MessageDigest) proto.clone();
+		} catch (CloneNotSupportedException exc) {
+			return MessageDigest.getInstance(algo);
+		}
 	}
 
 	@Override
@@ -75,6 +188,47 @@ public class HashSignFactoryImpl implements SignFactory, Configurable {
 	@Override
 	public void setConfiguration(Map<String, ?> props) throws ConfigException {
 		this.settings = props;
-		algo = Utils.getString("Algorithm", settings, DEFAULT_HASH_ALGO);
+		String encName = Utils.getString("Encoding", settings, Encoding.HEX.name());
+		try {
+			encoding = Encoding.valueOf(encName.toUpperCase());
+		} catch (IllegalArgumentException exc) {
+			throw new ConfigException(exc.getLocalizedMessage(), props);
+		}
+		setAlgorithm(Utils.getString("Algorithm", settings, DEFAULT_HASH_ALGO));
+	}
+
+	/**
+	 * Per thread message digest along with UTF-8 encoder and buffer used to feed message characters into digest.
+	 */
+	private static final class DigestState {
+		final MessageDigest digest;
+		final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+				.onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+		final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+		DigestState(MessageDigest digest) {
+			this.digest = digest;
+		}
+
+		byte[] digest(CharSequence msg) {
+			CharBuffer chars = CharBuffer.wrap(msg);
+			encoder.reset();
+			CoderResult result;
+			do {
+				result = encoder.encode(chars, buffer, true);
+				update();
+			} while (result.isOverflow());
+			do {
+				result = encoder.flush(buffer);
+				update();
+			} while (result.isOverflow());
+			return digest.digest();
+		}
+
+		private void update() {
+			buffer.flip();
+			digest.update(buffer);
+			buffer.clear();
+		}
 	}
 }
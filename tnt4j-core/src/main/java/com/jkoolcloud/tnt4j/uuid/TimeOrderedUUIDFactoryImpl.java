@@ -0,0 +1,143 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jkoolcloud.tnt4j.uuid;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+
+/**
+ * UUID factory generating time-ordered version 7 UUIDs (see RFC 9562) without any shared lock. Each thread keeps its
+ * own generator state: 48 bit Unix epoch milliseconds timestamp, 12 bit sequence number incremented within the same
+ * millisecond and 62 bit random node picked once per thread. When sequence is exhausted within a millisecond,
+ * timestamp is advanced by one millisecond, so UUIDs generated by a thread are always unique and increasing.
+ * <p>
+ * UUID string is rendered using a table based hex encoder. Callers not needing string form right away may use
+ * {@link #generate()} and render it later using {@link #toString(UUID)}.
+ * <p>
+ * Use this factory by setting {@code uuid.factory: com.jkoolcloud.tnt4j.uuid.TimeOrderedUUIDFactoryImpl} in tracker
+ * configuration or by calling {@link DefaultUUIDFactory#setDefaultUUIDFactory(UUIDFactory)}.
+ *
+ * @see JUGFactoryImpl
+ *
+ * @version $Revision: 1 $
+ */
+public class TimeOrderedUUIDFactoryImpl implements UUIDFactory {
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+	private static final int SEQ_BITS = 12;
+	private static final long SEQ_MASK = (1L << SEQ_BITS) - 1;
+	private static final long TIME_MASK = (1L << 48) - 1;
+	private static final long VERSION_7 = 0x7000L;
+	private static final long VARIANT_RFC = 0x8000000000000000L;
+	private static final long NODE_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+	private static final SecureRandom NODE_RANDOM = new SecureRandom();
+	private static final ThreadLocal<ThreadState> STATE = ThreadLocal.withInitial(ThreadState::new);
+
+	@Override
+	public String newUUID() {
+		return STATE.get().next();
+	}
+
+	@Override
+	public String newUUID(Object obj) {
+		return STATE.get().next();
+	}
+
+	/**
+	 * Generates a new time-ordered UUID without rendering its string form.
+	 *
+	 * @return new UUID instance
+	 */
+	public UUID generate() {
+		ThreadState state = STATE.get();
+		state.advance();
+		return new UUID(state.msb(), state.lsb);
+	}
+
+	/**
+	 * Renders given UUID into its canonical 36 characters string form, same as {@link UUID#toString()} does.
+	 *
+	 * @param uuid
+	 *            UUID to render
+	 * @return UUID string
+	 */
+	public static String toString(UUID uuid) {
+		return toString(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+	}
+
+	/**
+	 * Renders UUID given by its most and least significant bits into canonical 36 characters string form.
+	 *
+	 * @param msb
+	 *            most significant 64 bits of UUID
+	 * @param lsb
+	 *            least significant 64 bits of UUID
+	 * @return UUID string
+	 */
+	public static String toString(long msb, long lsb) {
+		char[] buf = new char[36];
+		appendHex(buf, 0, msb >>> 32, 8);
+		buf[8] = '-';
+		appendHex(buf, 9, msb >>> 16, 4);
+		buf[13] = '-';
+		appendHex(buf, 14, msb, 4);
+		buf[18] = '-';
+		appendHex(buf, 19, lsb >>> 48, 4);
+		buf[23] = '-';
+		appendHex(buf, 24, lsb, 12);
+		return new String(buf);
+	}
+
+	private static void appendHex(char[] buf, int offset, long value, int digits) {
+		for (int i = offset + digits - 1; i >= offset; i--) {
+			buf[i] = HEX_DIGITS[(int) (value & 0xF)];
+			value >>>= 4;
+		}
+	}
+
+	/**
+	 * Per thread generator state.
+	 */
+	private static final class ThreadState {
+		final long lsb;
+		long lastTime;
+		long seq;
+
+		ThreadState() {
+			lsb = VARIANT_RFC | (NODE_RANDOM.nextLong() & NODE_MASK);
+		}
+
+		void advance() {
+			long now = System.currentTimeMillis();
+			if (now > lastTime) {
+				lastTime = now;
+				seq = 0;
+			} else if (++seq > SEQ_MASK) {
+				lastTime++;
+				seq = 0;
+			}
+		}
+
+		long msb() {
+			return ((lastTime & TIME_MASK) << 16) | VERSION_7 | seq;
+		}
+
+		String next() {
+			advance();
+			return TimeOrderedUUIDFactoryImpl.toString(msb(), lsb);
+		}
+	}
+}
@@ -24,10 +24,13 @@ import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.common.Metric;
 import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
 
 import com.jkoolcloud.tnt4j.core.KeyValueStats;
 import com.jkoolcloud.tnt4j.core.OpLevel;
 import com.jkoolcloud.tnt4j.core.Snapshot;
+import com.jkoolcloud.tnt4j.format.BinaryEventFormatter;
 import com.jkoolcloud.tnt4j.format.EventFormatter;
 import com.jkoolcloud.tnt4j.sink.AbstractEventSink;
 import com.jkoolcloud.tnt4j.sink.EventSink;
@@ -38,7 +41,9 @@ import com.jkoolcloud.tnt4j.utils.Utils;
 
 /**
  * <p>
- * This class implements {@link EventSink} with Kafka as the underlying sink implementation.
+ * This class implements {@link EventSink} with Kafka as the underlying sink implementation. When sink formatter is
+ * {@link BinaryEventFormatter}, records are produced with {@code byte[]} values encoded by the formatter, otherwise
+ * formatted {@link String} values are produced.
  * </p>
  * 
  * 
@@ -53,6 +58,7 @@ public class KafkaEventSink extends AbstractEventSink {
 
 	Properties kprops;
 	Producer<String, String> producer;
+	Producer<String, byte[]> binaryProducer;
 
 	/**
 	 * Create a Kafka event sink
@@ -71,31 +77,38 @@ public class KafkaEventSink extends AbstractEventSink {
 
 	@Override
 	public Object getSinkHandle() {
-		return producer;
+		return binaryProducer != null ? binaryProducer : producer;
 	}
 
 	@Override
 	public boolean isOpen() {
-		return producer != null;
+		return producer != null || binaryProducer != null;
 	}
 
 	@Override
 	protected synchronized void _open() throws IOException {
 		_close();
-		producer = new KafkaProducer<>(kprops);
+		if (getEventFormatter() instanceof BinaryEventFormatter) {
+			binaryProducer = new KafkaProducer<>(kprops, new StringSerializer(), new ByteArraySerializer());
+		} else {
+			producer = new KafkaProducer<>(kprops);
+		}
 	}
 
 	@Override
 	protected synchronized void _close() throws IOException {
 		Utils.close(producer);
+		Utils.close(binaryProducer);
 		producer = null;
+		binaryProducer = null;
 	}
 
 	@Override
 	public KeyValueStats getStats(Map<String, Object> stats) {
 		super.getStats(stats);
 		if (isOpen()) {
-			Map<MetricName, ? extends Metric> kMetrics = producer.metrics();
+			Map<MetricName, ? extends Metric> kMetrics = binaryProducer != null ? binaryProducer.metrics()
+					: producer.metrics();
 			for (Map.Entry<MetricName, ? extends Metric> entry : kMetrics.entrySet()) {
 				MetricName kMetric = entry.getKey();
 				stats.put(Utils.qualify(this, kMetric.group() + "/" + kMetric.name()), entry.getValue().metricValue());
@@ -106,32 +119,63 @@ public class KafkaEventSink extends AbstractEventSink {
 
 	@Override
 	protected void _log(TrackingEvent event) throws IOException {
-		writeLine(new ProducerRecord<>(getName(), event.getOperation().getName(), getEventFormatter().format(event)));
+		String key = event.getOperation().getName();
+		if (binaryProducer != null) {
+			writeBytes(key, ((BinaryEventFormatter) getEventFormatter()).encode(event));
+		} else {
+			writeLine(new ProducerRecord<>(getName(), key, getEventFormatter().format(event)));
+		}
 	}
 
 	@Override
 	protected void _log(TrackingActivity activity) throws IOException {
-		writeLine(new ProducerRecord<>(getName(), activity.getName(), getEventFormatter().format(activity)));
+		String key = activity.getName();
+		if (binaryProducer != null) {
+			writeBytes(key, ((BinaryEventFormatter) getEventFormatter()).encode(activity));
+		} else {
+			writeLine(new ProducerRecord<>(getName(), key, getEventFormatter().format(activity)));
+		}
 	}
 
 	@Override
 	protected void _log(Snapshot snapshot) throws IOException {
-		writeLine(new ProducerRecord<>(getName(), snapshot.getCategory(), getEventFormatter().format(snapshot)));
+		String key = snapshot.getCategory();
+		if (binaryProducer != null) {
+			writeBytes(key, ((BinaryEventFormatter) getEventFormatter()).encode(snapshot));
+		} else {
+			writeLine(new ProducerRecord<>(getName(), key, getEventFormatter().format(snapshot)));
+		}
 	}
 
 	@Override
 	protected void _log(long ttl, Source src, OpLevel sev, String msg, Object... args) throws IOException {
-		writeLine(
-				new ProducerRecord<>(getName(), src.getFQName(), getEventFormatter().format(ttl, src, sev, msg, args)));
+		String key = src.getFQName();
+		if (binaryProducer != null) {
+			writeBytes(key, ((BinaryEventFormatter) getEventFormatter()).encode(ttl, src, sev, msg, args));
+		} else {
+			writeLine(new ProducerRecord<>(getName(), key, getEventFormatter().format(ttl, src, sev, msg, args)));
+		}
 	}
 
 	@Override
 	protected void _write(Object msg, Object... args) throws IOException, InterruptedException {
-		writeLine(new ProducerRecord<>(getName(), getEventFormatter().format(msg, args)));
+		if (binaryProducer != null) {
+			writeBytes(null, ((BinaryEventFormatter) getEventFormatter()).encode(msg, args));
+		} else {
+			writeLine(new ProducerRecord<>(getName(), getEventFormatter().format(msg, args)));
+		}
 	}
 
 	private void writeLine(ProducerRecord<String, String> rec) {
 		incrementBytesSent(rec.value().length());
 		producer.send(rec);
 	}
-}
\ No newline at end of file
+
+	private void writeBytes(String key, byte[] value) {
+		if (value.length == 0) {
+			return;
+		}
+		incrementBytesSent(value.length);
+		binaryProducer.send(new ProducerRecord<>(getName(), key, value));
+	}
+}
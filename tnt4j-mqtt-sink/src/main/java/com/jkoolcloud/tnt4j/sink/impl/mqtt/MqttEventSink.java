@@ -24,6 +24,7 @@ import org.eclipse.paho.client.mqttv3.MqttMessage;
 
 import com.jkoolcloud.tnt4j.core.OpLevel;
 import com.jkoolcloud.tnt4j.core.Snapshot;
+import com.jkoolcloud.tnt4j.format.BinaryEventFormatter;
 import com.jkoolcloud.tnt4j.format.EventFormatter;
 import com.jkoolcloud.tnt4j.sink.AbstractEventSink;
 import com.jkoolcloud.tnt4j.sink.EventSink;
@@ -33,7 +34,8 @@ import com.jkoolcloud.tnt4j.tracker.TrackingEvent;
 
 /**
  * <p>
- * This class implements {@link EventSink} with MQTT as the underlying sink implementation.
+ * This class implements {@link EventSink} with MQTT as the underlying sink implementation. When sink formatter is
+ * {@link BinaryEventFormatter}, message payloads are bytes encoded by the formatter.
  * </p>
  * 
  * 
@@ -127,33 +129,69 @@ public class MqttEventSink extends AbstractEventSink {
 
 	@Override
 	protected void _log(TrackingEvent event) throws IOException {
-		writeLine(getEventFormatter().format(event));
+		EventFormatter formatter = getEventFormatter();
+		if (formatter instanceof BinaryEventFormatter) {
+			writeLine(((BinaryEventFormatter) formatter).encode(event));
+		} else {
+			writeLine(formatter.format(event));
+		}
 	}
 
 	@Override
 	protected void _log(TrackingActivity activity) throws IOException {
-		writeLine(getEventFormatter().format(activity));
+		EventFormatter formatter = getEventFormatter();
+		if (formatter instanceof BinaryEventFormatter) {
+			writeLine(((BinaryEventFormatter) formatter).encode(activity));
+		} else {
+			writeLine(formatter.format(activity));
+		}
 	}
 
 	@Override
 	protected void _log(Snapshot snapshot) throws IOException {
-		writeLine(getEventFormatter().format(snapshot));
+		EventFormatter formatter = getEventFormatter();
+		if (formatter instanceof BinaryEventFormatter) {
+			writeLine(((BinaryEventFormatter) formatter).encode(snapshot));
+		} else {
+			writeLine(formatter.format(snapshot));
+		}
 	}
 
 	@Override
 	protected void _log(long ttl, Source src, OpLevel sev, String msg, Object... args) throws IOException {
-		writeLine(getEventFormatter().format(ttl, src, sev, msg, args));
+		EventFormatter formatter = getEventFormatter();
+		if (formatter instanceof BinaryEventFormatter) {
+			writeLine(((BinaryEventFormatter) formatter).encode(ttl, src, sev, msg, args));
+		} else {
+			writeLine(formatter.format(ttl, src, sev, msg, args));
+		}
 	}
 
 	@Override
 	protected void _write(Object msg, Object... args) throws IOException, InterruptedException {
-		writeLine(getEventFormatter().format(msg, args));
+		EventFormatter formatter = getEventFormatter();
+		if (formatter instanceof BinaryEventFormatter) {
+			writeLine(((BinaryEventFormatter) formatter).encode(msg, args));
+		} else {
+			writeLine(formatter.format(msg, args));
+		}
 	}
 
 	private void writeLine(String msg) throws IOException {
 		incrementBytesSent(msg.length());
+		publish(factory.newMqttMessage(msg));
+	}
+
+	private void writeLine(byte[] msg) throws IOException {
+		if (msg.length == 0) {
+			return;
+		}
+		incrementBytesSent(msg.length);
+		publish(factory.newMqttMessage(msg));
+	}
+
+	private void publish(MqttMessage message) throws IOException {
 		try {
-			MqttMessage message = factory.newMqttMessage(msg);
 			factory.publish(this, mqttClient, message);
 		} catch (MqttException mqe) {
 			throw new IOException(mqe);